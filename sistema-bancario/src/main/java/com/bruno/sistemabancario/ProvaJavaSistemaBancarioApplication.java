@@ -1,5 +1,6 @@
 package com.bruno.sistemabancario;
 
+import com.bruno.sistemabancario.adapter.cli.AccountImportRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
@@ -7,7 +8,11 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 public class ProvaJavaSistemaBancarioApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(ProvaJavaSistemaBancarioApplication.class, args);
+		var context = SpringApplication.run(ProvaJavaSistemaBancarioApplication.class, args);
+
+		if (context.getBean(AccountImportRunner.class).hasImported()) {
+			System.exit(SpringApplication.exit(context));
+		}
 	}
 
 }
@@ -0,0 +1,66 @@
+package com.bruno.sistemabancario.adapter.cli;
+
+import com.bruno.sistemabancario.application.ports.input.AccountImportUseCase;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.logging.Logger;
+
+/**
+ * Command line import: {@code --import-accounts=<file.csv|file.ndjson> [--import-rejected=<file>]}.
+ * Once the file has been imported {@code main} closes the application and exits with {@link #getExitCode()},
+ * which is 1 if any row was rejected.
+ */
+@Component
+public class AccountImportRunner implements ApplicationRunner, ExitCodeGenerator {
+
+    private static final Logger logger = Logger.getLogger(AccountImportRunner.class.getName());
+
+    private static final String FILE_OPTION = "import-accounts";
+    private static final String REJECTED_OPTION = "import-rejected";
+
+    private final AccountImportUseCase accountImportUseCase;
+
+    private volatile boolean imported;
+
+    private volatile int exitCode;
+
+    public AccountImportRunner(AccountImportUseCase accountImportUseCase) {
+        this.accountImportUseCase = accountImportUseCase;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!args.containsOption(FILE_OPTION)) return;
+
+        var file = Path.of(args.getOptionValues(FILE_OPTION).get(0));
+        var rejected = args.containsOption(REJECTED_OPTION)
+                ? Path.of(args.getOptionValues(REJECTED_OPTION).get(0))
+                : Path.of(file + ".rejected.csv");
+        var format = file.getFileName().toString().toLowerCase().endsWith(".csv")
+                ? AccountImportUseCase.Format.CSV : AccountImportUseCase.Format.NDJSON;
+
+        try (InputStream input = Files.newInputStream(file)) {
+            var result = accountImportUseCase.importAccounts(input, format, rejected);
+            logger.info("Imported " + result.getImported() + " of " + result.getRows() + " accounts from " + file
+                    + (result.getRejected() > 0 ? ", rejected rows written to " + result.getRejectedRowsFile() : ""));
+
+            exitCode = result.getRejected() > 0 ? 1 : 0;
+            imported = true;
+        }
+    }
+
+    public boolean hasImported() {
+        return imported;
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+}
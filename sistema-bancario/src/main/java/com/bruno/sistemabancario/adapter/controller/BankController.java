@@ -1,32 +1,55 @@
 package com.bruno.sistemabancario.adapter.controller;
 
 import com.bruno.sistemabancario.adapter.dtos.request.AccountOpeningDTO;
+import com.bruno.sistemabancario.adapter.dtos.request.BulkReversalDTO;
 import com.bruno.sistemabancario.adapter.dtos.request.TransactionDTO;
 import com.bruno.sistemabancario.adapter.dtos.response.AccountDTO;
+import com.bruno.sistemabancario.adapter.dtos.response.AccountImportDTO;
 import com.bruno.sistemabancario.adapter.dtos.response.BalanceDTO;
 import com.bruno.sistemabancario.adapter.dtos.response.ReportDTO;
+import com.bruno.sistemabancario.adapter.dtos.response.ReportRangeDTO;
+import com.bruno.sistemabancario.adapter.dtos.response.TransactionResultDTO;
+import com.bruno.sistemabancario.adapter.dtos.response.TransactionStatusDTO;
 import com.bruno.sistemabancario.adapter.dtos.response.TransactionsUserDTO;
+import com.bruno.sistemabancario.application.ports.input.AccountImportUseCase;
+import com.bruno.sistemabancario.application.ports.input.AsyncTransferUseCase;
+import com.bruno.sistemabancario.application.ports.input.BalanceProjectionUseCase;
 import com.bruno.sistemabancario.application.ports.input.BankUseCase;
+import com.bruno.sistemabancario.application.ports.input.IdempotencyUseCase;
 import com.bruno.sistemabancario.application.ports.input.PaginationUseCase;
+import com.bruno.sistemabancario.application.ports.input.ReportRollupUseCase;
 import com.bruno.sistemabancario.application.ports.input.TransferUseCase;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.security.Principal;
+import java.time.Instant;
+import java.util.List;
+
 @RestController
 @RequestMapping(value = "/v1/api/banking/system")
 public class BankController {
 
+    public static final String SLICE_MODE = "slice";
+
     @Autowired
     private BankUseCase bankUseCase;
 
@@ -36,6 +59,21 @@ public class BankController {
     @Autowired
     private PaginationUseCase paginationUseCase;
 
+    @Autowired
+    private IdempotencyUseCase idempotencyUseCase;
+
+    @Autowired
+    private AsyncTransferUseCase asyncTransferUseCase;
+
+    @Autowired
+    private BalanceProjectionUseCase balanceProjectionUseCase;
+
+    @Autowired
+    private AccountImportUseCase accountImportUseCase;
+
+    @Autowired
+    private ReportRollupUseCase reportRollupUseCase;
+
     @Operation(summary="Create account",
             description="Create account",
             tags={"Banking System"},
@@ -59,6 +97,31 @@ public class BankController {
         return ResponseEntity.ok(created);
     }
 
+    @Operation(summary="Import accounts",
+            description="Stream a CSV (name,cpf) or NDJSON file of accounts to open; the response lists the rejected rows, up to a configured limit",
+            tags={"Banking System"},
+            responses={
+                    @ApiResponse(description="Success", responseCode="200",
+                            content={
+                                    @Content(
+                                            mediaType="application/json",
+                                            schema=@Schema(implementation= AccountImportDTO.class)
+                                    )
+                            }),
+                    @ApiResponse(description="Bad Request", responseCode="400", content=@Content),
+                    @ApiResponse(description="Unauthorized", responseCode="401", content=@Content),
+                    @ApiResponse(description="Unsupported Media Type", responseCode="415", content=@Content),
+                    @ApiResponse(description="Internal Error", responseCode="500", content=@Content)
+            })
+    @PostMapping(value = "/accounts/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<AccountImportDTO> importAccounts(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                           HttpServletRequest request) throws IOException {
+        var format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? AccountImportUseCase.Format.NDJSON : AccountImportUseCase.Format.CSV;
+
+        return ResponseEntity.ok(accountImportUseCase.importAccounts(request.getInputStream(), format, null));
+    }
+
     @Operation(summary="Check balance",
             description="Check balance by account ID",
             tags={"Banking System"},
@@ -80,6 +143,26 @@ public class BankController {
         return  ResponseEntity.ok(bankUseCase.checkBalanceByID(id));
     }
 
+    @Operation(summary="Rebuild balance",
+            description="Rebuild the balance projection of an account from its last snapshot and ledger entries",
+            tags={"Banking System"},
+            responses={
+                    @ApiResponse(description="Success", responseCode="200",
+                            content={
+                                    @Content(
+                                            mediaType="application/json",
+                                            schema=@Schema(implementation= BalanceDTO.class)
+                                    )
+                            }),
+                    @ApiResponse(description="Unauthorized", responseCode="401", content=@Content),
+                    @ApiResponse(description="Not Found", responseCode="404", content=@Content),
+                    @ApiResponse(description="Internal Error", responseCode="500", content=@Content)
+            })
+    @PostMapping("/balance/{accountNumber}/rebuild")
+    public ResponseEntity<BalanceDTO> rebuildBalance(@PathVariable(value = "accountNumber") String accountNumber) {
+        return ResponseEntity.ok(balanceProjectionUseCase.rebuildBalance(accountNumber));
+    }
+
     @Operation(summary="Transaction",
             description="Make a transaction to another account",
             tags={"Banking System"},
@@ -93,15 +176,80 @@ public class BankController {
                     @ApiResponse(description="Bad Request", responseCode="400", content=@Content),
                     @ApiResponse(description="Unauthorized", responseCode="401", content=@Content),
                     @ApiResponse(description="Not Found", responseCode="404", content=@Content),
+                    @ApiResponse(description="Service Unavailable", responseCode="503", content=@Content),
                     @ApiResponse(description="Internal Error", responseCode="500", content=@Content)
             })
     @PostMapping("/transaction")
-    public ResponseEntity<String> makeTransaction(@RequestBody @Valid TransactionDTO request) {
-        var transaction = transferUseCase.moneyTransaction(request);
+    public ResponseEntity<String> makeTransaction(@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                                  @RequestBody @Valid TransactionDTO request,
+                                                  Principal principal) {
+        var transaction = idempotencyUseCase.execute(caller(principal), idempotencyKey, "transaction", fingerprint(request),
+                () -> transferUseCase.moneyTransaction(request));
 
         return ResponseEntity.ok(transaction);
     }
 
+    @Operation(summary="Asynchronous transaction",
+            description="Queue a transaction to another account and return its ID right away",
+            tags={"Banking System"},
+            responses={
+                    @ApiResponse(description="Accepted", responseCode="202",
+                            content={
+                                    @Content(
+                                            mediaType="application/json",
+                                            schema=@Schema(implementation= TransactionStatusDTO.class)
+                                    )
+                            }),
+                    @ApiResponse(description="Bad Request", responseCode="400", content=@Content),
+                    @ApiResponse(description="Unauthorized", responseCode="401", content=@Content),
+                    @ApiResponse(description="Service Unavailable", responseCode="503", content=@Content),
+                    @ApiResponse(description="Internal Error", responseCode="500", content=@Content)
+            })
+    @PostMapping("/transactions/async")
+    public ResponseEntity<TransactionStatusDTO> makeAsyncTransaction(@RequestBody @Valid TransactionDTO request) {
+        return ResponseEntity.accepted().body(asyncTransferUseCase.submitTransaction(request));
+    }
+
+    @Operation(summary="Transaction status",
+            description="Status of a transaction by transaction ID",
+            tags={"Banking System"},
+            responses={
+                    @ApiResponse(description="Success", responseCode="200",
+                            content={
+                                    @Content(
+                                            mediaType="application/json",
+                                            schema=@Schema(implementation= TransactionStatusDTO.class)
+                                    )
+                            }),
+                    @ApiResponse(description="Unauthorized", responseCode="401", content=@Content),
+                    @ApiResponse(description="Not Found", responseCode="404", content=@Content),
+                    @ApiResponse(description="Internal Error", responseCode="500", content=@Content)
+            })
+    @GetMapping("/transactions/{id}/status")
+    public ResponseEntity<TransactionStatusDTO> transactionStatus(@PathVariable(value = "id") String id) {
+        return ResponseEntity.ok(asyncTransferUseCase.transactionStatus(id));
+    }
+
+    @Operation(summary="Batch transaction",
+            description="Make several transactions at once, returning one result per item",
+            tags={"Banking System"},
+            responses={
+                    @ApiResponse(description="Success", responseCode="200",
+                            content={
+                                    @Content(
+                                            mediaType="application/json",
+                                            array=@ArraySchema(schema=@Schema(implementation= TransactionResultDTO.class))
+                                    )
+                            }),
+                    @ApiResponse(description="Bad Request", responseCode="400", content=@Content),
+                    @ApiResponse(description="Unauthorized", responseCode="401", content=@Content),
+                    @ApiResponse(description="Internal Error", responseCode="500", content=@Content)
+            })
+    @PostMapping("/transactions/batch")
+    public ResponseEntity<List<TransactionResultDTO>> makeBatchTransaction(@RequestBody List<TransactionDTO> requests) {
+        return ResponseEntity.ok(transferUseCase.batchMoneyTransaction(requests));
+    }
+
     @Operation(summary="Transaction List",
             description="List of transactions for a given account",
             tags={"Banking System"},
@@ -129,6 +277,60 @@ public class BankController {
         return  ResponseEntity.ok(pagedModel);
     }
 
+    @Operation(summary="Transaction List without totals",
+            description="List of transactions for a given account that only reports whether a next page exists, skipping the count query. "
+                    + "Set approximateTotal=true to add page metadata built from a cached per-account count",
+            tags={"Banking System"},
+            responses={
+                    @ApiResponse(description="Success", responseCode="200",
+                            content={
+                                    @Content(
+                                            mediaType="application/json",
+                                            array=@ArraySchema(schema=@Schema(implementation= TransactionsUserDTO.class))
+                                    )
+                            }),
+                    @ApiResponse(description="Bad Request", responseCode="400", content=@Content),
+                    @ApiResponse(description="Unauthorized", responseCode="401", content=@Content),
+                    @ApiResponse(description="Not Found", responseCode="404", content=@Content),
+                    @ApiResponse(description="Internal Error", responseCode="500", content=@Content)
+            })
+    @GetMapping(value = "/transactions/{accountNumber}", params = {"mode=" + SLICE_MODE, "!cursor"})
+    public ResponseEntity<CollectionModel<TransactionsUserDTO>> searchTransactionSliceByAccountNumber(@PathVariable(value = "accountNumber") String accountNumber,
+                                                                                                     @RequestParam(value = "mode") String mode,
+                                                                                                     @RequestParam(value = "page", defaultValue = "0") int page,
+                                                                                                     @RequestParam(value = "size", defaultValue = "10") int size,
+                                                                                                     @RequestParam(value = "approximateTotal", defaultValue = "false") boolean approximateTotal) {
+        Slice<TransactionsUserDTO> responseSlice = transferUseCase.listOfTransactionsSlice(accountNumber, PageRequest.of(page, size));
+        Long total = approximateTotal ? transferUseCase.approximateTransactionCount(accountNumber) : null;
+
+        return ResponseEntity.ok(paginationUseCase.findTransactionSliceByAccount(responseSlice, accountNumber, page, size, total));
+    }
+
+    @Operation(summary="Transaction List by cursor",
+            description="List of transactions for a given account, newest first, continuing after an opaque cursor instead of a page number",
+            tags={"Banking System"},
+            responses={
+                    @ApiResponse(description="Success", responseCode="200",
+                            content={
+                                    @Content(
+                                            mediaType="application/json",
+                                            array=@ArraySchema(schema=@Schema(implementation= TransactionsUserDTO.class))
+                                    )
+                            }),
+                    @ApiResponse(description="Bad Request", responseCode="400", content=@Content),
+                    @ApiResponse(description="Unauthorized", responseCode="401", content=@Content),
+                    @ApiResponse(description="Not Found", responseCode="404", content=@Content),
+                    @ApiResponse(description="Internal Error", responseCode="500", content=@Content)
+            })
+    @GetMapping(value = "/transactions/{accountNumber}", params = "cursor")
+    public ResponseEntity<CollectionModel<TransactionsUserDTO>> searchTransactionsByAccountNumberAfterCursor(@PathVariable(value = "accountNumber") String accountNumber,
+                                                                                                          @RequestParam(value = "cursor") String cursor,
+                                                                                                          @RequestParam(value = "size", defaultValue = "10") int size) {
+        var responsePage = transferUseCase.listOfTransactionsAfterCursor(accountNumber, cursor, size);
+
+        return ResponseEntity.ok(paginationUseCase.findTransactionsByCursor(responsePage, accountNumber, cursor));
+    }
+
     @Operation(summary="Reverse transaction",
             description="Reverse transaction by transaction ID",
             tags={"Banking System"},
@@ -142,11 +344,35 @@ public class BankController {
                     @ApiResponse(description="Bad Request", responseCode="400", content=@Content),
                     @ApiResponse(description="Unauthorized", responseCode="401", content=@Content),
                     @ApiResponse(description="Not Found", responseCode="404", content=@Content),
+                    @ApiResponse(description="Service Unavailable", responseCode="503", content=@Content),
                     @ApiResponse(description="Internal Error", responseCode="500", content=@Content)
             })
     @PostMapping("/reversed/transaction/{id}")
-    public ResponseEntity<String> reverseTransfer(@PathVariable(value = "id") String id) {
-        return ResponseEntity.ok(transferUseCase.transactionReversal(id));
+    public ResponseEntity<String> reverseTransfer(@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                                  @PathVariable(value = "id") String id,
+                                                  Principal principal) {
+        return ResponseEntity.ok(idempotencyUseCase.execute(caller(principal), idempotencyKey, "reversal", id,
+                () -> transferUseCase.transactionReversal(id)));
+    }
+
+    @Operation(summary="Bulk reverse transactions",
+            description="Reverse every transaction matching the given ids or filter, returning one result per transaction",
+            tags={"Banking System"},
+            responses={
+                    @ApiResponse(description="Success", responseCode="200",
+                            content={
+                                    @Content(
+                                            mediaType="application/json",
+                                            array=@ArraySchema(schema=@Schema(implementation= TransactionResultDTO.class))
+                                    )
+                            }),
+                    @ApiResponse(description="Bad Request", responseCode="400", content=@Content),
+                    @ApiResponse(description="Unauthorized", responseCode="401", content=@Content),
+                    @ApiResponse(description="Internal Error", responseCode="500", content=@Content)
+            })
+    @PostMapping("/reversed/transactions")
+    public ResponseEntity<List<TransactionResultDTO>> bulkReverseTransfers(@RequestBody BulkReversalDTO request) {
+        return ResponseEntity.ok(transferUseCase.bulkTransactionReversal(request));
     }
 
     @Operation(summary="Report",
@@ -168,4 +394,35 @@ public class BankController {
     public ReportDTO reportBank() {
         return bankUseCase.bankReport();
     }
+
+    @Operation(summary="Report by period",
+            description="Bank report for a time range, merged from hourly or daily rollup buckets",
+            tags={"Banking System"},
+            responses={
+                    @ApiResponse(description="Success", responseCode="200",
+                            content={
+                                    @Content(
+                                            mediaType="application/json",
+                                            schema=@Schema(implementation= ReportRangeDTO.class)
+                                    )
+                            }),
+                    @ApiResponse(description="Bad Request", responseCode="400", content=@Content),
+                    @ApiResponse(description="Unauthorized", responseCode="401", content=@Content),
+                    @ApiResponse(description="Internal Error", responseCode="500", content=@Content)
+            })
+    @GetMapping(value = "/report", params = {"from", "to"})
+    public ResponseEntity<ReportRangeDTO> reportBankByPeriod(@RequestParam(value = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                                                             @RequestParam(value = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+                                                             @RequestParam(value = "granularity", defaultValue = "DAY") String granularity) {
+        return ResponseEntity.ok(reportRollupUseCase.bankReport(from, to, granularity));
+    }
+
+    private String caller(Principal principal) {
+        return principal == null ? null : principal.getName();
+    }
+
+    private String fingerprint(TransactionDTO request) {
+        return String.join("|", request.getSourceAccount().strip(), request.getDestinationAccount().strip(),
+                request.getValue().stripTrailingZeros().toPlainString());
+    }
 }
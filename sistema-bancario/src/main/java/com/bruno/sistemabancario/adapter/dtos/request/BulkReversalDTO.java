@@ -0,0 +1,15 @@
+package com.bruno.sistemabancario.adapter.dtos.request;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class BulkReversalDTO {
+
+    private List<String> transactionIds;
+    private LocalDate from;
+    private LocalDate to;
+    private String sourceAccount;
+}
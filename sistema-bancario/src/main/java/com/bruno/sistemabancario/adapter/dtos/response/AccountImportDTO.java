@@ -0,0 +1,17 @@
+package com.bruno.sistemabancario.adapter.dtos.response;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class AccountImportDTO {
+
+    private long rows;
+    private long imported;
+    private long rejected;
+    private String rejectedRowsFile;
+    private List<RejectedRowDTO> rejectedRows = new ArrayList<>();
+    private long elapsedMillis;
+}
@@ -0,0 +1,15 @@
+package com.bruno.sistemabancario.adapter.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RejectedRowDTO {
+
+    private long line;
+    private String reason;
+    private String row;
+}
@@ -0,0 +1,18 @@
+package com.bruno.sistemabancario.adapter.dtos.response;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Data
+public class ReportBucketDTO {
+
+    private Instant start;
+    private long totalTransactions;
+    private long totalTransactionsApproved;
+    private long totalTransactionsReversed;
+    private long totalTransactionsPending;
+    private long totalTransactionsRejected;
+    private BigDecimal totalAmountMoved;
+}
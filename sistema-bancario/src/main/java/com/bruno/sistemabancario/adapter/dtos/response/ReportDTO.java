@@ -3,13 +3,15 @@ package com.bruno.sistemabancario.adapter.dtos.response;
 import lombok.Data;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 
 @Data
 public class ReportDTO {
 
-    private int totalAccounts;
-    private int totalTransactions;
+    private long totalAccounts;
+    private long totalTransactions;
     private BigDecimal totalAmountMoved;
     private BigDecimal totalTransactionsReversed;
     private BigDecimal totalTransactionsApproved;
+    private Instant computedAt;
 }
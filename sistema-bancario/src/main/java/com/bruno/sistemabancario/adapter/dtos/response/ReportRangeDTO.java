@@ -0,0 +1,22 @@
+package com.bruno.sistemabancario.adapter.dtos.response;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+@Data
+public class ReportRangeDTO {
+
+    private Instant from;
+    private Instant to;
+    private String granularity;
+    private long totalTransactions;
+    private long totalTransactionsApproved;
+    private long totalTransactionsReversed;
+    private long totalTransactionsPending;
+    private long totalTransactionsRejected;
+    private BigDecimal totalAmountMoved;
+    private List<ReportBucketDTO> buckets;
+}
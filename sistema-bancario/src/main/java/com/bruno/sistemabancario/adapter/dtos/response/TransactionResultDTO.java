@@ -0,0 +1,16 @@
+package com.bruno.sistemabancario.adapter.dtos.response;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class TransactionResultDTO {
+
+    private String transactionId;
+    private String sourceAccount;
+    private String destinationAccount;
+    private BigDecimal value;
+    private String status;
+    private String message;
+}
@@ -0,0 +1,10 @@
+package com.bruno.sistemabancario.adapter.dtos.response;
+
+import lombok.Data;
+
+@Data
+public class TransactionStatusDTO {
+
+    private String id;
+    private String status;
+}
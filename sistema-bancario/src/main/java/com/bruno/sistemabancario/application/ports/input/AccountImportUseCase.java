@@ -0,0 +1,15 @@
+package com.bruno.sistemabancario.application.ports.input;
+
+import com.bruno.sistemabancario.adapter.dtos.response.AccountImportDTO;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+
+public interface AccountImportUseCase {
+
+    AccountImportDTO importAccounts(InputStream input, Format format, Path rejectedRows);
+
+    enum Format {
+        CSV, NDJSON
+    }
+}
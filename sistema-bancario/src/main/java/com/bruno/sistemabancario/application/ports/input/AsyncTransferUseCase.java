@@ -0,0 +1,11 @@
+package com.bruno.sistemabancario.application.ports.input;
+
+import com.bruno.sistemabancario.adapter.dtos.request.TransactionDTO;
+import com.bruno.sistemabancario.adapter.dtos.response.TransactionStatusDTO;
+
+public interface AsyncTransferUseCase {
+
+    TransactionStatusDTO submitTransaction(TransactionDTO request);
+    TransactionStatusDTO transactionStatus(String id);
+
+}
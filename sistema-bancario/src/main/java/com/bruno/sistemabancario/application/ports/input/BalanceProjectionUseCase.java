@@ -0,0 +1,10 @@
+package com.bruno.sistemabancario.application.ports.input;
+
+import com.bruno.sistemabancario.adapter.dtos.response.BalanceDTO;
+
+public interface BalanceProjectionUseCase {
+
+    BalanceDTO rebuildBalance(String accountNumber);
+
+    int takeSnapshots();
+}
@@ -0,0 +1,8 @@
+package com.bruno.sistemabancario.application.ports.input;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyUseCase {
+
+    String execute(String caller, String idempotencyKey, String operation, String fingerprint, Supplier<String> action);
+}
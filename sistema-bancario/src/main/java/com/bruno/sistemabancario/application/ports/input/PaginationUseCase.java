@@ -1,10 +1,17 @@
 package com.bruno.sistemabancario.application.ports.input;
 
 import com.bruno.sistemabancario.adapter.dtos.response.TransactionsUserDTO;
+import com.bruno.sistemabancario.domain.model.CursorPage;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.PagedModel;
 
 public interface PaginationUseCase {
 
     PagedModel<TransactionsUserDTO> findAllTransactionByAccount(Page<TransactionsUserDTO> transactionPage, String accountNumber, int page, int size);
+
+    CollectionModel<TransactionsUserDTO> findTransactionSliceByAccount(Slice<TransactionsUserDTO> transactionSlice, String accountNumber, int page, int size, Long approximateTotal);
+
+    CollectionModel<TransactionsUserDTO> findTransactionsByCursor(CursorPage<TransactionsUserDTO> transactionPage, String accountNumber, String cursor);
 }
@@ -0,0 +1,12 @@
+package com.bruno.sistemabancario.application.ports.input;
+
+import com.bruno.sistemabancario.adapter.dtos.response.ReportRangeDTO;
+
+import java.time.Instant;
+
+public interface ReportRollupUseCase {
+
+    ReportRangeDTO bankReport(Instant from, Instant to, String granularity);
+
+    int backfill();
+}
@@ -1,14 +1,27 @@
 package com.bruno.sistemabancario.application.ports.input;
 
+import com.bruno.sistemabancario.adapter.dtos.request.BulkReversalDTO;
 import com.bruno.sistemabancario.adapter.dtos.request.TransactionDTO;
+import com.bruno.sistemabancario.adapter.dtos.response.TransactionResultDTO;
 import com.bruno.sistemabancario.adapter.dtos.response.TransactionsUserDTO;
+import com.bruno.sistemabancario.domain.model.CursorPage;
+import com.bruno.sistemabancario.domain.model.Transaction;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
 
 public interface TransferUseCase {
 
     String moneyTransaction(TransactionDTO request);
+    List<TransactionResultDTO> batchMoneyTransaction(List<TransactionDTO> requests);
     Page<TransactionsUserDTO> listOfTransactionsSpecificAccount(String accountNumber, Pageable pageable);
+    Slice<TransactionsUserDTO> listOfTransactionsSlice(String accountNumber, Pageable pageable);
+    long approximateTransactionCount(String accountNumber);
+    CursorPage<TransactionsUserDTO> listOfTransactionsAfterCursor(String accountNumber, String cursor, int size);
     String transactionReversal(String id);
+    List<TransactionResultDTO> bulkTransactionReversal(BulkReversalDTO request);
+    Transaction settlePendingTransaction(Transaction pending);
 
 }
@@ -0,0 +1,6 @@
+package com.bruno.sistemabancario.application.ports.output;
+
+public interface AccountNumberBlockPort {
+
+    long reserveBlock(int size);
+}
@@ -0,0 +1,22 @@
+package com.bruno.sistemabancario.application.ports.output;
+
+import com.bruno.sistemabancario.domain.model.LedgerEntry;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface BalanceLedgerPort {
+
+    /** Writes the entries and their projection changes, returning the ones the ledger did not already hold. */
+    List<LedgerEntry> append(List<LedgerEntry> entries);
+    Optional<BigDecimal> projectedBalance(String accountNumber);
+    /** Replays the snapshot and later entries; empty when the account has neither a snapshot nor an OPENING entry. */
+    Optional<BigDecimal> rebuildProjection(String accountNumber);
+    /** Records what an account opened before the ledger held as its OPENING entry; false if it already has one. */
+    boolean seedOpening(String accountNumber, BigDecimal currentBalance);
+    Optional<Instant> lastSnapshotCutoff();
+    int snapshot(Instant from, Instant to);
+
+}
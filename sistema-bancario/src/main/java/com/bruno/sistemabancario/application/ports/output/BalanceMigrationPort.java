@@ -0,0 +1,17 @@
+package com.bruno.sistemabancario.application.ports.output;
+
+import java.util.List;
+
+public interface BalanceMigrationPort {
+
+    Checkpoint loadCheckpoint();
+    void saveCheckpoint(Checkpoint checkpoint);
+    Chunk migrateChunk(String afterId, int size);
+    Chunk migrateAccounts(List<String> ids);
+
+    record Checkpoint(String lastId, long migrated, boolean completed, List<String> skipped) {
+    }
+
+    record Chunk(String lastId, int scanned, int converted, List<String> skipped) {
+    }
+}
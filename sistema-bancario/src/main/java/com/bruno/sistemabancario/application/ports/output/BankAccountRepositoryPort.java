@@ -2,12 +2,28 @@ package com.bruno.sistemabancario.application.ports.output;
 
 import com.bruno.sistemabancario.domain.model.BankAccount;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface BankAccountRepositoryPort {
 
     Optional<BankAccount> findByAccountNumber(String accountNumber);
+    boolean existsByAccountNumber(String accountNumber);
+    void forEachAccountNumber(Instant createdSince, Consumer<String> action);
+    List<BankAccount> findAllByAccountNumberIn(Collection<String> accountNumbers);
     BankAccount save(BankAccount bankAccount);
+    List<BankAccount> insertAll(List<BankAccount> bankAccounts);
     long count();
     Optional<BankAccount> findById(String id);
+    BigDecimal totalBalance(BankAccount bankAccount);
+    boolean debit(String accountNumber, BigDecimal value);
+    boolean credit(String accountNumber, BigDecimal value);
+    void applyBalanceDeltas(Map<String, BigDecimal> deltas);
+    void applyJournaledDeltas(Map<String, BigDecimal> deltas, long journalSequence);
+    void legacyBalancesMigrated();
 }
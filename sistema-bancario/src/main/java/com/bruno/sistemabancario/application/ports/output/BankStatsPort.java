@@ -0,0 +1,16 @@
+package com.bruno.sistemabancario.application.ports.output;
+
+import com.bruno.sistemabancario.domain.model.BankStats;
+import com.bruno.sistemabancario.domain.model.BankStatsDelta;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface BankStatsPort {
+
+    void increment(BankStatsDelta delta);
+    Optional<BankStats> load();
+    BankStats computeFromScratch();
+    void markReconciled(Instant reconciledAt);
+
+}
@@ -0,0 +1,14 @@
+package com.bruno.sistemabancario.application.ports.output;
+
+import com.bruno.sistemabancario.domain.model.IdempotencyRecord;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface IdempotencyRepositoryPort {
+
+    Optional<IdempotencyRecord> findById(String id);
+    boolean reserve(IdempotencyRecord pending, Instant expiredBefore);
+    void complete(IdempotencyRecord record);
+    void release(String id);
+}
@@ -0,0 +1,14 @@
+package com.bruno.sistemabancario.application.ports.output;
+
+public interface ParticipantsMigrationPort {
+
+    Checkpoint loadCheckpoint();
+    void saveCheckpoint(Checkpoint checkpoint);
+    Chunk migrateChunk(String afterId, int size);
+
+    record Checkpoint(String lastId, long migrated, boolean completed) {
+    }
+
+    record Chunk(String lastId, int scanned, int updated) {
+    }
+}
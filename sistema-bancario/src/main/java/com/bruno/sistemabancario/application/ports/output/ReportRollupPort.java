@@ -0,0 +1,16 @@
+package com.bruno.sistemabancario.application.ports.output;
+
+import com.bruno.sistemabancario.domain.model.BankStatsDelta;
+import com.bruno.sistemabancario.domain.model.ReportBucket;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+public interface ReportRollupPort {
+
+    void increment(Map<Instant, BankStatsDelta> deltasByTransactionTime);
+    List<ReportBucket> findBuckets(ReportBucket.Granularity granularity, Instant from, Instant to);
+    int rebuild(Instant before);
+
+}
@@ -1,17 +1,38 @@
 package com.bruno.sistemabancario.application.ports.output;
 
 import com.bruno.sistemabancario.domain.model.Transaction;
+import com.bruno.sistemabancario.domain.model.TransactionCursor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface TransactionRepositoryPort {
 
     Page<Transaction> findAllByAccountNumber(String accountNumber, Pageable pageable);
+    Slice<Transaction> findSliceByAccountNumber(String accountNumber, Pageable pageable);
+    long approximateCountByAccountNumber(String accountNumber);
+    List<Transaction> findAllByAccountNumberAfter(String accountNumber, TransactionCursor after, int limit);
+    void useParticipantsIndex(boolean enabled);
     long count();
     long countByStatus(String status);
     Optional<Transaction> findById(String id);
     Transaction save(Transaction transaction);
+    List<Transaction> saveAll(List<Transaction> transactions);
+    void upsertAll(List<Transaction> transactions);
+    List<Transaction> findUnclaimedPending(Instant createdBefore, String afterId, int limit);
+    long countClaimedPending(Instant createdBefore);
+    boolean claimPending(String id);
+    Optional<Transaction> compareAndSetStatus(String id, String expectedStatus, String newStatus);
+    List<Transaction> findAllForReversal(Collection<String> ids, LocalDate from, LocalDate to, String sourceAccount, int limit);
+    Set<String> claimForReversal(Collection<String> ids, String reversalBatch);
+    void releaseReversal(Collection<String> ids, String reversalBatch);
+    void completeReversal(Collection<String> ids, String reversalBatch);
 
 }
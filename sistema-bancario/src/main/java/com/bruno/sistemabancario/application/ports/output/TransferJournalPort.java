@@ -0,0 +1,17 @@
+package com.bruno.sistemabancario.application.ports.output;
+
+import com.bruno.sistemabancario.domain.model.Transaction;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.ObjLongConsumer;
+
+public interface TransferJournalPort {
+
+    CompletableFuture<Void> append(Transaction transaction);
+    Position tail();
+    void markApplied(Position position);
+    void replay(ObjLongConsumer<Transaction> consumer);
+
+    record Position(long sequence, long segment, int offset) {
+    }
+}
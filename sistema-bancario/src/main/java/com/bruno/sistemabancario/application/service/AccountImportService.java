@@ -0,0 +1,307 @@
+package com.bruno.sistemabancario.application.service;
+
+import com.bruno.sistemabancario.adapter.dtos.request.AccountOpeningDTO;
+import com.bruno.sistemabancario.adapter.dtos.response.AccountImportDTO;
+import com.bruno.sistemabancario.adapter.dtos.response.RejectedRowDTO;
+import com.bruno.sistemabancario.application.ports.input.AccountImportUseCase;
+import com.bruno.sistemabancario.application.ports.output.BankAccountRepositoryPort;
+import com.bruno.sistemabancario.domain.exceptions.BadRequest;
+import com.bruno.sistemabancario.domain.model.BankAccount;
+import com.bruno.sistemabancario.domain.model.LedgerEntry;
+import com.bruno.sistemabancario.domain.utils.Code;
+import com.bruno.sistemabancario.domain.utils.CustomMessageResolver;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Streams CSV or NDJSON account files line by line: rows are validated with the {@link AccountOpeningDTO} constraints,
+ * numbered by the {@link AccountNumberAllocator} and inserted in batches, so memory stays bounded by the batch size.
+ * Rejected rows are written with their line number and reason to the CSV file the caller names; without one, as for
+ * HTTP uploads, the first rows up to the configured limit are returned in the response and nothing is left on disk.
+ */
+@Service
+public class AccountImportService implements AccountImportUseCase {
+
+    private static final Logger logger = Logger.getLogger(AccountImportService.class.getName());
+
+    private final BankAccountRepositoryPort bankAccountRepositoryPort;
+
+    private final LedgerRecorder ledgerRecorder;
+
+    private final AccountNumberAllocator accountNumberAllocator;
+
+    private final AccountNumberFilter accountNumberFilter;
+
+    private final CustomMessageResolver customMessageResolver;
+
+    private final Validator validator;
+
+    private final ObjectMapper objectMapper;
+
+    private final Counter importedRows;
+
+    private final Counter rejectedRows;
+
+    private final int batchSize;
+
+    private final long progressEvery;
+
+    private final int rejectedRowsLimit;
+
+    public AccountImportService(BankAccountRepositoryPort bankAccountRepositoryPort,
+                                LedgerRecorder ledgerRecorder,
+                                AccountNumberAllocator accountNumberAllocator,
+                                AccountNumberFilter accountNumberFilter,
+                                CustomMessageResolver customMessageResolver,
+                                Validator validator,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${banking.import.batch-size:1000}") int batchSize,
+                                @Value("${banking.import.progress-every:10000}") long progressEvery,
+                                @Value("${banking.import.rejected-rows-limit:1000}") int rejectedRowsLimit) {
+        this.bankAccountRepositoryPort = bankAccountRepositoryPort;
+        this.ledgerRecorder = ledgerRecorder;
+        this.accountNumberAllocator = accountNumberAllocator;
+        this.accountNumberFilter = accountNumberFilter;
+        this.customMessageResolver = customMessageResolver;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.progressEvery = progressEvery;
+        this.rejectedRowsLimit = rejectedRowsLimit;
+        this.importedRows = meterRegistry.counter("banking.import.rows", "result", "imported");
+        this.rejectedRows = meterRegistry.counter("banking.import.rows", "result", "rejected");
+    }
+
+    @Override
+    public AccountImportDTO importAccounts(InputStream input, Format format, Path rejectedRowsFile) {
+        var result = new AccountImportDTO();
+        long start = System.nanoTime();
+
+        try (var reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+             var rejected = new RejectedRows(rejectedRowsFile, result.getRejectedRows(), rejectedRowsLimit)) {
+            List<BankAccount> batch = new ArrayList<>(batchSize);
+            CsvColumns columns = null;
+            long lineNumber = 0;
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) continue;
+
+                if (format == Format.CSV && columns == null) {
+                    columns = CsvColumns.from(line);
+                    if (columns == null) {
+                        throw new BadRequest(customMessageResolver.getMessage(Code.IMPORT_INVALID_HEADER));
+                    }
+                    if (columns.header()) continue;
+                }
+
+                result.setRows(result.getRows() + 1);
+                try {
+                    var request = format == Format.CSV ? columns.parse(line) : parseJson(line);
+                    var violations = validator.validate(request);
+
+                    if (!violations.isEmpty()) {
+                        reject(result, rejected, lineNumber, violations.stream()
+                                .map(ConstraintViolation::getMessage)
+                                .sorted()
+                                .collect(Collectors.joining("; ")), line);
+                    } else {
+                        batch.add(newAccount(request));
+                        if (batch.size() == batchSize) flush(batch, result);
+                    }
+                } catch (IllegalArgumentException e) {
+                    reject(result, rejected, lineNumber, e.getMessage(), line);
+                }
+
+                if (progressEvery > 0 && result.getRows() % progressEvery == 0) progress(result, start);
+            }
+
+            flush(batch, result);
+            if (rejected.isOpen()) result.setRejectedRowsFile(rejectedRowsFile.toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        result.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        logger.info("Account import finished: " + result.getImported() + " imported, " + result.getRejected()
+                + " rejected in " + result.getElapsedMillis() + " ms");
+        return result;
+    }
+
+    private AccountOpeningDTO parseJson(String line) {
+        try {
+            return objectMapper.readValue(line, AccountOpeningDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private BankAccount newAccount(AccountOpeningDTO request) {
+        var account = new BankAccount();
+        account.setName(request.getName());
+        account.setCpf(request.getCpf());
+        account.setOpeningDate(LocalDate.now());
+        account.setAccountNumber(accountNumberAllocator.next());
+        account.setBalance(BankService.OPENING_BALANCE);
+        return account;
+    }
+
+    private void flush(List<BankAccount> batch, AccountImportDTO result) {
+        if (batch.isEmpty()) return;
+
+        var inserted = bankAccountRepositoryPort.insertAll(List.copyOf(batch));
+        ledgerRecorder.record(inserted.stream()
+                .map(account -> LedgerEntry.opening(account.getAccountNumber(), account.getBalance()))
+                .toList());
+        inserted.forEach(account -> accountNumberFilter.add(account.getAccountNumber()));
+
+        result.setImported(result.getImported() + inserted.size());
+        importedRows.increment(inserted.size());
+        batch.clear();
+    }
+
+    private void reject(AccountImportDTO result, RejectedRows rejected, long lineNumber, String reason, String line) throws IOException {
+        rejected.write(lineNumber, reason, line);
+        result.setRejected(result.getRejected() + 1);
+        rejectedRows.increment();
+    }
+
+    private void progress(AccountImportDTO result, long start) {
+        double seconds = Math.max(1, System.nanoTime() - start) / 1e9;
+        logger.info(String.format(Locale.ROOT, "Account import: %d rows read, %d imported, %d rejected (%.0f rows/s)",
+                result.getRows(), result.getImported(), result.getRejected(), result.getRows() / seconds));
+    }
+
+    private record CsvColumns(boolean header, int name, int cpf) {
+
+        static CsvColumns from(String firstLine) {
+            var fields = split(firstLine);
+            int name = indexOf(fields, "name");
+            int cpf = indexOf(fields, "cpf");
+
+            if (name < 0 && cpf < 0) return new CsvColumns(false, 0, 1);
+            if (name < 0 || cpf < 0) return null;
+            return new CsvColumns(true, name, cpf);
+        }
+
+        AccountOpeningDTO parse(String line) {
+            var fields = split(line);
+            if (fields.size() <= Math.max(name, cpf)) {
+                throw new IllegalArgumentException("Expected at least " + (Math.max(name, cpf) + 1) + " columns");
+            }
+
+            var request = new AccountOpeningDTO();
+            request.setName(fields.get(name).trim());
+            request.setCpf(fields.get(cpf).trim());
+            return request;
+        }
+
+        private static int indexOf(List<String> fields, String column) {
+            for (int i = 0; i < fields.size(); i++) {
+                if (fields.get(i).trim().equalsIgnoreCase(column)) return i;
+            }
+            return -1;
+        }
+
+        private static List<String> split(String line) {
+            List<String> fields = new ArrayList<>();
+            var field = new StringBuilder();
+            boolean quoted = false;
+
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else {
+                    field.append(c);
+                }
+            }
+
+            if (quoted) throw new IllegalArgumentException("Unterminated quoted field");
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    private static final class RejectedRows implements AutoCloseable {
+
+        private final Path path;
+
+        private final List<RejectedRowDTO> kept;
+
+        private final int limit;
+
+        private BufferedWriter writer;
+
+        private RejectedRows(Path path, List<RejectedRowDTO> kept, int limit) {
+            this.path = path;
+            this.kept = kept;
+            this.limit = limit;
+        }
+
+        void write(long lineNumber, String reason, String line) throws IOException {
+            if (path == null) {
+                if (kept.size() < limit) kept.add(new RejectedRowDTO(lineNumber, reason, line));
+                return;
+            }
+
+            if (writer == null) {
+                writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+                writer.write("line,reason,row");
+                writer.newLine();
+            }
+
+            writer.write(lineNumber + "," + quote(reason) + "," + quote(line));
+            writer.newLine();
+        }
+
+        boolean isOpen() {
+            return writer != null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (writer != null) writer.close();
+        }
+
+        private static String quote(String value) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.bruno.sistemabancario.application.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Account numbers hash onto a fixed set of stripes; stripes are always taken in ascending index order,
+ * so two transfers over the same pair of accounts cannot deadlock regardless of direction.
+ */
+@Component
+public class AccountLockManager {
+
+    private final ReentrantLock[] stripes;
+    private final Timer[] waitTimers;
+    private final Counter[] contentionCounters;
+
+    public AccountLockManager(@Value("${banking.account-locks.stripes:64}") int stripeCount, MeterRegistry meterRegistry) {
+        this.stripes = new ReentrantLock[stripeCount];
+        this.waitTimers = new Timer[stripeCount];
+        this.contentionCounters = new Counter[stripeCount];
+
+        for (int i = 0; i < stripeCount; i++) {
+            var stripe = String.valueOf(i);
+            stripes[i] = new ReentrantLock();
+            waitTimers[i] = Timer.builder("banking.account.lock.wait")
+                    .description("Time spent waiting for an account lock stripe")
+                    .tag("stripe", stripe)
+                    .register(meterRegistry);
+            contentionCounters[i] = Counter.builder("banking.account.lock.contended")
+                    .description("Lock acquisitions that found the stripe already held")
+                    .tag("stripe", stripe)
+                    .register(meterRegistry);
+        }
+    }
+
+    public <T> T withAccounts(String firstAccount, String secondAccount, Supplier<T> action) {
+        return withAccounts(List.of(firstAccount, secondAccount), action);
+    }
+
+    public <T> T withAccounts(Collection<String> accountNumbers, Supplier<T> action) {
+        var ordered = new TreeSet<Integer>();
+        accountNumbers.forEach(accountNumber -> ordered.add(stripeFor(accountNumber)));
+
+        var locked = new int[ordered.size()];
+        int count = 0;
+        try {
+            for (int stripe : ordered) {
+                lock(stripe);
+                locked[count++] = stripe;
+            }
+            return action.get();
+        } finally {
+            for (int i = count - 1; i >= 0; i--) {
+                stripes[locked[i]].unlock();
+            }
+        }
+    }
+
+    int stripeFor(String accountNumber) {
+        return Math.floorMod(accountNumber.hashCode(), stripes.length);
+    }
+
+    private void lock(int stripe) {
+        var lock = stripes[stripe];
+        if (lock.tryLock()) return;
+
+        contentionCounters[stripe].increment();
+        long start = System.nanoTime();
+        lock.lock();
+        waitTimers[stripe].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,64 @@
+package com.bruno.sistemabancario.application.service;
+
+import com.bruno.sistemabancario.application.ports.output.AccountNumberBlockPort;
+import com.bruno.sistemabancario.domain.utils.AccountNumbers;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hi/lo allocator: blocks of numbers are reserved from a counter in Mongo and handed out from memory,
+ * so numbers never repeat across instances and only one round trip is paid per block. Numbers that were
+ * reserved but not handed out before a restart are skipped, never reused.
+ */
+@Component
+public class AccountNumberAllocator {
+
+    private final AccountNumberBlockPort accountNumberBlockPort;
+
+    private final long firstNumber;
+
+    private final int blockSize;
+
+    private volatile Block current = new Block(0, 0);
+
+    public AccountNumberAllocator(AccountNumberBlockPort accountNumberBlockPort,
+                                  @Value("${banking.account-number.first:1000000}") long firstNumber,
+                                  @Value("${banking.account-number.block-size:100}") int blockSize) {
+        this.accountNumberBlockPort = accountNumberBlockPort;
+        this.firstNumber = firstNumber;
+        this.blockSize = blockSize;
+    }
+
+    public String next() {
+        while (true) {
+            var block = current;
+            long offset = block.next.getAndIncrement();
+
+            if (offset < block.end) {
+                return AccountNumbers.withCheckDigit(firstNumber + offset);
+            }
+            refill(block);
+        }
+    }
+
+    private synchronized void refill(Block exhausted) {
+        if (current != exhausted) return;
+
+        long start = accountNumberBlockPort.reserveBlock(blockSize);
+        current = new Block(start, start + blockSize);
+    }
+
+    private static final class Block {
+
+        private final AtomicLong next;
+
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.bruno.sistemabancario.application.service;
+
+import com.bruno.sistemabancario.application.ports.output.BankAccountRepositoryPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bloom filter of existing account numbers. A negative answer is exact, so transfers naming an unknown account
+ * can be rejected without touching Mongo; a positive answer may be a false positive and still goes to the database.
+ * Until the startup scan completes every number is reported as possibly existing. Accounts opened by other instances
+ * are picked up by a periodic scan of recently created documents, so they are visible here after at most one refresh.
+ */
+@Component
+public class AccountNumberFilter {
+
+    private static final Logger logger = Logger.getLogger(AccountNumberFilter.class.getName());
+
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+
+    private final BankAccountRepositoryPort bankAccountRepositoryPort;
+
+    private final boolean enabled;
+
+    private final AtomicLongArray bits;
+
+    private final long bitCount;
+
+    private final int hashCount;
+
+    private final AtomicLong insertions = new AtomicLong();
+
+    private final Counter rejections;
+
+    private final long refreshSeconds;
+
+    private final ScheduledExecutorService scheduler;
+
+    private Instant scannedUpTo;
+
+    private volatile boolean ready;
+
+    public AccountNumberFilter(BankAccountRepositoryPort bankAccountRepositoryPort, MeterRegistry meterRegistry,
+                               @Value("${banking.account-filter.enabled:true}") boolean enabled,
+                               @Value("${banking.account-filter.expected-accounts:1000000}") long expectedAccounts,
+                               @Value("${banking.account-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                               @Value("${banking.account-filter.max-memory-bytes:16777216}") long maxMemoryBytes,
+                               @Value("${banking.account-filter.refresh-seconds:5}") long refreshSeconds) {
+        this.bankAccountRepositoryPort = bankAccountRepositoryPort;
+        this.enabled = enabled;
+        this.refreshSeconds = refreshSeconds;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "account-number-filter");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long optimalBits = (long) Math.ceil(-expectedAccounts * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = Math.max(Long.SIZE, Math.min(optimalBits, maxMemoryBytes * Byte.SIZE)) / Long.SIZE * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedAccounts * Math.log(2)));
+        this.bits = new AtomicLongArray(enabled ? (int) (bitCount / Long.SIZE) : 0);
+
+        Gauge.builder("banking.account-filter.memory", () -> bits.length() * (double) Long.BYTES)
+                .description("Memory held by the account number filter")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("banking.account-filter.accounts", insertions, AtomicLong::get)
+                .description("Account numbers added to the filter")
+                .register(meterRegistry);
+        Gauge.builder("banking.account-filter.false-positive-rate", this::expectedFalsePositiveRate)
+                .description("Expected false positive rate for the current number of accounts")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("banking.account-filter.rejections")
+                .description("Lookups rejected by the filter without a database call")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) return;
+
+        scheduler.scheduleWithFixedDelay(this::scheduledRefresh, 0, Math.max(1, refreshSeconds), TimeUnit.SECONDS);
+    }
+
+    public synchronized void refresh() {
+        if (!enabled) return;
+
+        var startedAt = Instant.now();
+        bankAccountRepositoryPort.forEachAccountNumber(scannedUpTo == null ? null : scannedUpTo.minus(REFRESH_OVERLAP), this::add);
+        scannedUpTo = startedAt;
+
+        if (!ready) {
+            ready = true;
+            logger.info("Account number filter loaded with " + insertions.get() + " accounts");
+        }
+    }
+
+    public void add(String accountNumber) {
+        if (!enabled || accountNumber == null) return;
+
+        boolean added = false;
+        long hash = hash(accountNumber);
+        long step = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(hash + i * step, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+
+            long current;
+            while (((current = bits.get(word)) & mask) == 0) {
+                if (bits.compareAndSet(word, current, current | mask)) {
+                    added = true;
+                    break;
+                }
+            }
+        }
+        if (added) insertions.incrementAndGet();
+    }
+
+    public boolean mightExist(String accountNumber) {
+        if (!ready || accountNumber == null) return true;
+
+        long hash = hash(accountNumber);
+        long step = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(hash + i * step, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                rejections.increment();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    private void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Account number filter refresh failed, retrying on the next run", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private double expectedFalsePositiveRate() {
+        if (!enabled) return 1;
+
+        return Math.pow(1 - Math.exp(-hashCount * (double) insertions.get() / bitCount), hashCount);
+    }
+
+    private static long hash(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB93FE1A85EC3L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,230 @@
+package com.bruno.sistemabancario.application.service;
+
+import com.bruno.sistemabancario.adapter.dtos.request.TransactionDTO;
+import com.bruno.sistemabancario.adapter.dtos.response.TransactionStatusDTO;
+import com.bruno.sistemabancario.application.ports.input.AsyncTransferUseCase;
+import com.bruno.sistemabancario.application.ports.input.TransferUseCase;
+import com.bruno.sistemabancario.application.ports.output.BankStatsPort;
+import com.bruno.sistemabancario.application.ports.output.ReportRollupPort;
+import com.bruno.sistemabancario.application.ports.output.TransactionRepositoryPort;
+import com.bruno.sistemabancario.domain.exceptions.ResourceNotFoundException;
+import com.bruno.sistemabancario.domain.exceptions.ServiceUnavailableException;
+import com.bruno.sistemabancario.domain.model.BankStatsDelta;
+import com.bruno.sistemabancario.domain.model.ReportBucket;
+import com.bruno.sistemabancario.domain.model.Transaction;
+import com.bruno.sistemabancario.domain.utils.Code;
+import com.bruno.sistemabancario.domain.utils.CustomMessageResolver;
+import com.bruno.sistemabancario.infrastructure.mapper.DozerMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Settles transfers accepted with 202 on a pool of workers fed by a bounded in-memory queue.
+ * The queue is only a work list: every accepted transfer is stored as PENDING first, and on startup the
+ * PENDING transfers created before this instance started are queued again. A worker claims a transfer in the
+ * database before settling it, so a transfer recovered here and still queued on another instance is settled once.
+ * A transfer that was claimed but never settled may already have moved funds, so it is reported instead of retried.
+ */
+@Service
+public class AsyncTransferService implements AsyncTransferUseCase {
+
+    private static final Logger logger = Logger.getLogger(AsyncTransferService.class.getName());
+
+    private final TransferValidator transferValidator;
+    private final TransferUseCase transferUseCase;
+    private final TransactionRepositoryPort transactionRepositoryPort;
+    private final BankStatsPort bankStatsPort;
+    private final ReportRollupPort reportRollupPort;
+    private final CustomMessageResolver customMessageResolver;
+
+    private final BlockingQueue<PendingTransfer> queue;
+    private final ExecutorService workers;
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    private final Instant startedAt = Instant.now();
+    private final int recoveryBatchSize;
+
+    private volatile boolean running = true;
+
+    public AsyncTransferService(TransferValidator transferValidator,
+                                TransferUseCase transferUseCase,
+                                TransactionRepositoryPort transactionRepositoryPort,
+                                BankStatsPort bankStatsPort,
+                                ReportRollupPort reportRollupPort,
+                                CustomMessageResolver customMessageResolver,
+                                MeterRegistry meterRegistry,
+                                @Value("${banking.transfer.async.workers:4}") int workerCount,
+                                @Value("${banking.transfer.async.queue-capacity:1000}") int queueCapacity,
+                                @Value("${banking.transfer.async.recovery-batch-size:500}") int recoveryBatchSize) {
+        this.transferValidator = transferValidator;
+        this.transferUseCase = transferUseCase;
+        this.transactionRepositoryPort = transactionRepositoryPort;
+        this.bankStatsPort = bankStatsPort;
+        this.reportRollupPort = reportRollupPort;
+        this.customMessageResolver = customMessageResolver;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.recoveryBatchSize = Math.max(recoveryBatchSize, 1);
+
+        Gauge.builder("banking.transfer.async.queue.depth", queue, BlockingQueue::size)
+                .description("Transfers waiting for a worker")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("banking.transfer.async.wait")
+                .description("Time a transfer spent in the queue before a worker picked it up")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("banking.transfer.async.rejected")
+                .description("Transfers refused because the queue was full")
+                .register(meterRegistry);
+
+        var threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount,
+                runnable -> new Thread(runnable, "async-transfer-" + threadNumber.incrementAndGet()));
+        for (int i = 0; i < workerCount; i++) {
+            workers.submit(this::drain);
+        }
+    }
+
+    @Override
+    public TransactionStatusDTO submitTransaction(TransactionDTO request) {
+        transferValidator.validate(request);
+        transferValidator.rejectUnknownAccounts(request);
+
+        if (queue.remainingCapacity() == 0) {
+            throw queueFull();
+        }
+
+        var transaction = new Transaction();
+        transaction.setSourceAccount(request.getSourceAccount());
+        transaction.setDestinationAccount(request.getDestinationAccount());
+        transaction.setValue(request.getValue());
+        transaction.setTransactionDate(LocalDate.now());
+        transaction.setStatus("PENDING");
+        transaction = transactionRepositoryPort.save(transaction);
+        recordStats(transaction, BankStatsDelta.pendingSubmitted());
+
+        if (!queue.offer(new PendingTransfer(transaction, System.nanoTime()))) {
+            transaction.setStatus("REJECTED");
+            transactionRepositoryPort.save(transaction);
+            recordStats(transaction, BankStatsDelta.pendingRejected());
+            throw queueFull();
+        }
+
+        return DozerMapper.parseObject(transaction, TransactionStatusDTO.class);
+    }
+
+    @Override
+    public TransactionStatusDTO transactionStatus(String id) {
+        var transaction = transactionRepositoryPort.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(customMessageResolver.getMessage(Code.TRANSACTION_NOT_FOUND)));
+
+        return DozerMapper.parseObject(transaction, TransactionStatusDTO.class);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRecovery() {
+        var recovery = new Thread(() -> {
+            try {
+                recoverPending();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Pending transfer recovery stopped, the rest is picked up on the next start", e);
+            }
+        }, "async-transfer-recovery");
+        recovery.setDaemon(true);
+        recovery.start();
+    }
+
+    public long recoverPending() throws InterruptedException {
+        long recovered = 0;
+        String lastId = null;
+
+        while (running) {
+            var pending = transactionRepositoryPort.findUnclaimedPending(startedAt, lastId, recoveryBatchSize);
+            if (pending.isEmpty()) break;
+
+            for (Transaction transaction : pending) {
+                queue.put(new PendingTransfer(transaction, System.nanoTime()));
+                recovered++;
+            }
+            lastId = pending.get(pending.size() - 1).getId();
+        }
+
+        var abandoned = transactionRepositoryPort.countClaimedPending(startedAt);
+        if (recovered > 0) {
+            logger.info(recovered + " pending transfers from before startup queued again");
+        }
+        if (abandoned > 0) {
+            logger.warning(abandoned + " pending transfers were interrupted while settling and need manual review");
+        }
+
+        return recovered;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        workers.shutdown();
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            logger.warning(queue.size() + " queued transfers left PENDING at shutdown, they are queued again on the next start");
+        }
+    }
+
+    private void drain() {
+        while (running || !queue.isEmpty()) {
+            PendingTransfer next;
+            try {
+                next = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            if (next == null) continue;
+
+            waitTimer.record(System.nanoTime() - next.enqueuedAt(), TimeUnit.NANOSECONDS);
+            try {
+                if (!transactionRepositoryPort.claimPending(next.transaction().getId())) continue;
+
+                var settled = transferUseCase.settlePendingTransaction(next.transaction());
+                recordStats(next.transaction(), "APPROVED".equals(settled.getStatus())
+                        ? BankStatsDelta.pendingApproved()
+                        : BankStatsDelta.pendingRejected());
+            } catch (RuntimeException e) {
+                logger.log(Level.SEVERE, "Could not settle pending transaction " + next.transaction().getId(), e);
+            }
+        }
+    }
+
+    private void recordStats(Transaction transaction, BankStatsDelta delta) {
+        bankStatsPort.increment(delta);
+        reportRollupPort.increment(Map.of(ReportBucket.transactionTime(transaction.getId(), Instant.now()), delta));
+    }
+
+    private ServiceUnavailableException queueFull() {
+        rejectedCounter.increment();
+        return new ServiceUnavailableException(customMessageResolver.getMessage(Code.TRANSFER_QUEUE_FULL));
+    }
+
+    private record PendingTransfer(Transaction transaction, long enqueuedAt) {
+    }
+}
@@ -0,0 +1,135 @@
+package com.bruno.sistemabancario.application.service;
+
+import com.bruno.sistemabancario.application.ports.output.BalanceMigrationPort;
+import com.bruno.sistemabancario.application.ports.output.BankAccountRepositoryPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Converts account balances stored as strings or doubles to Decimal128 in resumable chunks. Balances that are not
+ * numbers are left alone and their ids kept in the checkpoint; the migration stays incomplete, and legacy balance
+ * handling stays on, until a later run finds every one of them fixed.
+ */
+@Service
+public class BalanceMigrationService {
+
+    private static final Logger logger = Logger.getLogger(BalanceMigrationService.class.getName());
+
+    private final BalanceMigrationPort balanceMigrationPort;
+
+    private final BankAccountRepositoryPort bankAccountRepositoryPort;
+
+    private final boolean enabled;
+
+    private final int chunkSize;
+
+    private final long pauseMs;
+
+    private final Counter migrated;
+
+    private volatile boolean stopped;
+
+    private Thread worker;
+
+    public BalanceMigrationService(BalanceMigrationPort balanceMigrationPort, BankAccountRepositoryPort bankAccountRepositoryPort,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${banking.migration.account-balance.enabled:true}") boolean enabled,
+                                   @Value("${banking.migration.account-balance.chunk-size:500}") int chunkSize,
+                                   @Value("${banking.migration.account-balance.pause-ms:200}") long pauseMs) {
+        this.balanceMigrationPort = balanceMigrationPort;
+        this.bankAccountRepositoryPort = bankAccountRepositoryPort;
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+        this.pauseMs = pauseMs;
+        this.migrated = meterRegistry.counter("banking.migration.account-balance.migrated");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) return;
+
+        worker = new Thread(() -> {
+            try {
+                migrate();
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Account balance migration stopped, it will resume from its checkpoint", e);
+            }
+        }, "account-balance-migration");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public long migrate() {
+        var checkpoint = balanceMigrationPort.loadCheckpoint();
+        if (checkpoint.completed()) {
+            bankAccountRepositoryPort.legacyBalancesMigrated();
+            return 0;
+        }
+
+        var lastId = checkpoint.lastId();
+        var total = checkpoint.migrated();
+        List<String> skipped = new ArrayList<>(checkpoint.skipped());
+        long converted = 0;
+
+        while (!stopped) {
+            var chunk = balanceMigrationPort.migrateChunk(lastId, chunkSize);
+
+            if (chunk.scanned() == 0) {
+                var retried = balanceMigrationPort.migrateAccounts(skipped);
+                total += retried.converted();
+                converted += retried.converted();
+                migrated.increment(retried.converted());
+
+                var completed = retried.skipped().isEmpty();
+                balanceMigrationPort.saveCheckpoint(new BalanceMigrationPort.Checkpoint(lastId, total, completed, retried.skipped()));
+                if (completed) {
+                    bankAccountRepositoryPort.legacyBalancesMigrated();
+                    logger.info("Account balance migration finished, " + total + " balances converted");
+                } else {
+                    logger.warning("Account balance migration reached the end with " + retried.skipped().size()
+                            + " balances that are not numbers, fix accounts " + retried.skipped() + " and restart to finish it");
+                }
+                break;
+            }
+
+            lastId = chunk.lastId();
+            total += chunk.converted();
+            converted += chunk.converted();
+            skipped.addAll(chunk.skipped());
+            migrated.increment(chunk.converted());
+            balanceMigrationPort.saveCheckpoint(new BalanceMigrationPort.Checkpoint(lastId, total, false, skipped));
+
+            if (!pause()) break;
+        }
+
+        return converted;
+    }
+
+    private boolean pause() {
+        if (pauseMs <= 0) return true;
+
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopped = true;
+        if (worker != null) worker.interrupt();
+    }
+}
@@ -0,0 +1,127 @@
+package com.bruno.sistemabancario.application.service;
+
+import com.bruno.sistemabancario.adapter.dtos.response.BalanceDTO;
+import com.bruno.sistemabancario.application.ports.input.BalanceProjectionUseCase;
+import com.bruno.sistemabancario.application.ports.output.BalanceLedgerPort;
+import com.bruno.sistemabancario.application.ports.output.BankAccountRepositoryPort;
+import com.bruno.sistemabancario.domain.exceptions.ResourceNotFoundException;
+import com.bruno.sistemabancario.domain.utils.AccountNumbers;
+import com.bruno.sistemabancario.domain.utils.Code;
+import com.bruno.sistemabancario.domain.utils.CustomMessageResolver;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+@Service
+public class BalanceProjectionService implements BalanceProjectionUseCase {
+
+    private static final Logger logger = Logger.getLogger(BalanceProjectionService.class.getName());
+
+    private final BalanceLedgerPort balanceLedgerPort;
+
+    private final BankAccountRepositoryPort bankAccountRepositoryPort;
+
+    private final AccountLockManager accountLockManager;
+
+    private final CustomMessageResolver customMessageResolver;
+
+    private final long firstAccountNumber;
+
+    private final Duration snapshotLag;
+
+    private final ScheduledExecutorService scheduler;
+
+    private boolean cutoffLoaded;
+
+    private Instant lastCutoff;
+
+    public BalanceProjectionService(BalanceLedgerPort balanceLedgerPort,
+                                    BankAccountRepositoryPort bankAccountRepositoryPort,
+                                    AccountLockManager accountLockManager,
+                                    CustomMessageResolver customMessageResolver,
+                                    @Value("${banking.account-number.first:1000000}") long firstAccountNumber,
+                                    @Value("${banking.projection.snapshot-interval-minutes:10}") long snapshotIntervalMinutes,
+                                    @Value("${banking.projection.snapshot-lag-seconds:60}") long snapshotLagSeconds) {
+        this.balanceLedgerPort = balanceLedgerPort;
+        this.bankAccountRepositoryPort = bankAccountRepositoryPort;
+        this.accountLockManager = accountLockManager;
+        this.customMessageResolver = customMessageResolver;
+        this.firstAccountNumber = firstAccountNumber;
+        this.snapshotLag = Duration.ofSeconds(snapshotLagSeconds);
+
+        if (snapshotIntervalMinutes > 0) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                var thread = new Thread(runnable, "balance-snapshots");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.scheduler.scheduleWithFixedDelay(this::scheduledSnapshot,
+                    snapshotIntervalMinutes, snapshotIntervalMinutes, TimeUnit.MINUTES);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    @Override
+    public BalanceDTO rebuildBalance(String accountNumber) {
+        if (!AccountNumbers.isAcceptable(accountNumber, firstAccountNumber)
+                || !bankAccountRepositoryPort.existsByAccountNumber(accountNumber)) {
+            throw new ResourceNotFoundException(customMessageResolver.getMessage(Code.NUMBER_ACCOUNT_NOT_FOUND));
+        }
+
+        var balance = accountLockManager.withAccounts(accountNumber, accountNumber, () -> {
+            seedLegacyOpening(accountNumber);
+            return balanceLedgerPort.rebuildProjection(accountNumber);
+        });
+
+        return new BalanceDTO(balance
+                .orElseThrow(() -> new ResourceNotFoundException(customMessageResolver.getMessage(Code.LEDGER_ENTRIES_NOT_FOUND))));
+    }
+
+    /**
+     * Accounts opened before the ledger existed have no OPENING entry, so replaying their entries would start
+     * from zero. Their current balance, less what the ledger already recorded, becomes that entry. It goes
+     * straight to the ledger port: the account is already counted in the bank stats.
+     */
+    private void seedLegacyOpening(String accountNumber) {
+        bankAccountRepositoryPort.findByAccountNumber(accountNumber).ifPresent(account ->
+                balanceLedgerPort.seedOpening(accountNumber, bankAccountRepositoryPort.totalBalance(account)));
+    }
+
+    @Override
+    public synchronized int takeSnapshots() {
+        if (!cutoffLoaded) {
+            lastCutoff = balanceLedgerPort.lastSnapshotCutoff().orElse(null);
+            cutoffLoaded = true;
+        }
+
+        var cutoff = Instant.now().minus(snapshotLag);
+        if (lastCutoff != null && !cutoff.isAfter(lastCutoff)) return 0;
+
+        int taken = balanceLedgerPort.snapshot(lastCutoff, cutoff);
+        lastCutoff = cutoff;
+        return taken;
+    }
+
+    private void scheduledSnapshot() {
+        try {
+            int taken = takeSnapshots();
+            if (taken > 0) logger.info("Balance snapshots taken for " + taken + " accounts");
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Balance snapshot failed, retrying on the next run", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) scheduler.shutdownNow();
+    }
+}
@@ -6,37 +6,50 @@ import com.bruno.sistemabancario.adapter.dtos.response.BalanceDTO;
 import com.bruno.sistemabancario.adapter.dtos.response.ReportDTO;
 import com.bruno.sistemabancario.domain.exceptions.ResourceNotFoundException;
 import com.bruno.sistemabancario.domain.model.BankAccount;
+import com.bruno.sistemabancario.domain.model.LedgerEntry;
+import com.bruno.sistemabancario.application.ports.input.BalanceProjectionUseCase;
 import com.bruno.sistemabancario.application.ports.input.BankUseCase;
+import com.bruno.sistemabancario.application.ports.output.BalanceLedgerPort;
 import com.bruno.sistemabancario.application.ports.output.BankAccountRepositoryPort;
-import com.bruno.sistemabancario.application.ports.output.TransactionRepositoryPort;
 import com.bruno.sistemabancario.domain.utils.Code;
 import com.bruno.sistemabancario.domain.utils.CustomMessageResolver;
 import com.bruno.sistemabancario.infrastructure.mapper.DozerMapper;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.aggregation.Aggregation;
-import org.bson.Document;
-import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.List;
 
 @Service
 public class BankService implements BankUseCase {
 
+    public static final BigDecimal OPENING_BALANCE = BigDecimal.valueOf(1000);
+
     @Autowired
     private BankAccountRepositoryPort bankAccountRepositoryPort;
 
     @Autowired
-    private TransactionRepositoryPort transactionRepositoryPort;
+    private LedgerRecorder ledgerRecorder;
+
+    @Autowired
+    private BalanceLedgerPort balanceLedgerPort;
+
+    @Autowired
+    private BalanceProjectionUseCase balanceProjectionUseCase;
 
     @Autowired
     private CustomMessageResolver customMessageResolver;
 
     @Autowired
-    private MongoTemplate mongoTemplate;
+    private BankStatsService bankStatsService;
+
+    @Autowired
+    private AccountNumberAllocator accountNumberAllocator;
+
+    @Autowired
+    private AccountNumberFilter accountNumberFilter;
 
     @Override
     public AccountDTO createAccount(AccountOpeningDTO request) {
@@ -45,11 +58,14 @@ public class BankService implements BankUseCase {
         entity.setName(request.getName());
         entity.setCpf(request.getCpf());
         entity.setOpeningDate(LocalDate.now());
-        int randomAccountNumber = ThreadLocalRandom.current().nextInt(100000, 1000000);
-        entity.setAccountNumber(String.valueOf(randomAccountNumber));
-        entity.setBalance(BigDecimal.valueOf(1000));
+        entity.setAccountNumber(accountNumberAllocator.next());
+        entity.setBalance(OPENING_BALANCE);
+
+        var saved = bankAccountRepositoryPort.save(entity);
+        accountNumberFilter.add(saved.getAccountNumber());
+        ledgerRecorder.record(List.of(LedgerEntry.opening(saved.getAccountNumber(), saved.getBalance())));
 
-        return DozerMapper.parseObject(bankAccountRepositoryPort.save(entity), AccountDTO.class);
+        return DozerMapper.parseObject(saved, AccountDTO.class);
     }
 
     @Override
@@ -57,36 +73,24 @@ public class BankService implements BankUseCase {
         var entity = bankAccountRepositoryPort.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(customMessageResolver.getMessage(Code.NO_ACCOUNT_FOR_ID)));
 
-        return new BalanceDTO(entity.getBalance());
+        var balance = balanceLedgerPort.projectedBalance(entity.getAccountNumber())
+                .orElseGet(() -> balanceProjectionUseCase.rebuildBalance(entity.getAccountNumber()).getBalance());
+
+        return new BalanceDTO(balance);
     }
 
     @Override
     public ReportDTO bankReport() {
+        var stats = bankStatsService.current();
         ReportDTO report = new ReportDTO();
 
-        report.setTotalAccounts((int) bankAccountRepositoryPort.count());
-        report.setTotalTransactions((int) transactionRepositoryPort.count());
-        report.setTotalTransactionsReversed(BigDecimal.valueOf(transactionRepositoryPort.countByStatus("REVERSED")));
-        report.setTotalTransactionsApproved(BigDecimal.valueOf(transactionRepositoryPort.countByStatus("APPROVED")));
-        report.setTotalAmountMoved(getTotalTransactionValue());
+        report.setTotalAccounts(stats.getTotalAccounts());
+        report.setTotalTransactions(stats.totalTransactions());
+        report.setTotalTransactionsReversed(BigDecimal.valueOf(stats.getReversedTransactions()));
+        report.setTotalTransactionsApproved(BigDecimal.valueOf(stats.getApprovedTransactions()));
+        report.setTotalAmountMoved(stats.getTotalAmountMoved());
+        report.setComputedAt(Instant.now());
 
         return report;
     }
-
-    private BigDecimal getTotalTransactionValue() {
-        var aggregation = Aggregation.newAggregation(
-                Aggregation.match(Criteria.where("status").in("APPROVED", "REVERSED")),
-                Aggregation.group().sum("value").as("totalValue")
-        );
-
-        var result = mongoTemplate.aggregate(aggregation, "transactions", Document.class).getUniqueMappedResult();
-
-        if (result != null) {
-            Number totalValueNumber = result.get("totalValue", Number.class);
-            if (totalValueNumber != null) {
-                return new BigDecimal(totalValueNumber.toString());
-            }
-        }
-        return BigDecimal.ZERO;
-    }
 }
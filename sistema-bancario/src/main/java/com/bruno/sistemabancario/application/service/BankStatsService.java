@@ -0,0 +1,105 @@
+package com.bruno.sistemabancario.application.service;
+
+import com.bruno.sistemabancario.application.ports.output.BankStatsPort;
+import com.bruno.sistemabancario.domain.model.BankStats;
+import com.bruno.sistemabancario.domain.model.BankStatsDelta;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Owns the materialized {@link BankStats} document behind the bank report. {@link LedgerRecorder} and the
+ * async transfer lifecycle keep it current with {@code $inc}; the reconciliation recomputes it from
+ * the accounts and transactions collections and applies any drift as a correcting increment.
+ * Writes landing while a reconciliation scans can show up as drift once and are corrected on the
+ * next run.
+ */
+@Service
+public class BankStatsService {
+
+    private static final Logger logger = Logger.getLogger(BankStatsService.class.getName());
+
+    private final BankStatsPort bankStatsPort;
+
+    private final Counter driftCounter;
+
+    private final ScheduledExecutorService scheduler;
+
+    public BankStatsService(BankStatsPort bankStatsPort,
+                            MeterRegistry meterRegistry,
+                            @Value("${banking.report.reconcile-interval-minutes:60}") long reconcileIntervalMinutes) {
+        this.bankStatsPort = bankStatsPort;
+        this.driftCounter = Counter.builder("banking.report.reconcile.drift")
+                .description("Reconciliation runs that found the bank stats out of step with the collections")
+                .register(meterRegistry);
+
+        if (reconcileIntervalMinutes > 0) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                var thread = new Thread(runnable, "bank-stats-reconcile");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.scheduler.scheduleWithFixedDelay(this::scheduledReconcile,
+                    reconcileIntervalMinutes, reconcileIntervalMinutes, TimeUnit.MINUTES);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    public BankStats current() {
+        var stats = bankStatsPort.load();
+        if (stats.isPresent() && stats.get().getReconciledAt() != null) {
+            return stats.get();
+        }
+
+        reconcile();
+        return bankStatsPort.load().orElseThrow();
+    }
+
+    public synchronized BankStatsDelta reconcile() {
+        var expected = bankStatsPort.computeFromScratch();
+        var stored = bankStatsPort.load().orElseGet(BankStatsService::empty);
+        if (stored.getTotalAmountMoved() == null) stored.setTotalAmountMoved(BigDecimal.ZERO);
+
+        var drift = BankStatsDelta.between(stored, expected);
+        if (!drift.isEmpty()) {
+            if (stored.getReconciledAt() != null) {
+                driftCounter.increment();
+                logger.warning("Bank stats drifted since " + stored.getReconciledAt() + ", correcting by " + drift);
+            }
+            bankStatsPort.increment(drift);
+        }
+
+        bankStatsPort.markReconciled(Instant.now());
+        return drift;
+    }
+
+    private void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Bank stats reconciliation failed, retrying on the next run", e);
+        }
+    }
+
+    private static BankStats empty() {
+        var stats = new BankStats();
+        stats.setTotalAmountMoved(BigDecimal.ZERO);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,75 @@
+package com.bruno.sistemabancario.application.service;
+
+import com.bruno.sistemabancario.adapter.dtos.request.BulkReversalDTO;
+import com.bruno.sistemabancario.adapter.dtos.response.TransactionResultDTO;
+import com.bruno.sistemabancario.application.ports.output.TransactionRepositoryPort;
+import com.bruno.sistemabancario.domain.exceptions.BadRequest;
+import com.bruno.sistemabancario.domain.model.Transaction;
+import com.bruno.sistemabancario.domain.utils.Code;
+import com.bruno.sistemabancario.domain.utils.CustomMessageResolver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves the transactions a bulk reversal request names, by id or by filter, and enforces the size limit.
+ * Requested ids that do not exist are added to the results as rejected.
+ */
+@Component
+public class BulkReversalSelector {
+
+    @Autowired
+    private TransactionRepositoryPort transactionRepositoryPort;
+
+    @Autowired
+    private CustomMessageResolver customMessageResolver;
+
+    @Value("${banking.reversal.bulk.max-size:10000}")
+    private int bulkReversalMaxSize = 10000;
+
+    public List<Transaction> select(BulkReversalDTO request, Map<String, TransactionResultDTO> results) {
+        var ids = request.getTransactionIds();
+        if ((ids == null || ids.isEmpty()) && request.getFrom() == null && request.getTo() == null && request.getSourceAccount() == null) {
+            throw new BadRequest(customMessageResolver.getMessage(Code.BULK_REVERSAL_CRITERIA_REQUIRED));
+        }
+
+        if (ids != null && ids.size() > bulkReversalMaxSize) {
+            throw new BadRequest(customMessageResolver.getMessage(Code.BULK_REVERSAL_TOO_LARGE));
+        }
+
+        var transactions = transactionRepositoryPort.findAllForReversal(ids, request.getFrom(), request.getTo(),
+                request.getSourceAccount(), bulkReversalMaxSize + 1);
+
+        if (transactions.size() > bulkReversalMaxSize) {
+            throw new BadRequest(customMessageResolver.getMessage(Code.BULK_REVERSAL_TOO_LARGE));
+        }
+
+        if (ids != null) {
+            ids.forEach(id -> results.put(id, null));
+        }
+
+        for (Transaction transaction : transactions) {
+            var result = new TransactionResultDTO();
+            result.setTransactionId(transaction.getId());
+            result.setSourceAccount(transaction.getSourceAccount());
+            result.setDestinationAccount(transaction.getDestinationAccount());
+            result.setValue(transaction.getValue());
+            results.put(transaction.getId(), result);
+        }
+
+        results.replaceAll((id, result) -> {
+            if (result != null) return result;
+
+            var missing = new TransactionResultDTO();
+            missing.setTransactionId(id);
+            missing.setStatus("REJECTED");
+            missing.setMessage(customMessageResolver.getMessage(Code.TRANSACTION_NOT_FOUND));
+            return missing;
+        });
+
+        return transactions;
+    }
+}
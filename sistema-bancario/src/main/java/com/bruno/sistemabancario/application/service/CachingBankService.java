@@ -0,0 +1,68 @@
+package com.bruno.sistemabancario.application.service;
+
+import com.bruno.sistemabancario.adapter.dtos.request.AccountOpeningDTO;
+import com.bruno.sistemabancario.adapter.dtos.response.AccountDTO;
+import com.bruno.sistemabancario.adapter.dtos.response.BalanceDTO;
+import com.bruno.sistemabancario.adapter.dtos.response.ReportDTO;
+import com.bruno.sistemabancario.application.ports.input.BankUseCase;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Stale-while-revalidate cache for the bank report in front of {@link BankService}.
+ * Concurrent requests for a missing report share one computation. Once the cached report is older
+ * than the freshness window it keeps being served while a single background refresh replaces it;
+ * only a report older than the max-stale window makes callers wait for a new one.
+ */
+@Primary
+@Service
+public class CachingBankService implements BankUseCase {
+
+    private static final String REPORT = "report";
+
+    private final BankService delegate;
+
+    private final LoadingCache<String, ReportDTO> reports;
+
+    private final Timer refreshTimer;
+
+    public CachingBankService(BankService delegate, MeterRegistry meterRegistry,
+                              @Value("${banking.report.cache.fresh-seconds:5}") long freshSeconds,
+                              @Value("${banking.report.cache.max-stale-seconds:300}") long maxStaleSeconds) {
+        this.delegate = delegate;
+        this.refreshTimer = Timer.builder("banking.report.refresh")
+                .description("Time taken to compute the bank report for the cache")
+                .register(meterRegistry);
+        this.reports = Caffeine.newBuilder()
+                .maximumSize(1)
+                .refreshAfterWrite(Duration.ofSeconds(Math.max(freshSeconds, 1)))
+                .expireAfterWrite(Duration.ofSeconds(Math.max(maxStaleSeconds, freshSeconds + 1)))
+                .recordStats()
+                .build(key -> refreshTimer.record(delegate::bankReport));
+
+        CaffeineCacheMetrics.monitor(meterRegistry, reports, "report");
+    }
+
+    @Override
+    public AccountDTO createAccount(AccountOpeningDTO request) {
+        return delegate.createAccount(request);
+    }
+
+    @Override
+    public BalanceDTO checkBalanceByID(String id) {
+        return delegate.checkBalanceByID(id);
+    }
+
+    @Override
+    public ReportDTO bankReport() {
+        return reports.get(REPORT);
+    }
+}
@@ -0,0 +1,201 @@
+package com.bruno.sistemabancario.application.service;
+
+import com.bruno.sistemabancario.application.ports.input.IdempotencyUseCase;
+import com.bruno.sistemabancario.application.ports.output.IdempotencyRepositoryPort;
+import com.bruno.sistemabancario.domain.exceptions.BadRequest;
+import com.bruno.sistemabancario.domain.exceptions.ResourceNotFoundException;
+import com.bruno.sistemabancario.domain.exceptions.ServiceUnavailableException;
+import com.bruno.sistemabancario.domain.model.IdempotencyRecord;
+import com.bruno.sistemabancario.domain.utils.Code;
+import com.bruno.sistemabancario.domain.utils.CustomMessageResolver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs a request at most once per caller and idempotency key, across every instance sharing the database.
+ * The key is reserved with a PENDING record before the action runs and only the instance whose insert wins
+ * executes it. Others poll until the outcome is stored and replay it, or give up with 503 after the wait timeout.
+ * A key reserved by an instance that died mid-request stays PENDING until it expires, since funds may have moved.
+ * Only a SHA-256 of the request fingerprint is stored, so callers pass normalized fields rather than raw payloads.
+ */
+@Service
+public class IdempotencyService implements IdempotencyUseCase {
+
+    private static final Logger logger = Logger.getLogger(IdempotencyService.class.getName());
+
+    private final IdempotencyRepositoryPort idempotencyRepositoryPort;
+
+    private final CustomMessageResolver customMessageResolver;
+
+    private final Duration ttl;
+
+    private final Duration waitTimeout;
+
+    private final Map<String, IdempotencyRecord> cache;
+
+    private final Map<String, CompletableFuture<IdempotencyRecord>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyRepositoryPort idempotencyRepositoryPort,
+                              CustomMessageResolver customMessageResolver,
+                              @Value("${banking.idempotency.cache-size:10000}") int cacheSize,
+                              @Value("${banking.idempotency.ttl-hours:24}") long ttlHours,
+                              @Value("${banking.idempotency.wait-ms:10000}") long waitMs) {
+        this.idempotencyRepositoryPort = idempotencyRepositoryPort;
+        this.customMessageResolver = customMessageResolver;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.waitTimeout = Duration.ofMillis(waitMs);
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    @Override
+    public String execute(String caller, String idempotencyKey, String operation, String fingerprint, Supplier<String> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+
+        var id = (caller == null || caller.isBlank() ? "anonymous" : caller) + ":" + operation + ":" + idempotencyKey;
+        var digest = sha256(fingerprint);
+        var record = cache.get(id);
+
+        if (record == null || isExpired(record)) {
+            var execution = new CompletableFuture<IdempotencyRecord>();
+            var running = inFlight.putIfAbsent(id, execution);
+
+            if (running != null) {
+                record = await(running);
+            } else {
+                try {
+                    record = lookupOrRun(id, digest, action);
+                    execution.complete(record);
+                } catch (RuntimeException e) {
+                    execution.completeExceptionally(e);
+                    throw e;
+                } finally {
+                    inFlight.remove(id, execution);
+                }
+            }
+        }
+
+        return replay(record, digest);
+    }
+
+    private IdempotencyRecord lookupOrRun(String id, String fingerprint, Supplier<String> action) {
+        var deadline = System.nanoTime() + waitTimeout.toNanos();
+
+        while (true) {
+            var stored = idempotencyRepositoryPort.findById(id).filter(record -> !isExpired(record));
+
+            if (stored.isPresent() && !stored.get().isPending()) {
+                cache.put(id, stored.get());
+                return stored.get();
+            }
+            if (stored.isPresent() && !stored.get().getFingerprint().equals(fingerprint)) {
+                return stored.get();
+            }
+
+            var now = Instant.now();
+            if (stored.isEmpty() && idempotencyRepositoryPort.reserve(
+                    new IdempotencyRecord(id, fingerprint, IdempotencyRecord.PENDING, null, now), now.minus(ttl))) {
+                return run(id, fingerprint, action);
+            }
+
+            if (System.nanoTime() > deadline) {
+                throw new ServiceUnavailableException(customMessageResolver.getMessage(Code.IDEMPOTENCY_KEY_IN_PROGRESS));
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServiceUnavailableException(customMessageResolver.getMessage(Code.IDEMPOTENCY_KEY_IN_PROGRESS));
+            }
+        }
+    }
+
+    private IdempotencyRecord run(String id, String fingerprint, Supplier<String> action) {
+        IdempotencyRecord record;
+        try {
+            record = new IdempotencyRecord(id, fingerprint, HttpStatus.OK.value(), action.get(), Instant.now());
+        } catch (ResourceNotFoundException e) {
+            record = new IdempotencyRecord(id, fingerprint, HttpStatus.NOT_FOUND.value(), e.getMessage(), Instant.now());
+        } catch (BadRequest e) {
+            record = new IdempotencyRecord(id, fingerprint, HttpStatus.BAD_REQUEST.value(), e.getMessage(), Instant.now());
+        } catch (RuntimeException e) {
+            try {
+                idempotencyRepositoryPort.release(id);
+            } catch (RuntimeException releaseFailure) {
+                e.addSuppressed(releaseFailure);
+            }
+            throw e;
+        }
+
+        cache.put(id, record);
+        try {
+            idempotencyRepositoryPort.complete(record);
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Could not store the outcome for idempotency key " + id
+                    + ", retries on other instances wait until it expires", e);
+        }
+
+        return record;
+    }
+
+    private IdempotencyRecord await(CompletableFuture<IdempotencyRecord> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private String replay(IdempotencyRecord record, String fingerprint) {
+        if (!record.getFingerprint().equals(fingerprint)) {
+            throw new BadRequest(customMessageResolver.getMessage(Code.IDEMPOTENCY_KEY_REUSED));
+        }
+
+        if (record.getStatus() == HttpStatus.NOT_FOUND.value()) {
+            throw new ResourceNotFoundException(record.getResponse());
+        }
+
+        if (record.getStatus() == HttpStatus.BAD_REQUEST.value()) {
+            throw new BadRequest(record.getResponse());
+        }
+
+        return record.getResponse();
+    }
+
+    private boolean isExpired(IdempotencyRecord record) {
+        return record.getCreatedAt().plus(ttl).isBefore(Instant.now());
+    }
+
+    private static String sha256(String fingerprint) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(fingerprint.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.bruno.sistemabancario.application.service;
+
+import com.bruno.sistemabancario.application.ports.output.BalanceLedgerPort;
+import com.bruno.sistemabancario.application.ports.output.BankStatsPort;
+import com.bruno.sistemabancario.application.ports.output.ReportRollupPort;
+import com.bruno.sistemabancario.domain.model.BankStatsDelta;
+import com.bruno.sistemabancario.domain.model.LedgerEntry;
+import com.bruno.sistemabancario.domain.model.ReportBucket;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The one place account and transfer services write ledger entries. Only the entries the ledger did
+ * not already hold are counted into the bank stats and report rollups, so an append retried after a
+ * failure is counted once. If the counters still miss a write, the stats reconciliation and the
+ * rollup backfill correct them.
+ */
+@Component
+public class LedgerRecorder {
+
+    private final BalanceLedgerPort balanceLedgerPort;
+
+    private final BankStatsPort bankStatsPort;
+
+    private final ReportRollupPort reportRollupPort;
+
+    public LedgerRecorder(BalanceLedgerPort balanceLedgerPort, BankStatsPort bankStatsPort, ReportRollupPort reportRollupPort) {
+        this.balanceLedgerPort = balanceLedgerPort;
+        this.bankStatsPort = bankStatsPort;
+        this.reportRollupPort = reportRollupPort;
+    }
+
+    public void record(List<LedgerEntry> entries) {
+        if (entries.isEmpty()) return;
+
+        var appended = balanceLedgerPort.append(entries);
+        if (appended.isEmpty()) return;
+
+        bankStatsPort.increment(BankStatsDelta.fromLedger(appended));
+        reportRollupPort.increment(rollupDeltas(appended));
+    }
+
+    private Map<Instant, BankStatsDelta> rollupDeltas(List<LedgerEntry> appended) {
+        Map<Instant, BankStatsDelta> deltas = new HashMap<>();
+        for (LedgerEntry entry : appended) {
+            if (entry.getTransactionId() == null) continue;
+
+            deltas.merge(ReportBucket.transactionTime(entry.getTransactionId(), entry.getCreatedAt()),
+                    BankStatsDelta.fromLedger(List.of(entry)), BankStatsDelta::plus);
+        }
+        return deltas;
+    }
+}
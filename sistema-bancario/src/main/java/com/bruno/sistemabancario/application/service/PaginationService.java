@@ -3,7 +3,10 @@ package com.bruno.sistemabancario.application.service;
 import com.bruno.sistemabancario.adapter.controller.BankController;
 import com.bruno.sistemabancario.adapter.dtos.response.TransactionsUserDTO;
 import com.bruno.sistemabancario.application.ports.input.PaginationUseCase;
+import com.bruno.sistemabancario.domain.model.CursorPage;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
@@ -46,4 +49,70 @@ public class PaginationService implements PaginationUseCase {
 
         return pagedModel;
     }
+
+    @Override
+    public CollectionModel<TransactionsUserDTO> findTransactionSliceByAccount(Slice<TransactionsUserDTO> transactionSlice, String accountNumber, int page, int size, Long approximateTotal) {
+        CollectionModel<TransactionsUserDTO> model;
+
+        if (approximateTotal == null) {
+            model = CollectionModel.of(transactionSlice.getContent());
+        } else {
+            long seen = (long) transactionSlice.getNumber() * transactionSlice.getSize()
+                    + transactionSlice.getNumberOfElements() + (transactionSlice.hasNext() ? 1 : 0);
+
+            PagedModel.PageMetadata metadata = new PagedModel.PageMetadata(
+                    transactionSlice.getSize(),
+                    transactionSlice.getNumber(),
+                    Math.max(approximateTotal, seen)
+            );
+            model = PagedModel.of(transactionSlice.getContent(), metadata);
+        }
+
+        boolean withTotal = approximateTotal != null;
+
+        Link selfLink = WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder
+                        .methodOn(BankController.class)
+                        .searchTransactionSliceByAccountNumber(accountNumber, BankController.SLICE_MODE, page, size, withTotal))
+                .withSelfRel();
+        model.add(selfLink);
+
+        if (transactionSlice.hasNext()) {
+            Link nextLink = WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder
+                            .methodOn(BankController.class)
+                            .searchTransactionSliceByAccountNumber(accountNumber, BankController.SLICE_MODE, page + 1, size, withTotal))
+                    .withRel("next");
+            model.add(nextLink);
+        }
+
+        if (transactionSlice.hasPrevious()) {
+            Link prevLink = WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder
+                            .methodOn(BankController.class)
+                            .searchTransactionSliceByAccountNumber(accountNumber, BankController.SLICE_MODE, page - 1, size, withTotal))
+                    .withRel("previous");
+            model.add(prevLink);
+        }
+
+        return model;
+    }
+
+    @Override
+    public CollectionModel<TransactionsUserDTO> findTransactionsByCursor(CursorPage<TransactionsUserDTO> transactionPage, String accountNumber, String cursor) {
+        CollectionModel<TransactionsUserDTO> model = CollectionModel.of(transactionPage.content());
+
+        Link selfLink = WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder
+                        .methodOn(BankController.class)
+                        .searchTransactionsByAccountNumberAfterCursor(accountNumber, cursor == null ? "" : cursor, transactionPage.size()))
+                .withSelfRel();
+        model.add(selfLink);
+
+        if (transactionPage.hasNext()) {
+            Link nextLink = WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder
+                            .methodOn(BankController.class)
+                            .searchTransactionsByAccountNumberAfterCursor(accountNumber, transactionPage.nextCursor(), transactionPage.size()))
+                    .withRel("next");
+            model.add(nextLink);
+        }
+
+        return model;
+    }
 }
@@ -0,0 +1,125 @@
+package com.bruno.sistemabancario.application.service;
+
+import com.bruno.sistemabancario.application.ports.output.ParticipantsMigrationPort;
+import com.bruno.sistemabancario.application.ports.output.TransactionRepositoryPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Backfills the {@code participants} array on transactions written before it existed. Account
+ * history keeps using the {@code $or} on source and destination until the backfill has completed,
+ * then switches to the multikey (participants, transactionDate) index.
+ */
+@Service
+public class ParticipantsMigrationService {
+
+    private static final Logger logger = Logger.getLogger(ParticipantsMigrationService.class.getName());
+
+    private final ParticipantsMigrationPort participantsMigrationPort;
+
+    private final TransactionRepositoryPort transactionRepositoryPort;
+
+    private final boolean enabled;
+
+    private final int chunkSize;
+
+    private final long pauseMs;
+
+    private final Counter migrated;
+
+    private volatile boolean stopped;
+
+    private Thread worker;
+
+    public ParticipantsMigrationService(ParticipantsMigrationPort participantsMigrationPort,
+                                        TransactionRepositoryPort transactionRepositoryPort,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${banking.migration.transaction-participants.enabled:true}") boolean enabled,
+                                        @Value("${banking.migration.transaction-participants.chunk-size:1000}") int chunkSize,
+                                        @Value("${banking.migration.transaction-participants.pause-ms:50}") long pauseMs) {
+        this.participantsMigrationPort = participantsMigrationPort;
+        this.transactionRepositoryPort = transactionRepositoryPort;
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+        this.pauseMs = pauseMs;
+        this.migrated = meterRegistry.counter("banking.migration.transaction-participants.migrated");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (participantsMigrationPort.loadCheckpoint().completed()) {
+            transactionRepositoryPort.useParticipantsIndex(true);
+            return;
+        }
+        if (!enabled) return;
+
+        worker = new Thread(() -> {
+            try {
+                migrate();
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Transaction participants backfill stopped, it will resume from its checkpoint", e);
+            }
+        }, "transaction-participants-migration");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public long migrate() {
+        var checkpoint = participantsMigrationPort.loadCheckpoint();
+        if (checkpoint.completed()) {
+            transactionRepositoryPort.useParticipantsIndex(true);
+            return 0;
+        }
+
+        var lastId = checkpoint.lastId();
+        var total = checkpoint.migrated();
+        long updated = 0;
+
+        while (!stopped) {
+            var chunk = participantsMigrationPort.migrateChunk(lastId, chunkSize);
+
+            if (chunk.scanned() == 0) {
+                participantsMigrationPort.saveCheckpoint(new ParticipantsMigrationPort.Checkpoint(lastId, total, true));
+                transactionRepositoryPort.useParticipantsIndex(true);
+                logger.info("Transaction participants backfill finished, " + total + " transactions updated");
+                break;
+            }
+
+            lastId = chunk.lastId();
+            total += chunk.updated();
+            updated += chunk.updated();
+            migrated.increment(chunk.updated());
+            participantsMigrationPort.saveCheckpoint(new ParticipantsMigrationPort.Checkpoint(lastId, total, false));
+
+            if (!pause()) break;
+        }
+
+        return updated;
+    }
+
+    private boolean pause() {
+        if (pauseMs <= 0) return true;
+
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopped = true;
+        if (worker != null) worker.interrupt();
+    }
+}
@@ -0,0 +1,128 @@
+package com.bruno.sistemabancario.application.service;
+
+import com.bruno.sistemabancario.adapter.dtos.response.ReportBucketDTO;
+import com.bruno.sistemabancario.adapter.dtos.response.ReportRangeDTO;
+import com.bruno.sistemabancario.application.ports.input.ReportRollupUseCase;
+import com.bruno.sistemabancario.application.ports.output.ReportRollupPort;
+import com.bruno.sistemabancario.domain.exceptions.BadRequest;
+import com.bruno.sistemabancario.domain.model.ReportBucket;
+import com.bruno.sistemabancario.domain.utils.Code;
+import com.bruno.sistemabancario.domain.utils.CustomMessageResolver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Answers time-range reports from the hourly and daily buckets in {@code report_buckets}. {@link LedgerRecorder}
+ * and the async transfer lifecycle keep the buckets current with {@code $inc}, keyed by the
+ * creation time of each transaction; {@link #backfill()} rebuilds every bucket that closed before
+ * the current day from the transactions collection.
+ */
+@Service
+public class ReportRollupService implements ReportRollupUseCase {
+
+    private static final Logger logger = Logger.getLogger(ReportRollupService.class.getName());
+
+    private final ReportRollupPort reportRollupPort;
+
+    private final CustomMessageResolver customMessageResolver;
+
+    private final int maxBuckets;
+
+    private final boolean backfillOnStartup;
+
+    public ReportRollupService(ReportRollupPort reportRollupPort,
+                               CustomMessageResolver customMessageResolver,
+                               @Value("${banking.report.rollups.max-buckets:744}") int maxBuckets,
+                               @Value("${banking.report.rollups.backfill-on-startup:false}") boolean backfillOnStartup) {
+        this.reportRollupPort = reportRollupPort;
+        this.customMessageResolver = customMessageResolver;
+        this.maxBuckets = maxBuckets;
+        this.backfillOnStartup = backfillOnStartup;
+    }
+
+    @Override
+    public ReportRangeDTO bankReport(Instant from, Instant to, String granularity) {
+        var bucketSize = parseGranularity(granularity);
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new BadRequest(customMessageResolver.getMessage(Code.REPORT_INVALID_RANGE));
+        }
+
+        var start = bucketSize.truncate(from);
+        var bucketMillis = bucketSize.length().toMillis();
+        if ((Duration.between(start, to).toMillis() + bucketMillis - 1) / bucketMillis > maxBuckets) {
+            throw new BadRequest(customMessageResolver.getMessage(Code.REPORT_RANGE_TOO_LARGE));
+        }
+
+        var report = new ReportRangeDTO();
+        report.setFrom(start);
+        report.setTo(to);
+        report.setGranularity(bucketSize.name());
+        report.setTotalAmountMoved(BigDecimal.ZERO);
+        report.setBuckets(new ArrayList<>());
+
+        for (ReportBucket bucket : reportRollupPort.findBuckets(bucketSize, start, to)) {
+            var amountMoved = bucket.getTotalAmountMoved() == null ? BigDecimal.ZERO : bucket.getTotalAmountMoved();
+
+            var item = new ReportBucketDTO();
+            item.setStart(bucket.getStart());
+            item.setTotalTransactions(bucket.totalTransactions());
+            item.setTotalTransactionsApproved(bucket.getApprovedTransactions());
+            item.setTotalTransactionsReversed(bucket.getReversedTransactions());
+            item.setTotalTransactionsPending(bucket.getPendingTransactions());
+            item.setTotalTransactionsRejected(bucket.getRejectedTransactions());
+            item.setTotalAmountMoved(amountMoved);
+            report.getBuckets().add(item);
+
+            report.setTotalTransactions(report.getTotalTransactions() + bucket.totalTransactions());
+            report.setTotalTransactionsApproved(report.getTotalTransactionsApproved() + bucket.getApprovedTransactions());
+            report.setTotalTransactionsReversed(report.getTotalTransactionsReversed() + bucket.getReversedTransactions());
+            report.setTotalTransactionsPending(report.getTotalTransactionsPending() + bucket.getPendingTransactions());
+            report.setTotalTransactionsRejected(report.getTotalTransactionsRejected() + bucket.getRejectedTransactions());
+            report.setTotalAmountMoved(report.getTotalAmountMoved().add(amountMoved));
+        }
+
+        return report;
+    }
+
+    @Override
+    public int backfill() {
+        var before = ReportBucket.Granularity.DAY.truncate(Instant.now());
+        int buckets = reportRollupPort.rebuild(before);
+
+        logger.info("Report rollups rebuilt up to " + before + ", " + buckets + " buckets written");
+        return buckets;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!backfillOnStartup) return;
+
+        var worker = new Thread(() -> {
+            try {
+                backfill();
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Report rollup backfill failed", e);
+            }
+        }, "report-rollup-backfill");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private ReportBucket.Granularity parseGranularity(String granularity) {
+        try {
+            return ReportBucket.Granularity.valueOf(granularity.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new BadRequest(customMessageResolver.getMessage(Code.REPORT_INVALID_RANGE));
+        }
+    }
+}
@@ -1,24 +1,39 @@
 package com.bruno.sistemabancario.application.service;
 
+import com.bruno.sistemabancario.adapter.dtos.request.BulkReversalDTO;
 import com.bruno.sistemabancario.adapter.dtos.request.TransactionDTO;
+import com.bruno.sistemabancario.adapter.dtos.response.TransactionResultDTO;
 import com.bruno.sistemabancario.adapter.dtos.response.TransactionsUserDTO;
 import com.bruno.sistemabancario.application.ports.input.TransferUseCase;
 import com.bruno.sistemabancario.application.ports.output.BankAccountRepositoryPort;
 import com.bruno.sistemabancario.application.ports.output.TransactionRepositoryPort;
 import com.bruno.sistemabancario.domain.exceptions.BadRequest;
 import com.bruno.sistemabancario.domain.exceptions.ResourceNotFoundException;
+import com.bruno.sistemabancario.domain.model.CursorPage;
+import com.bruno.sistemabancario.domain.model.LedgerEntry;
+import com.bruno.sistemabancario.domain.model.Money;
 import com.bruno.sistemabancario.domain.model.Transaction;
+import com.bruno.sistemabancario.domain.model.TransactionCursor;
 import com.bruno.sistemabancario.domain.utils.Code;
 import com.bruno.sistemabancario.domain.utils.CustomMessageResolver;
 import com.bruno.sistemabancario.infrastructure.mapper.DozerMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 @Service
 public class TransferService implements TransferUseCase {
@@ -35,55 +50,155 @@ public class TransferService implements TransferUseCase {
     @Autowired
     private MongoTemplate mongoTemplate;
 
+    @Autowired
+    private AccountLockManager accountLockManager;
+
+    @Autowired
+    private LedgerRecorder ledgerRecorder;
+
+    @Autowired
+    private TransferValidator transferValidator;
+
+    @Autowired
+    private BulkReversalSelector bulkReversalSelector;
+
     @Override
     public String moneyTransaction(TransactionDTO request) {
 
-        if (request.getValue() == null || request.getValue().compareTo(BigDecimal.ZERO) <= 0) {
-            throw new BadRequest(customMessageResolver.getMessage(Code.INVALID_TRANSACTION_VALUE));
-        }
+        transferValidator.validate(request);
+        transferValidator.rejectUnknownAccounts(request);
+
+        return accountLockManager.withAccounts(request.getSourceAccount(), request.getDestinationAccount(), () -> {
+            transferFunds(request.getSourceAccount(), request.getDestinationAccount(), request.getValue());
+
+            var saved = transactionRepositoryPort.save(approvedTransaction(request));
+            ledgerRecorder.record(LedgerEntry.forTransfer(saved));
+
+            return customMessageResolver.getMessage(Code.TRANSACTION_APPROVED_SUCCESS);
+        });
+    }
+
+    @Override
+    public Transaction settlePendingTransaction(Transaction pending) {
+        return accountLockManager.withAccounts(pending.getSourceAccount(), pending.getDestinationAccount(), () -> {
+            try {
+                transferFunds(pending.getSourceAccount(), pending.getDestinationAccount(), pending.getValue());
+                pending.setStatus("APPROVED");
+            } catch (BadRequest | ResourceNotFoundException e) {
+                pending.setStatus("REJECTED");
+            }
+
+            var saved = transactionRepositoryPort.save(pending);
+            if ("APPROVED".equals(saved.getStatus())) {
+                ledgerRecorder.record(LedgerEntry.forTransfer(saved));
+            }
+
+            return saved;
+        });
+    }
 
-        if (request.getSourceAccount() == null || request.getDestinationAccount() == null) {
-            throw new BadRequest(customMessageResolver.getMessage(Code.INVALID_ACCOUNT_NUMBER));
+    @Override
+    public List<TransactionResultDTO> batchMoneyTransaction(List<TransactionDTO> requests) {
+        transferValidator.validateBatchSize(requests);
+
+        List<TransactionResultDTO> results = new ArrayList<>(requests.size());
+        Set<String> accountNumbers = new HashSet<>();
+
+        for (TransactionDTO request : requests) {
+            var result = new TransactionResultDTO();
+            result.setSourceAccount(request.getSourceAccount());
+            result.setDestinationAccount(request.getDestinationAccount());
+            result.setValue(request.getValue());
+            results.add(result);
+
+            try {
+                transferValidator.validate(request);
+                accountNumbers.add(request.getSourceAccount());
+                accountNumbers.add(request.getDestinationAccount());
+            } catch (BadRequest e) {
+                reject(result, e.getMessage());
+            }
         }
 
-        if (request.getSourceAccount().equals(request.getDestinationAccount())) {
-            throw new BadRequest(customMessageResolver.getMessage(Code.SOURCE_AND_DESTINATION_SAME));
+        if (accountNumbers.isEmpty()) {
+            return results;
         }
 
-        var source = bankAccountRepositoryPort.findByAccountNumber(request.getSourceAccount())
-                .orElseThrow(() -> new ResourceNotFoundException(customMessageResolver.getMessage(Code.ACCOUNT_NOT_FOUND)));
+        accountLockManager.withAccounts(accountNumbers, () -> {
+            transferAll(requests, results, accountNumbers);
+            return null;
+        });
 
-        var destination = bankAccountRepositoryPort.findByAccountNumber(request.getDestinationAccount())
-                .orElseThrow(() -> new ResourceNotFoundException(customMessageResolver.getMessage(Code.ACCOUNT_NOT_FOUND)));
+        return results;
+    }
 
-        if (source.getBalance().compareTo(request.getValue()) < 0) {
-            throw  new BadRequest(customMessageResolver.getMessage(Code.INSUFFICIENT_BALANCE));
+    private void transferAll(List<TransactionDTO> requests, List<TransactionResultDTO> results, Set<String> accountNumbers) {
+        Map<String, Money> available = new HashMap<>();
+        bankAccountRepositoryPort.findAllByAccountNumberIn(accountNumbers)
+                .forEach(account -> available.put(account.getAccountNumber(), Money.ofBalance(bankAccountRepositoryPort.totalBalance(account))));
+
+        Map<String, Money> debits = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            var request = requests.get(i);
+            var result = results.get(i);
+
+            if (result.getStatus() != null) continue;
+
+            var value = Money.of(request.getValue());
+            if (!available.containsKey(request.getSourceAccount()) || !available.containsKey(request.getDestinationAccount())) {
+                reject(result, customMessageResolver.getMessage(Code.ACCOUNT_NOT_FOUND));
+            } else if (available.get(request.getSourceAccount()).isLessThan(value)) {
+                reject(result, customMessageResolver.getMessage(Code.INSUFFICIENT_BALANCE));
+            } else {
+                available.merge(request.getSourceAccount(), value.negate(), Money::plus);
+                debits.merge(request.getSourceAccount(), value, Money::plus);
+            }
         }
 
-        var transaction = DozerMapper.parseObject(request, Transaction.class);
-        transaction.setSourceAccount(request.getSourceAccount());
-        transaction.setDestinationAccount(request.getDestinationAccount());
-        transaction.setValue(request.getValue());
-        transaction.setTransactionDate(LocalDate.now());
-        transaction.setStatus("APPROVED");
+        Set<String> failedDebits = new HashSet<>();
+        debits.forEach((accountNumber, total) -> {
+            if (!bankAccountRepositoryPort.debit(accountNumber, total.toBigDecimal())) failedDebits.add(accountNumber);
+        });
+
+        Map<String, Money> credits = new HashMap<>();
+        List<Transaction> transactions = new ArrayList<>();
+        List<TransactionResultDTO> approved = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            var request = requests.get(i);
+            var result = results.get(i);
 
-        transactionRepositoryPort.save(transaction);
+            if (result.getStatus() != null) continue;
 
-        source.setBalance(source.getBalance().subtract(request.getValue()));
+            if (failedDebits.contains(request.getSourceAccount())) {
+                reject(result, customMessageResolver.getMessage(Code.INSUFFICIENT_BALANCE));
+                continue;
+            }
 
-        bankAccountRepositoryPort.save(source);
+            credits.merge(request.getDestinationAccount(), Money.of(request.getValue()), Money::plus);
+            transactions.add(approvedTransaction(request));
+            approved.add(result);
+        }
 
-        destination.setBalance(destination.getBalance().add(request.getValue()));
+        if (!transactions.isEmpty()) {
+            bankAccountRepositoryPort.applyBalanceDeltas(toAmounts(credits));
+            var saved = transactionRepositoryPort.saveAll(transactions);
 
-        bankAccountRepositoryPort.save(destination);
+            List<LedgerEntry> entries = new ArrayList<>(saved.size() * 2);
+            saved.forEach(transaction -> entries.addAll(LedgerEntry.forTransfer(transaction)));
+            ledgerRecorder.record(entries);
 
-        return customMessageResolver.getMessage(Code.TRANSACTION_APPROVED_SUCCESS);
+            var message = customMessageResolver.getMessage(Code.TRANSACTION_APPROVED_SUCCESS);
+            for (int i = 0; i < approved.size(); i++) {
+                approved.get(i).setTransactionId(saved.get(i).getId());
+                approved.get(i).setStatus("APPROVED");
+                approved.get(i).setMessage(message);
+            }
+        }
     }
 
     @Override
     public Page<TransactionsUserDTO> listOfTransactionsSpecificAccount(String accountNumber, Pageable pageable) {
-        var account = bankAccountRepositoryPort.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new ResourceNotFoundException(customMessageResolver.getMessage(Code.NUMBER_ACCOUNT_NOT_FOUND)));
+        requireAccount(accountNumber);
 
         Page<Transaction> list = transactionRepositoryPort.findAllByAccountNumber(accountNumber, pageable);
 
@@ -97,36 +212,242 @@ public class TransferService implements TransferUseCase {
         }
     }
 
+    @Override
+    public Slice<TransactionsUserDTO> listOfTransactionsSlice(String accountNumber, Pageable pageable) {
+        requireAccount(accountNumber);
+
+        return transactionRepositoryPort.findSliceByAccountNumber(accountNumber, pageable)
+                .map(transaction -> DozerMapper.parseObject(transaction, TransactionsUserDTO.class));
+    }
+
+    @Override
+    public long approximateTransactionCount(String accountNumber) {
+        return transactionRepositoryPort.approximateCountByAccountNumber(accountNumber);
+    }
+
+    @Override
+    public CursorPage<TransactionsUserDTO> listOfTransactionsAfterCursor(String accountNumber, String cursor, int size) {
+        TransactionCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            after = TransactionCursor.decode(cursor)
+                    .orElseThrow(() -> new BadRequest(customMessageResolver.getMessage(Code.INVALID_PAGE_CURSOR)));
+        }
+
+        requireAccount(accountNumber);
+
+        int limit = Math.max(size, 1);
+        var transactions = transactionRepositoryPort.findAllByAccountNumberAfter(accountNumber, after, limit + 1);
+
+        String nextCursor = null;
+        if (transactions.size() > limit) {
+            transactions = transactions.subList(0, limit);
+            nextCursor = TransactionCursor.after(transactions.get(limit - 1)).encode();
+        }
+
+        return new CursorPage<>(transactions, limit, nextCursor)
+                .map(transaction -> DozerMapper.parseObject(transaction, TransactionsUserDTO.class));
+    }
+
     @Override
     public String transactionReversal(String id) {
-        var transaction = transactionRepositoryPort.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(customMessageResolver.getMessage(Code.TRANSACTION_NOT_FOUND)));
+        var transaction = transactionRepositoryPort.compareAndSetStatus(id, "APPROVED", "REVERSED")
+                .orElseThrow(() -> reversalRejected(id));
+
+        return accountLockManager.withAccounts(transaction.getSourceAccount(), transaction.getDestinationAccount(), () -> {
+            try {
+                reverseFunds(transaction.getSourceAccount(), transaction.getDestinationAccount(), transaction.getValue());
+            } catch (BadRequest | ResourceNotFoundException e) {
+                transactionRepositoryPort.compareAndSetStatus(id, "REVERSED", "APPROVED");
+                throw e;
+            }
 
-        if (transaction.getStatus().contains("APPROVED")) {
-            var accountSource = bankAccountRepositoryPort.findByAccountNumber(transaction.getSourceAccount())
-                    .orElseThrow(() -> new ResourceNotFoundException(customMessageResolver.getMessage(Code.ACCOUNT_NOT_FOUND)));
+            ledgerRecorder.record(LedgerEntry.forReversal(transaction));
 
-            var accountDestination = bankAccountRepositoryPort.findByAccountNumber(transaction.getDestinationAccount())
-                    .orElseThrow(() -> new ResourceNotFoundException(customMessageResolver.getMessage(Code.ACCOUNT_NOT_FOUND)));
+            return customMessageResolver.getMessage(Code.TRANSACTION_REVERSED_SUCCESS);
+        });
+    }
 
-            if (accountDestination.getBalance().compareTo(transaction.getValue()) > 0) {
+    @Override
+    public List<TransactionResultDTO> bulkTransactionReversal(BulkReversalDTO request) {
+        Map<String, TransactionResultDTO> results = new LinkedHashMap<>();
+        List<Transaction> candidates = new ArrayList<>();
 
-                accountSource.setBalance(accountSource.getBalance().add(transaction.getValue()));
-                bankAccountRepositoryPort.save(accountSource);
+        for (Transaction transaction : bulkReversalSelector.select(request, results)) {
+            if (transaction.getStatus().contains("APPROVED")) {
+                candidates.add(transaction);
+            } else {
+                reject(results.get(transaction.getId()), customMessageResolver.getMessage(Code.TRANSACTION_NOT_APPROVED));
+            }
+        }
+
+        if (candidates.isEmpty()) {
+            return new ArrayList<>(results.values());
+        }
 
-                accountDestination.setBalance(accountDestination.getBalance().subtract(transaction.getValue()));
-                bankAccountRepositoryPort.save(accountDestination);
+        Set<String> accountNumbers = new HashSet<>();
+        candidates.forEach(transaction -> {
+            accountNumbers.add(transaction.getSourceAccount());
+            accountNumbers.add(transaction.getDestinationAccount());
+        });
 
-                transaction.setStatus("REVERSED");
-                transactionRepositoryPort.save(transaction);
+        accountLockManager.withAccounts(accountNumbers, () -> {
+            reverseAll(candidates, accountNumbers, results);
+            return null;
+        });
 
-                return customMessageResolver.getMessage(Code.TRANSACTION_REVERSED_SUCCESS);
+        return new ArrayList<>(results.values());
+    }
+
+    private void reverseAll(List<Transaction> candidates, Set<String> accountNumbers, Map<String, TransactionResultDTO> results) {
+        var reversalBatch = UUID.randomUUID().toString();
+        var claimed = transactionRepositoryPort.claimForReversal(
+                candidates.stream().map(Transaction::getId).toList(), reversalBatch);
+
+        Map<String, Money> available = new HashMap<>();
+        bankAccountRepositoryPort.findAllByAccountNumberIn(accountNumbers)
+                .forEach(account -> available.put(account.getAccountNumber(), Money.ofBalance(bankAccountRepositoryPort.totalBalance(account))));
+
+        List<Transaction> accepted = new ArrayList<>();
+        for (Transaction transaction : candidates) {
+            var result = results.get(transaction.getId());
+            var source = transaction.getSourceAccount();
+            var destination = transaction.getDestinationAccount();
+            var value = Money.of(transaction.getValue());
+
+            if (!claimed.contains(transaction.getId())) {
+                reject(result, customMessageResolver.getMessage(Code.TRANSACTION_NOT_APPROVED));
+            } else if (!available.containsKey(source) || !available.containsKey(destination)) {
+                reject(result, customMessageResolver.getMessage(Code.ACCOUNT_NOT_FOUND));
+            } else if (available.get(destination).isLessThan(value)) {
+                reject(result, customMessageResolver.getMessage(Code.DESTINATION_ACCOUNT_INSUFFICIENT_BALANCE));
             } else {
-                throw  new BadRequest(customMessageResolver.getMessage(Code.DESTINATION_ACCOUNT_INSUFFICIENT_BALANCE));
+                available.merge(destination, value.negate(), Money::plus);
+                available.merge(source, value, Money::plus);
+                accepted.add(transaction);
             }
+        }
 
-        } else {
-            throw new BadRequest(customMessageResolver.getMessage(Code.TRANSACTION_NOT_APPROVED));
+        applyReversalDeltas(accepted, results);
+
+        Set<String> reversed = new HashSet<>();
+        accepted.forEach(transaction -> reversed.add(transaction.getId()));
+        transactionRepositoryPort.releaseReversal(
+                claimed.stream().filter(id -> !reversed.contains(id)).toList(), reversalBatch);
+        transactionRepositoryPort.completeReversal(reversed, reversalBatch);
+
+        List<LedgerEntry> entries = new ArrayList<>(accepted.size() * 2);
+        var message = customMessageResolver.getMessage(Code.TRANSACTION_REVERSED_SUCCESS);
+        for (Transaction transaction : accepted) {
+            entries.addAll(LedgerEntry.forReversal(transaction));
+            results.get(transaction.getId()).setStatus("REVERSED");
+            results.get(transaction.getId()).setMessage(message);
+        }
+        ledgerRecorder.record(entries);
+    }
+
+    private void applyReversalDeltas(List<Transaction> accepted, Map<String, TransactionResultDTO> results) {
+        while (!accepted.isEmpty()) {
+            Map<String, Money> deltas = new HashMap<>();
+            for (Transaction transaction : accepted) {
+                var value = Money.of(transaction.getValue());
+                deltas.merge(transaction.getDestinationAccount(), value.negate(), Money::plus);
+                deltas.merge(transaction.getSourceAccount(), value, Money::plus);
+            }
+
+            Map<String, Money> debited = new HashMap<>();
+            String failed = null;
+            for (var delta : deltas.entrySet()) {
+                if (delta.getValue().signum() >= 0) continue;
+
+                if (!bankAccountRepositoryPort.debit(delta.getKey(), delta.getValue().negate().toBigDecimal())) {
+                    failed = delta.getKey();
+                    break;
+                }
+                debited.put(delta.getKey(), delta.getValue().negate());
+            }
+
+            if (failed == null) {
+                deltas.values().removeIf(delta -> delta.signum() <= 0);
+                bankAccountRepositoryPort.applyBalanceDeltas(toAmounts(deltas));
+                return;
+            }
+
+            bankAccountRepositoryPort.applyBalanceDeltas(toAmounts(debited));
+
+            var insufficient = failed;
+            accepted.removeIf(transaction -> {
+                if (!transaction.getDestinationAccount().equals(insufficient)) return false;
+
+                reject(results.get(transaction.getId()), customMessageResolver.getMessage(Code.DESTINATION_ACCOUNT_INSUFFICIENT_BALANCE));
+                return true;
+            });
         }
     }
+
+    private RuntimeException reversalRejected(String id) {
+        if (transactionRepositoryPort.findById(id).isEmpty()) {
+            return new ResourceNotFoundException(customMessageResolver.getMessage(Code.TRANSACTION_NOT_FOUND));
+        }
+
+        return new BadRequest(customMessageResolver.getMessage(Code.TRANSACTION_NOT_APPROVED));
+    }
+
+    private void reverseFunds(String sourceAccount, String destinationAccount, BigDecimal value) {
+        if (!bankAccountRepositoryPort.debit(destinationAccount, value)) {
+            if (!bankAccountRepositoryPort.existsByAccountNumber(destinationAccount)) {
+                throw new ResourceNotFoundException(customMessageResolver.getMessage(Code.ACCOUNT_NOT_FOUND));
+            }
+
+            throw new BadRequest(customMessageResolver.getMessage(Code.DESTINATION_ACCOUNT_INSUFFICIENT_BALANCE));
+        }
+
+        if (!bankAccountRepositoryPort.credit(sourceAccount, value)) {
+            bankAccountRepositoryPort.credit(destinationAccount, value);
+
+            throw new ResourceNotFoundException(customMessageResolver.getMessage(Code.ACCOUNT_NOT_FOUND));
+        }
+    }
+
+    private void transferFunds(String sourceAccount, String destinationAccount, BigDecimal value) {
+        if (!bankAccountRepositoryPort.debit(sourceAccount, value)) {
+            if (!bankAccountRepositoryPort.existsByAccountNumber(sourceAccount)) {
+                throw new ResourceNotFoundException(customMessageResolver.getMessage(Code.ACCOUNT_NOT_FOUND));
+            }
+
+            throw  new BadRequest(customMessageResolver.getMessage(Code.INSUFFICIENT_BALANCE));
+        }
+
+        if (!bankAccountRepositoryPort.credit(destinationAccount, value)) {
+            bankAccountRepositoryPort.credit(sourceAccount, value);
+
+            throw new ResourceNotFoundException(customMessageResolver.getMessage(Code.ACCOUNT_NOT_FOUND));
+        }
+    }
+
+    private Transaction approvedTransaction(TransactionDTO request) {
+        var transaction = DozerMapper.parseObject(request, Transaction.class);
+        transaction.setSourceAccount(request.getSourceAccount());
+        transaction.setDestinationAccount(request.getDestinationAccount());
+        transaction.setValue(request.getValue());
+        transaction.setTransactionDate(LocalDate.now());
+        transaction.setStatus("APPROVED");
+        return transaction;
+    }
+
+    private Map<String, BigDecimal> toAmounts(Map<String, Money> deltas) {
+        Map<String, BigDecimal> amounts = new HashMap<>(deltas.size() * 2);
+        deltas.forEach((accountNumber, delta) -> amounts.put(accountNumber, delta.toBigDecimal()));
+        return amounts;
+    }
+
+    private void requireAccount(String accountNumber) {
+        if (!transferValidator.isAcceptable(accountNumber) || !bankAccountRepositoryPort.existsByAccountNumber(accountNumber)) {
+            throw new ResourceNotFoundException(customMessageResolver.getMessage(Code.NUMBER_ACCOUNT_NOT_FOUND));
+        }
+    }
+
+    private void reject(TransactionResultDTO result, String message) {
+        result.setStatus("REJECTED");
+        result.setMessage(message);
+    }
 }
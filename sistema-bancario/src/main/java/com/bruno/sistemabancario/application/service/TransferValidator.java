@@ -0,0 +1,78 @@
+package com.bruno.sistemabancario.application.service;
+
+import com.bruno.sistemabancario.adapter.dtos.request.TransactionDTO;
+import com.bruno.sistemabancario.domain.exceptions.BadRequest;
+import com.bruno.sistemabancario.domain.exceptions.ResourceNotFoundException;
+import com.bruno.sistemabancario.domain.model.Money;
+import com.bruno.sistemabancario.domain.utils.AccountNumbers;
+import com.bruno.sistemabancario.domain.utils.Code;
+import com.bruno.sistemabancario.domain.utils.CustomMessageResolver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Checks a transfer request before any engine touches balances, so the Mongo, ledger and async paths
+ * reject the same requests with the same messages.
+ */
+@Component
+public class TransferValidator {
+
+    @Autowired
+    private CustomMessageResolver customMessageResolver;
+
+    @Autowired
+    private AccountNumberFilter accountNumberFilter;
+
+    @Value("${banking.transfer.batch.max-size:1000}")
+    private int batchMaxSize = 1000;
+
+    @Value("${banking.account-number.first:1000000}")
+    private long firstAccountNumber = 1000000;
+
+    public void validate(TransactionDTO request) {
+        if (request.getValue() == null || request.getValue().compareTo(BigDecimal.ZERO) <= 0 || !isMoney(request.getValue())) {
+            throw new BadRequest(customMessageResolver.getMessage(Code.INVALID_TRANSACTION_VALUE));
+        }
+
+        if (request.getSourceAccount() == null || request.getDestinationAccount() == null) {
+            throw new BadRequest(customMessageResolver.getMessage(Code.INVALID_ACCOUNT_NUMBER));
+        }
+
+        if (!isAcceptable(request.getSourceAccount()) || !isAcceptable(request.getDestinationAccount())) {
+            throw new BadRequest(customMessageResolver.getMessage(Code.INVALID_ACCOUNT_NUMBER));
+        }
+
+        if (request.getSourceAccount().equals(request.getDestinationAccount())) {
+            throw new BadRequest(customMessageResolver.getMessage(Code.SOURCE_AND_DESTINATION_SAME));
+        }
+    }
+
+    public void validateBatchSize(List<TransactionDTO> requests) {
+        if (requests.size() > batchMaxSize) {
+            throw new BadRequest(customMessageResolver.getMessage(Code.BATCH_TRANSFER_TOO_LARGE));
+        }
+    }
+
+    public boolean isAcceptable(String accountNumber) {
+        return AccountNumbers.isAcceptable(accountNumber, firstAccountNumber);
+    }
+
+    public void rejectUnknownAccounts(TransactionDTO request) {
+        if (!accountNumberFilter.mightExist(request.getSourceAccount()) || !accountNumberFilter.mightExist(request.getDestinationAccount())) {
+            throw new ResourceNotFoundException(customMessageResolver.getMessage(Code.ACCOUNT_NOT_FOUND));
+        }
+    }
+
+    private boolean isMoney(BigDecimal value) {
+        try {
+            Money.of(value);
+            return true;
+        } catch (ArithmeticException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,552 @@
+package com.bruno.sistemabancario.application.service.ledger;
+
+import com.bruno.sistemabancario.application.ports.output.BankAccountRepositoryPort;
+import com.bruno.sistemabancario.application.ports.output.TransactionRepositoryPort;
+import com.bruno.sistemabancario.application.ports.output.TransferJournalPort;
+import com.bruno.sistemabancario.application.service.LedgerRecorder;
+import com.bruno.sistemabancario.domain.model.LedgerEntry;
+import com.bruno.sistemabancario.domain.model.Money;
+import com.bruno.sistemabancario.domain.model.Transaction;
+import com.bruno.sistemabancario.domain.utils.Code;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Each account is owned by one single-threaded shard, so balances are never shared between threads.
+ * The source shard debits and hands the credit to the destination shard; writes reach Mongo in batches.
+ * With the transfer journal enabled, a transfer completes only once its journal record is on disk, and
+ * flushes checkpoint the journal so a restart replays just the records Mongo has not seen.
+ * A cached balance includes the account's balance slots and is reloaded once it has been idle and every change
+ * made through it has been flushed, so changes written by other instances or tools are eventually picked up.
+ * Ledger entries are appended after the balances they describe; an append that fails is kept and retried on the
+ * next flush, which is safe because entries already in the ledger are skipped.
+ * A transfer is queued for Mongo only once its journal record is acknowledged; if the append fails, both cached
+ * balances are put back and nothing of the transfer is flushed.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.transfer.engine", havingValue = "ledger")
+public class LedgerEngine {
+
+    private static final Logger logger = Logger.getLogger(LedgerEngine.class.getName());
+
+    private final BankAccountRepositoryPort bankAccountRepositoryPort;
+    private final TransactionRepositoryPort transactionRepositoryPort;
+    private final LedgerRecorder ledgerRecorder;
+    private final TransferJournalPort journal;
+    private final int batchSize;
+    private final long balanceIdleNanos;
+
+    private final Shard[] shards;
+    private final ScheduledExecutorService flusher;
+
+    private final Map<String, Money> pendingDeltas = new ConcurrentHashMap<>();
+    private final Queue<Transaction> pendingTransactions = new ConcurrentLinkedQueue<>();
+    private final Queue<Transaction> pendingReversals = new ConcurrentLinkedQueue<>();
+    private final Set<String> reversalsInFlight = ConcurrentHashMap.newKeySet();
+    private final Set<CompletableFuture<Void>> appendsInFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicLong tasksInFlight = new AtomicLong();
+    private final AtomicLong flushesCompleted = new AtomicLong();
+    private final ReadWriteLock journalLock = new ReentrantReadWriteLock();
+    private final Deque<JournalBatch> failedBatches = new ConcurrentLinkedDeque<>();
+    private final Queue<List<LedgerEntry>> failedAppends = new ConcurrentLinkedQueue<>();
+
+    private long lastAppliedSequence;
+
+    public LedgerEngine(BankAccountRepositoryPort bankAccountRepositoryPort,
+                        TransactionRepositoryPort transactionRepositoryPort,
+                        LedgerRecorder ledgerRecorder,
+                        Optional<TransferJournalPort> journal,
+                        @Value("${banking.ledger.shards:4}") int shardCount,
+                        @Value("${banking.ledger.flush-interval-ms:50}") long flushIntervalMs,
+                        @Value("${banking.ledger.batch-size:500}") int batchSize,
+                        @Value("${banking.ledger.balance-idle-ms:5000}") long balanceIdleMs) {
+        this.bankAccountRepositoryPort = bankAccountRepositoryPort;
+        this.transactionRepositoryPort = transactionRepositoryPort;
+        this.ledgerRecorder = ledgerRecorder;
+        this.journal = journal.orElse(null);
+        this.batchSize = batchSize;
+        this.balanceIdleNanos = TimeUnit.MILLISECONDS.toNanos(balanceIdleMs);
+
+        if (this.journal != null) {
+            replayJournal();
+        }
+
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i);
+        }
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "ledger-flusher"));
+        this.flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public CompletableFuture<Code> transfer(String sourceAccount, String destinationAccount, BigDecimal value) {
+        var transaction = new Transaction();
+        transaction.setSourceAccount(sourceAccount);
+        transaction.setDestinationAccount(destinationAccount);
+        transaction.setValue(value);
+        transaction.setTransactionDate(LocalDate.now());
+
+        return transfer(transaction);
+    }
+
+    public CompletableFuture<Code> transfer(Transaction transaction) {
+        var result = new CompletableFuture<Code>();
+        var sourceAccount = transaction.getSourceAccount();
+        var destinationAccount = transaction.getDestinationAccount();
+        var value = Money.of(transaction.getValue());
+
+        shardFor(sourceAccount).submit(result, source -> {
+            var balance = source.balance(sourceAccount);
+
+            if (balance == null) {
+                result.complete(Code.ACCOUNT_NOT_FOUND);
+                return;
+            }
+
+            if (balance.isLessThan(value)) {
+                result.complete(Code.INSUFFICIENT_BALANCE);
+                return;
+            }
+
+            source.adjust(sourceAccount, value.negate());
+
+            shardFor(destinationAccount).submit(result, destination -> {
+                if (destination.balance(destinationAccount) == null) {
+                    shardFor(sourceAccount).submit(result, refund -> refund.adjust(sourceAccount, value));
+                    result.complete(Code.ACCOUNT_NOT_FOUND);
+                    return;
+                }
+
+                destination.adjust(destinationAccount, value);
+
+                if (journal != null && transaction.getId() == null) {
+                    transaction.setId(new ObjectId().toHexString());
+                }
+                transaction.setStatus("APPROVED");
+
+                record(result, Code.TRANSACTION_APPROVED_SUCCESS, transaction, sourceAccount, destinationAccount, value,
+                        pendingTransactions);
+            });
+        });
+
+        return result;
+    }
+
+    /**
+     * Moves the funds back for a transaction the caller has already claimed as REVERSED in the database.
+     * Like the Mongo path, the destination needs at least the transfer value, so a reversal may leave it at zero.
+     */
+    public CompletableFuture<Code> reverse(Transaction transaction) {
+        var result = new CompletableFuture<Code>();
+        var sourceAccount = transaction.getSourceAccount();
+        var destinationAccount = transaction.getDestinationAccount();
+        var value = Money.of(transaction.getValue());
+
+        shardFor(destinationAccount).submit(result, destination -> {
+            if (!reversalsInFlight.add(transaction.getId())) {
+                result.complete(Code.TRANSACTION_NOT_APPROVED);
+                return;
+            }
+
+            var balance = destination.balance(destinationAccount);
+
+            if (balance == null || balance.isLessThan(value)) {
+                reversalsInFlight.remove(transaction.getId());
+                result.complete(balance == null ? Code.ACCOUNT_NOT_FOUND : Code.DESTINATION_ACCOUNT_INSUFFICIENT_BALANCE);
+                return;
+            }
+
+            destination.adjust(destinationAccount, value.negate());
+
+            shardFor(sourceAccount).submit(result, source -> {
+                if (source.balance(sourceAccount) == null) {
+                    shardFor(destinationAccount).submit(result, refund -> refund.adjust(destinationAccount, value));
+                    reversalsInFlight.remove(transaction.getId());
+                    result.complete(Code.ACCOUNT_NOT_FOUND);
+                    return;
+                }
+
+                source.adjust(sourceAccount, value);
+
+                transaction.setStatus("REVERSED");
+
+                record(result, Code.TRANSACTION_REVERSED_SUCCESS, transaction, destinationAccount, sourceAccount, value,
+                        pendingReversals);
+            });
+        });
+
+        return result;
+    }
+
+    public synchronized void flush() {
+        if (journal != null) {
+            flushJournaled();
+            return;
+        }
+
+        while (!failedAppends.isEmpty()) {
+            ledgerRecorder.record(failedAppends.peek());
+            failedAppends.poll();
+        }
+
+        var deltas = drainDeltas();
+
+        try {
+            bankAccountRepositoryPort.applyBalanceDeltas(deltas);
+        } catch (RuntimeException e) {
+            deltas.forEach((accountNumber, delta) -> pendingDeltas.merge(accountNumber, Money.of(delta), Money::plus));
+            throw e;
+        }
+
+        for (var batch = drain(pendingTransactions); !batch.isEmpty(); batch = drain(pendingTransactions)) {
+            List<Transaction> saved;
+            try {
+                saved = transactionRepositoryPort.saveAll(batch);
+            } catch (RuntimeException e) {
+                pendingTransactions.addAll(batch);
+                throw e;
+            }
+            appendOrDefer(saved, false);
+        }
+
+        for (var batch = drain(pendingReversals); !batch.isEmpty(); batch = drain(pendingReversals)) {
+            try {
+                transactionRepositoryPort.saveAll(batch);
+            } catch (RuntimeException e) {
+                pendingReversals.addAll(batch);
+                throw e;
+            }
+            batch.forEach(transaction -> reversalsInFlight.remove(transaction.getId()));
+            appendOrDefer(batch, true);
+        }
+
+        flushesCompleted.incrementAndGet();
+    }
+
+    private void flushJournaled() {
+        while (!failedBatches.isEmpty()) {
+            applyJournalBatch(failedBatches.peek());
+            failedBatches.poll();
+        }
+
+        JournalBatch batch;
+        journalLock.writeLock().lock();
+        try {
+            var position = journal.tail();
+            if (position.sequence() == lastAppliedSequence) {
+                flushesCompleted.incrementAndGet();
+                return;
+            }
+
+            awaitAppends();
+            batch = new JournalBatch(position, drainDeltas(), drainAll(pendingTransactions), drainAll(pendingReversals));
+        } finally {
+            journalLock.writeLock().unlock();
+        }
+
+        try {
+            applyJournalBatch(batch);
+        } catch (RuntimeException e) {
+            failedBatches.add(batch);
+            throw e;
+        }
+        flushesCompleted.incrementAndGet();
+    }
+
+    private void applyJournalBatch(JournalBatch batch) {
+        bankAccountRepositoryPort.applyJournaledDeltas(batch.deltas(), batch.position().sequence());
+
+        for (int i = 0; i < batch.transactions().size(); i += batchSize) {
+            var chunk = batch.transactions().subList(i, Math.min(i + batchSize, batch.transactions().size()));
+            transactionRepositoryPort.upsertAll(chunk);
+            appendEntries(chunk, false);
+        }
+        for (int i = 0; i < batch.reversals().size(); i += batchSize) {
+            var chunk = batch.reversals().subList(i, Math.min(i + batchSize, batch.reversals().size()));
+            transactionRepositoryPort.upsertAll(chunk);
+            appendEntries(chunk, true);
+        }
+        batch.reversals().forEach(transaction -> reversalsInFlight.remove(transaction.getId()));
+
+        journal.markApplied(batch.position());
+        lastAppliedSequence = batch.position().sequence();
+    }
+
+    private void replayJournal() {
+        var replayed = new AtomicLong();
+
+        journal.replay((transaction, sequence) -> {
+            var reversal = "REVERSED".equals(transaction.getStatus());
+            var debited = reversal ? transaction.getDestinationAccount() : transaction.getSourceAccount();
+            var credited = reversal ? transaction.getSourceAccount() : transaction.getDestinationAccount();
+
+            bankAccountRepositoryPort.applyJournaledDeltas(
+                    Map.of(debited, transaction.getValue().negate(), credited, transaction.getValue()), sequence);
+            transactionRepositoryPort.upsertAll(List.of(transaction));
+            appendEntries(List.of(transaction), reversal);
+            replayed.incrementAndGet();
+        });
+
+        var tail = journal.tail();
+        journal.markApplied(tail);
+        lastAppliedSequence = tail.sequence();
+
+        if (replayed.get() > 0) {
+            logger.info("Replayed " + replayed.get() + " journaled transfers up to sequence " + tail.sequence());
+        }
+    }
+
+    /**
+     * Runs on the credited account's shard once both balances are adjusted. Without a journal the transfer is queued
+     * right away; with one it is queued when the append is acknowledged, and a failed append puts both balances back
+     * before the caller sees the failure.
+     */
+    private void record(CompletableFuture<Code> result, Code code, Transaction transaction, String debitedAccount,
+                        String creditedAccount, Money value, Queue<Transaction> queue) {
+        if (journal == null) {
+            addPending(transaction, debitedAccount, creditedAccount, value, queue);
+            result.complete(code);
+            return;
+        }
+
+        CompletableFuture<Void> appended;
+        tasksInFlight.incrementAndGet();
+        journalLock.readLock().lock();
+        try {
+            appended = append(transaction)
+                    .thenRun(() -> addPending(transaction, debitedAccount, creditedAccount, value, queue));
+            appendsInFlight.add(appended);
+        } finally {
+            journalLock.readLock().unlock();
+        }
+
+        appended.whenComplete((ignored, failure) -> {
+            appendsInFlight.remove(appended);
+            try {
+                if (failure == null) {
+                    result.complete(code);
+                } else {
+                    rollback(result, failure, transaction, debitedAccount, creditedAccount, value, queue);
+                }
+            } finally {
+                tasksInFlight.decrementAndGet();
+            }
+        });
+    }
+
+    private CompletableFuture<Void> append(Transaction transaction) {
+        try {
+            return journal.append(transaction);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void rollback(CompletableFuture<Code> result, Throwable failure, Transaction transaction,
+                          String debitedAccount, String creditedAccount, Money value, Queue<Transaction> queue) {
+        var cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+
+        shardFor(creditedAccount).submit(result, credited -> {
+            credited.adjust(creditedAccount, value.negate());
+            shardFor(debitedAccount).submit(result, debited -> {
+                debited.adjust(debitedAccount, value);
+                if (queue == pendingReversals) {
+                    reversalsInFlight.remove(transaction.getId());
+                }
+                result.completeExceptionally(cause);
+            });
+        });
+    }
+
+    /**
+     * Called under the journal write lock, so no new append can start; waits for the acknowledged ones to reach the
+     * pending queues so that a checkpoint never covers a record that is not part of the batch.
+     */
+    private void awaitAppends() {
+        for (var appended : List.copyOf(appendsInFlight)) {
+            appended.handle((ignored, failure) -> null).join();
+        }
+    }
+
+    private void addPending(Transaction transaction, String debitedAccount, String creditedAccount,
+                            Money value, Queue<Transaction> queue) {
+        pendingDeltas.merge(debitedAccount, value.negate(), Money::plus);
+        pendingDeltas.merge(creditedAccount, value, Money::plus);
+        queue.add(transaction);
+    }
+
+    private Map<String, BigDecimal> drainDeltas() {
+        Map<String, BigDecimal> deltas = new HashMap<>();
+        for (String accountNumber : pendingDeltas.keySet()) {
+            var delta = pendingDeltas.remove(accountNumber);
+            if (delta != null && delta.signum() != 0) {
+                deltas.put(accountNumber, delta.toBigDecimal());
+            }
+        }
+        return deltas;
+    }
+
+    private void appendEntries(List<Transaction> transactions, boolean reversals) {
+        if (transactions == null || transactions.isEmpty()) return;
+
+        ledgerRecorder.record(ledgerEntries(transactions, reversals));
+    }
+
+    private void appendOrDefer(List<Transaction> transactions, boolean reversals) {
+        if (transactions == null || transactions.isEmpty()) return;
+
+        var entries = ledgerEntries(transactions, reversals);
+        try {
+            ledgerRecorder.record(entries);
+        } catch (RuntimeException e) {
+            failedAppends.add(entries);
+            throw e;
+        }
+    }
+
+    private List<LedgerEntry> ledgerEntries(List<Transaction> transactions, boolean reversals) {
+        List<LedgerEntry> entries = new ArrayList<>(transactions.size() * 2);
+        transactions.forEach(transaction -> entries.addAll(reversals
+                ? LedgerEntry.forReversal(transaction)
+                : LedgerEntry.forTransfer(transaction)));
+        return entries;
+    }
+
+    private List<Transaction> drainAll(Queue<Transaction> queue) {
+        List<Transaction> drained = new ArrayList<>();
+        Transaction transaction;
+        while ((transaction = queue.poll()) != null) {
+            drained.add(transaction);
+        }
+        return drained;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (tasksInFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+
+        for (Shard shard : shards) {
+            shard.executor.shutdown();
+        }
+        for (Shard shard : shards) {
+            shard.executor.awaitTermination(30, TimeUnit.SECONDS);
+        }
+
+        flusher.shutdown();
+        flusher.awaitTermination(30, TimeUnit.SECONDS);
+        flush();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Ledger flush failed, pending writes will be retried", e);
+        }
+    }
+
+    private List<Transaction> drain(Queue<Transaction> queue) {
+        List<Transaction> batch = new ArrayList<>();
+        Transaction transaction;
+        while (batch.size() < batchSize && (transaction = queue.poll()) != null) {
+            batch.add(transaction);
+        }
+        return batch;
+    }
+
+    private Shard shardFor(String accountNumber) {
+        return shards[Math.floorMod(accountNumber.hashCode(), shards.length)];
+    }
+
+    private final class Shard {
+
+        private final ExecutorService executor;
+        private final Map<String, CachedBalance> balances = new HashMap<>();
+
+        private Shard(int index) {
+            this.executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "ledger-shard-" + index));
+        }
+
+        private void submit(CompletableFuture<Code> result, Consumer<Shard> task) {
+            tasksInFlight.incrementAndGet();
+            executor.execute(() -> {
+                try {
+                    task.accept(this);
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    tasksInFlight.decrementAndGet();
+                }
+            });
+        }
+
+        private Money balance(String accountNumber) {
+            var cached = balances.get(accountNumber);
+            if (cached != null && !isSettled(accountNumber, cached)) {
+                return cached.balance();
+            }
+
+            var loaded = bankAccountRepositoryPort.findByAccountNumber(accountNumber)
+                    .map(account -> Money.ofBalance(bankAccountRepositoryPort.totalBalance(account)))
+                    .orElse(null);
+            if (loaded == null) {
+                balances.remove(accountNumber);
+            } else {
+                balances.put(accountNumber, new CachedBalance(loaded, System.nanoTime(), flushesCompleted.get()));
+            }
+            return loaded;
+        }
+
+        private void adjust(String accountNumber, Money delta) {
+            var cached = balances.get(accountNumber);
+            balances.put(accountNumber, new CachedBalance(cached.balance().plus(delta), System.nanoTime(), flushesCompleted.get()));
+        }
+
+        private boolean isSettled(String accountNumber, CachedBalance cached) {
+            return System.nanoTime() - cached.touchedAt() > balanceIdleNanos
+                    && flushesCompleted.get() >= cached.flushEpoch() + 2
+                    && !pendingDeltas.containsKey(accountNumber)
+                    && failedBatches.isEmpty();
+        }
+    }
+
+    private record CachedBalance(Money balance, long touchedAt, long flushEpoch) {
+    }
+
+    private record JournalBatch(TransferJournalPort.Position position, Map<String, BigDecimal> deltas,
+                                List<Transaction> transactions, List<Transaction> reversals) {
+    }
+}
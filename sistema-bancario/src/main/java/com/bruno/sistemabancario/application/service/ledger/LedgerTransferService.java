@@ -0,0 +1,217 @@
+package com.bruno.sistemabancario.application.service.ledger;
+
+import com.bruno.sistemabancario.adapter.dtos.request.BulkReversalDTO;
+import com.bruno.sistemabancario.adapter.dtos.request.TransactionDTO;
+import com.bruno.sistemabancario.adapter.dtos.response.TransactionResultDTO;
+import com.bruno.sistemabancario.adapter.dtos.response.TransactionsUserDTO;
+import com.bruno.sistemabancario.application.ports.input.TransferUseCase;
+import com.bruno.sistemabancario.application.ports.output.TransactionRepositoryPort;
+import com.bruno.sistemabancario.application.service.BulkReversalSelector;
+import com.bruno.sistemabancario.application.service.TransferService;
+import com.bruno.sistemabancario.application.service.TransferValidator;
+import com.bruno.sistemabancario.domain.exceptions.BadRequest;
+import com.bruno.sistemabancario.domain.exceptions.ResourceNotFoundException;
+import com.bruno.sistemabancario.domain.model.CursorPage;
+import com.bruno.sistemabancario.domain.model.Transaction;
+import com.bruno.sistemabancario.domain.utils.Code;
+import com.bruno.sistemabancario.domain.utils.CustomMessageResolver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+@Service
+@Primary
+@ConditionalOnProperty(name = "banking.transfer.engine", havingValue = "ledger")
+public class LedgerTransferService implements TransferUseCase {
+
+    @Autowired
+    private LedgerEngine ledgerEngine;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private TransferValidator transferValidator;
+
+    @Autowired
+    private BulkReversalSelector bulkReversalSelector;
+
+    @Autowired
+    private TransactionRepositoryPort transactionRepositoryPort;
+
+    @Autowired
+    private CustomMessageResolver customMessageResolver;
+
+    @Override
+    public String moneyTransaction(TransactionDTO request) {
+
+        transferValidator.validate(request);
+        transferValidator.rejectUnknownAccounts(request);
+
+        return resolve(ledgerEngine.transfer(request.getSourceAccount(), request.getDestinationAccount(), request.getValue()));
+    }
+
+    @Override
+    public List<TransactionResultDTO> batchMoneyTransaction(List<TransactionDTO> requests) {
+        transferValidator.validateBatchSize(requests);
+
+        List<TransactionResultDTO> results = new ArrayList<>(requests.size());
+        List<CompletableFuture<Code>> outcomes = new ArrayList<>(requests.size());
+
+        for (TransactionDTO request : requests) {
+            var result = new TransactionResultDTO();
+            result.setSourceAccount(request.getSourceAccount());
+            result.setDestinationAccount(request.getDestinationAccount());
+            result.setValue(request.getValue());
+            results.add(result);
+
+            try {
+                transferValidator.validate(request);
+                outcomes.add(ledgerEngine.transfer(request.getSourceAccount(), request.getDestinationAccount(), request.getValue()));
+            } catch (BadRequest e) {
+                outcomes.add(CompletableFuture.failedFuture(e));
+            }
+        }
+
+        for (int i = 0; i < results.size(); i++) {
+            var result = results.get(i);
+            try {
+                result.setMessage(resolve(outcomes.get(i)));
+                result.setStatus("APPROVED");
+            } catch (BadRequest | ResourceNotFoundException e) {
+                result.setMessage(e.getMessage());
+                result.setStatus("REJECTED");
+            }
+        }
+
+        return results;
+    }
+
+    @Override
+    public Page<TransactionsUserDTO> listOfTransactionsSpecificAccount(String accountNumber, Pageable pageable) {
+        return transferService.listOfTransactionsSpecificAccount(accountNumber, pageable);
+    }
+
+    @Override
+    public Slice<TransactionsUserDTO> listOfTransactionsSlice(String accountNumber, Pageable pageable) {
+        return transferService.listOfTransactionsSlice(accountNumber, pageable);
+    }
+
+    @Override
+    public long approximateTransactionCount(String accountNumber) {
+        return transferService.approximateTransactionCount(accountNumber);
+    }
+
+    @Override
+    public CursorPage<TransactionsUserDTO> listOfTransactionsAfterCursor(String accountNumber, String cursor, int size) {
+        return transferService.listOfTransactionsAfterCursor(accountNumber, cursor, size);
+    }
+
+    @Override
+    public String transactionReversal(String id) {
+        var transaction = transactionRepositoryPort.compareAndSetStatus(id, "APPROVED", "REVERSED")
+                .orElseThrow(() -> reversalRejected(id));
+
+        Code code;
+        try {
+            code = join(ledgerEngine.reverse(transaction));
+        } catch (RuntimeException e) {
+            transactionRepositoryPort.compareAndSetStatus(id, "REVERSED", "APPROVED");
+            throw e;
+        }
+        if (code != Code.TRANSACTION_REVERSED_SUCCESS) {
+            transactionRepositoryPort.compareAndSetStatus(id, "REVERSED", "APPROVED");
+        }
+
+        return message(code);
+    }
+
+    @Override
+    public List<TransactionResultDTO> bulkTransactionReversal(BulkReversalDTO request) {
+        Map<String, TransactionResultDTO> results = new LinkedHashMap<>();
+        Map<String, CompletableFuture<Code>> outcomes = new LinkedHashMap<>();
+
+        var transactions = bulkReversalSelector.select(request, results);
+        var reversalBatch = UUID.randomUUID().toString();
+        var claimed = transactionRepositoryPort.claimForReversal(
+                transactions.stream().map(Transaction::getId).toList(), reversalBatch);
+
+        for (Transaction transaction : transactions) {
+            outcomes.put(transaction.getId(), claimed.contains(transaction.getId())
+                    ? ledgerEngine.reverse(transaction)
+                    : CompletableFuture.completedFuture(Code.TRANSACTION_NOT_APPROVED));
+        }
+
+        List<String> rejectedClaims = new ArrayList<>();
+        List<String> reversed = new ArrayList<>();
+        outcomes.forEach((id, outcome) -> {
+            var result = results.get(id);
+            try {
+                result.setMessage(message(join(outcome)));
+                result.setStatus("REVERSED");
+                reversed.add(id);
+            } catch (BadRequest | ResourceNotFoundException e) {
+                if (claimed.contains(id)) rejectedClaims.add(id);
+                result.setMessage(e.getMessage());
+                result.setStatus("REJECTED");
+            }
+        });
+        transactionRepositoryPort.releaseReversal(rejectedClaims, reversalBatch);
+        transactionRepositoryPort.completeReversal(reversed, reversalBatch);
+
+        return new ArrayList<>(results.values());
+    }
+
+    @Override
+    public Transaction settlePendingTransaction(Transaction pending) {
+        var code = ledgerEngine.transfer(pending).join();
+
+        if (code == Code.TRANSACTION_APPROVED_SUCCESS) {
+            return pending;
+        }
+
+        pending.setStatus("REJECTED");
+        return transactionRepositoryPort.save(pending);
+    }
+
+    private String resolve(CompletableFuture<Code> outcome) {
+        return message(join(outcome));
+    }
+
+    private Code join(CompletableFuture<Code> outcome) {
+        try {
+            return outcome.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private RuntimeException reversalRejected(String id) {
+        if (transactionRepositoryPort.findById(id).isEmpty()) {
+            return new ResourceNotFoundException(customMessageResolver.getMessage(Code.TRANSACTION_NOT_FOUND));
+        }
+
+        return new BadRequest(customMessageResolver.getMessage(Code.TRANSACTION_NOT_APPROVED));
+    }
+
+    private String message(Code code) {
+        return switch (code) {
+            case TRANSACTION_APPROVED_SUCCESS, TRANSACTION_REVERSED_SUCCESS -> customMessageResolver.getMessage(code);
+            case ACCOUNT_NOT_FOUND, TRANSACTION_NOT_FOUND -> throw new ResourceNotFoundException(customMessageResolver.getMessage(code));
+            default -> throw new BadRequest(customMessageResolver.getMessage(code));
+        };
+    }
+}
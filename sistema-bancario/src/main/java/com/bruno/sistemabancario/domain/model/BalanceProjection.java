@@ -0,0 +1,29 @@
+package com.bruno.sistemabancario.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "balance_projections")
+public class BalanceProjection {
+
+    @Id
+    private String accountNumber;
+
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal balance;
+
+    private Instant updatedAt;
+}
@@ -0,0 +1,29 @@
+package com.bruno.sistemabancario.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "account_balance_slots")
+public class BalanceSlot {
+
+    @Id
+    private String id;
+
+    private String accountNumber;
+    private int slot;
+
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal balance;
+}
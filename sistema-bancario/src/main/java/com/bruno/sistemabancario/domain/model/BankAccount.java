@@ -6,6 +6,8 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -22,7 +24,10 @@ public class BankAccount {
 
     private String name;
     private String cpf;
+
+    @Field(targetType = FieldType.DECIMAL128)
     private BigDecimal balance;
+
     private LocalDate openingDate;
     private String accountNumber;
 }
@@ -0,0 +1,47 @@
+package com.bruno.sistemabancario.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "bank_stats")
+public class BankStats {
+
+    public static final String GLOBAL = "global";
+
+    @Id
+    private String id;
+
+    private long totalAccounts;
+
+    private long approvedTransactions;
+
+    private long reversedTransactions;
+
+    private long pendingTransactions;
+
+    private long rejectedTransactions;
+
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal totalAmountMoved;
+
+    private Instant updatedAt;
+
+    private Instant reconciledAt;
+
+    public long totalTransactions() {
+        return approvedTransactions + reversedTransactions + pendingTransactions + rejectedTransactions;
+    }
+}
@@ -0,0 +1,73 @@
+package com.bruno.sistemabancario.domain.model;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record BankStatsDelta(long accounts, long approved, long reversed, long pending, long rejected,
+                             BigDecimal amountMoved) {
+
+    public static final BankStatsDelta NONE = new BankStatsDelta(0, 0, 0, 0, 0, BigDecimal.ZERO);
+
+    public static BankStatsDelta fromLedger(List<LedgerEntry> entries) {
+        long accounts = 0, approved = 0, reversed = 0;
+        var amountMoved = BigDecimal.ZERO;
+
+        for (LedgerEntry entry : entries) {
+            if ("OPENING".equals(entry.getType())) {
+                accounts++;
+            } else if (entry.getId().endsWith(":reversal-debit")) {
+                approved--;
+                reversed++;
+            } else if (entry.getId().endsWith(":debit")) {
+                approved++;
+                amountMoved = amountMoved.add(entry.getAmount().negate());
+            }
+        }
+
+        return new BankStatsDelta(accounts, approved, reversed, 0, 0, amountMoved);
+    }
+
+    public static BankStatsDelta forStatus(String status, BigDecimal value) {
+        var amount = value == null ? BigDecimal.ZERO : value;
+
+        return switch (status) {
+            case "APPROVED" -> new BankStatsDelta(0, 1, 0, 0, 0, amount);
+            case "REVERSED" -> new BankStatsDelta(0, 0, 1, 0, 0, amount);
+            case "PENDING" -> pendingSubmitted();
+            case "REJECTED" -> new BankStatsDelta(0, 0, 0, 0, 1, BigDecimal.ZERO);
+            default -> NONE;
+        };
+    }
+
+    public static BankStatsDelta pendingSubmitted() {
+        return new BankStatsDelta(0, 0, 0, 1, 0, BigDecimal.ZERO);
+    }
+
+    public static BankStatsDelta pendingRejected() {
+        return new BankStatsDelta(0, 0, 0, -1, 1, BigDecimal.ZERO);
+    }
+
+    public static BankStatsDelta pendingApproved() {
+        return new BankStatsDelta(0, 0, 0, -1, 0, BigDecimal.ZERO);
+    }
+
+    public static BankStatsDelta between(BankStats from, BankStats to) {
+        return new BankStatsDelta(
+                to.getTotalAccounts() - from.getTotalAccounts(),
+                to.getApprovedTransactions() - from.getApprovedTransactions(),
+                to.getReversedTransactions() - from.getReversedTransactions(),
+                to.getPendingTransactions() - from.getPendingTransactions(),
+                to.getRejectedTransactions() - from.getRejectedTransactions(),
+                to.getTotalAmountMoved().subtract(from.getTotalAmountMoved()));
+    }
+
+    public BankStatsDelta plus(BankStatsDelta other) {
+        return new BankStatsDelta(accounts + other.accounts, approved + other.approved, reversed + other.reversed,
+                pending + other.pending, rejected + other.rejected, amountMoved.add(other.amountMoved));
+    }
+
+    public boolean isEmpty() {
+        return accounts == 0 && approved == 0 && reversed == 0 && pending == 0 && rejected == 0
+                && amountMoved.signum() == 0;
+    }
+}
@@ -0,0 +1,32 @@
+package com.bruno.sistemabancario.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "idempotency_keys")
+public class IdempotencyRecord {
+
+    public static final int PENDING = 0;
+
+    @Id
+    private String id;
+
+    private String fingerprint;
+    private int status;
+    private String response;
+    private Instant createdAt;
+
+    public boolean isPending() {
+        return status == PENDING;
+    }
+}
@@ -0,0 +1,58 @@
+package com.bruno.sistemabancario.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "ledger_entries")
+public class LedgerEntry {
+
+    @Id
+    private String id;
+
+    private String accountNumber;
+    private String transactionId;
+    private String type;
+
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal amount;
+
+    private Instant createdAt;
+
+    public static LedgerEntry opening(String accountNumber, BigDecimal balance) {
+        return new LedgerEntry(openingId(accountNumber), accountNumber, null, "OPENING", balance, Instant.now());
+    }
+
+    public static String openingId(String accountNumber) {
+        return accountNumber + ":opening";
+    }
+
+    public static List<LedgerEntry> forTransfer(Transaction transaction) {
+        var now = Instant.now();
+        return List.of(
+                new LedgerEntry(transaction.getId() + ":debit", transaction.getSourceAccount(), transaction.getId(),
+                        "DEBIT", transaction.getValue().negate(), now),
+                new LedgerEntry(transaction.getId() + ":credit", transaction.getDestinationAccount(), transaction.getId(),
+                        "CREDIT", transaction.getValue(), now));
+    }
+
+    public static List<LedgerEntry> forReversal(Transaction transaction) {
+        var now = Instant.now();
+        return List.of(
+                new LedgerEntry(transaction.getId() + ":reversal-debit", transaction.getDestinationAccount(), transaction.getId(),
+                        "DEBIT", transaction.getValue().negate(), now),
+                new LedgerEntry(transaction.getId() + ":reversal-credit", transaction.getSourceAccount(), transaction.getId(),
+                        "CREDIT", transaction.getValue(), now));
+    }
+}
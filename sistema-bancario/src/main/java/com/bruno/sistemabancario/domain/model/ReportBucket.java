@@ -0,0 +1,77 @@
+package com.bruno.sistemabancario.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "report_buckets")
+public class ReportBucket {
+
+    public enum Granularity {
+        HOUR(ChronoUnit.HOURS),
+        DAY(ChronoUnit.DAYS);
+
+        private final ChronoUnit unit;
+
+        Granularity(ChronoUnit unit) {
+            this.unit = unit;
+        }
+
+        public Instant truncate(Instant instant) {
+            return instant.truncatedTo(unit);
+        }
+
+        public Duration length() {
+            return unit.getDuration();
+        }
+
+        public String bucketId(Instant instant) {
+            return name() + ":" + truncate(instant);
+        }
+    }
+
+    @Id
+    private String id;
+
+    private String granularity;
+
+    private Instant start;
+
+    private long approvedTransactions;
+
+    private long reversedTransactions;
+
+    private long pendingTransactions;
+
+    private long rejectedTransactions;
+
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal totalAmountMoved;
+
+    private Instant updatedAt;
+
+    public long totalTransactions() {
+        return approvedTransactions + reversedTransactions + pendingTransactions + rejectedTransactions;
+    }
+
+    public static Instant transactionTime(String transactionId, Instant fallback) {
+        return transactionId != null && ObjectId.isValid(transactionId)
+                ? new ObjectId(transactionId).getDate().toInstant()
+                : fallback;
+    }
+}
@@ -11,6 +11,9 @@ import org.springframework.data.mongodb.core.mapping.FieldType;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 @Getter
 @Setter
@@ -30,4 +33,11 @@ public class Transaction {
 
     private LocalDate transactionDate;
     private String status;
+
+    private List<String> participants;
+
+    public Transaction withParticipants() {
+        participants = Stream.of(sourceAccount, destinationAccount).filter(Objects::nonNull).distinct().toList();
+        return this;
+    }
 }
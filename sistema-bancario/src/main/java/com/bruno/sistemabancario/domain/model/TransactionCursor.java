@@ -0,0 +1,35 @@
+package com.bruno.sistemabancario.domain.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Position after the last transaction of a page, in the (transactionDate desc, _id desc) order of an
+ * account history. Clients only ever see it as an opaque URL-safe token.
+ */
+public record TransactionCursor(LocalDate transactionDate, String id) {
+
+    public static TransactionCursor after(Transaction transaction) {
+        return new TransactionCursor(transaction.getTransactionDate(), transaction.getId());
+    }
+
+    public String encode() {
+        var raw = transactionDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Optional<TransactionCursor> decode(String token) {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var separator = raw.indexOf('|');
+            if (separator <= 0 || separator == raw.length() - 1) return Optional.empty();
+
+            return Optional.of(new TransactionCursor(LocalDate.parse(raw.substring(0, separator)), raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
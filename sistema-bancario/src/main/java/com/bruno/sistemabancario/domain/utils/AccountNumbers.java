@@ -0,0 +1,45 @@
+package com.bruno.sistemabancario.domain.utils;
+
+public final class AccountNumbers {
+
+    private AccountNumbers() {
+    }
+
+    public static String withCheckDigit(long base) {
+        return base + String.valueOf(checkDigit(String.valueOf(base)));
+    }
+
+    public static boolean isValid(String accountNumber) {
+        if (accountNumber == null || accountNumber.length() < 2 || !accountNumber.chars().allMatch(Character::isDigit)) {
+            return false;
+        }
+
+        var base = accountNumber.substring(0, accountNumber.length() - 1);
+        return accountNumber.charAt(accountNumber.length() - 1) - '0' == checkDigit(base);
+    }
+
+    /**
+     * Numbers no longer than {@code firstNumber} predate the allocator and carry no check digit, so they are
+     * accepted as they are; longer numbers were issued with one and must pass {@link #isValid(String)}.
+     */
+    public static boolean isAcceptable(String accountNumber, long firstNumber) {
+        return accountNumber.length() <= String.valueOf(firstNumber).length() || isValid(accountNumber);
+    }
+
+    private static int checkDigit(String base) {
+        int sum = 0;
+        boolean doubled = true;
+
+        for (int i = base.length() - 1; i >= 0; i--) {
+            int digit = base.charAt(i) - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) digit -= 9;
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+
+        return (10 - sum % 10) % 10;
+    }
+}
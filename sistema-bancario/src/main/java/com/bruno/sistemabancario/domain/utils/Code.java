@@ -18,6 +18,17 @@ public enum Code {
     INVALID_TRANSACTION_VALUE("invalid.transaction.value"),
     INVALID_ACCOUNT_NUMBER("invalid.account.number"),
     SOURCE_AND_DESTINATION_SAME("source.and.destination.same"),
+    IDEMPOTENCY_KEY_REUSED("error.idempotency.key.reused"),
+    IDEMPOTENCY_KEY_IN_PROGRESS("error.idempotency.key.in_progress"),
+    TRANSFER_QUEUE_FULL("error.transfer.queue.full"),
+    LEDGER_ENTRIES_NOT_FOUND("error.ledger.entries.not_found"),
+    BULK_REVERSAL_CRITERIA_REQUIRED("error.bulk.reversal.criteria.required"),
+    BULK_REVERSAL_TOO_LARGE("error.bulk.reversal.too.large"),
+    BATCH_TRANSFER_TOO_LARGE("error.batch.transfer.too.large"),
+    IMPORT_INVALID_HEADER("error.import.invalid.header"),
+    REPORT_INVALID_RANGE("error.report.invalid.range"),
+    REPORT_RANGE_TOO_LARGE("error.report.range.too.large"),
+    INVALID_PAGE_CURSOR("error.invalid.page.cursor"),
 
     TRANSACTION_APPROVED_SUCCESS("approved.successfully.transaction"),
     TRANSACTION_REVERSED_SUCCESS("reversed.successfully.transaction"),
@@ -0,0 +1,341 @@
+package com.bruno.sistemabancario.infrastructure.adapter.out.journal;
+
+import com.bruno.sistemabancario.application.ports.output.TransferJournalPort;
+import com.bruno.sistemabancario.domain.model.Transaction;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ObjLongConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal made of memory-mapped segment files. Each record is framed as
+ * [payload length][CRC32C][sequence][payload]; appends are acknowledged in groups after the segment is forced to disk.
+ * The checkpoint file holds the position of the last record applied to Mongo, and fully applied segments are deleted.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.ledger.journal.enabled", havingValue = "true")
+public class TransferJournalAdapter implements TransferJournalPort {
+
+    private static final Logger logger = Logger.getLogger(TransferJournalAdapter.class.getName());
+
+    private static final int FRAME_HEADER = 16;
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String CHECKPOINT = "checkpoint";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long commitIntervalNanos;
+    private final int commitBatch;
+
+    private final TreeSet<Long> segments = new TreeSet<>();
+    private final List<Segment> unforced = new ArrayList<>();
+    private final Object checkpointLock = new Object();
+    private final Thread committer;
+
+    private List<Transaction> recovered = new ArrayList<>();
+    private List<Long> recoveredSequences = new ArrayList<>();
+    private List<CompletableFuture<Void>> pendingAcks = new ArrayList<>();
+    private Segment active;
+    private long lastSequence;
+    private boolean running = true;
+
+    public TransferJournalAdapter(@Value("${banking.ledger.journal.dir:data/journal}") String directory,
+                                  @Value("${banking.ledger.journal.segment-size-mb:64}") int segmentSizeMb,
+                                  @Value("${banking.ledger.journal.commit-interval-ms:5}") long commitIntervalMs,
+                                  @Value("${banking.ledger.journal.commit-batch:256}") int commitBatch) throws IOException {
+        this.directory = Path.of(directory);
+        this.segmentSize = segmentSizeMb * 1024 * 1024;
+        this.commitIntervalNanos = TimeUnit.MILLISECONDS.toNanos(commitIntervalMs);
+        this.commitBatch = commitBatch;
+
+        Files.createDirectories(this.directory);
+        recover();
+
+        this.committer = new Thread(this::commitLoop, "transfer-journal-committer");
+        this.committer.setDaemon(true);
+        this.committer.start();
+    }
+
+    @Override
+    public CompletableFuture<Void> append(Transaction transaction) {
+        var payload = encode(transaction);
+        var ack = new CompletableFuture<Void>();
+
+        synchronized (this) {
+            if (!running) {
+                throw new IllegalStateException("Transfer journal is closed");
+            }
+
+            if (active.position + FRAME_HEADER + payload.length > segmentSize) {
+                roll();
+            }
+
+            var buffer = active.buffer;
+            int offset = active.position;
+            long sequence = ++lastSequence;
+
+            buffer.putLong(offset + 8, sequence);
+            buffer.put(offset + FRAME_HEADER, payload);
+            buffer.putInt(offset + 4, checksum(buffer, offset, payload.length));
+            buffer.putInt(offset, payload.length);
+            active.position = offset + FRAME_HEADER + payload.length;
+
+            pendingAcks.add(ack);
+            if (pendingAcks.size() >= commitBatch) {
+                notifyAll();
+            }
+        }
+
+        return ack;
+    }
+
+    @Override
+    public synchronized Position tail() {
+        return new Position(lastSequence, active.index, active.position);
+    }
+
+    @Override
+    public void markApplied(Position position) {
+        synchronized (checkpointLock) {
+            var buffer = ByteBuffer.allocate(20)
+                    .putLong(position.sequence())
+                    .putLong(position.segment())
+                    .putInt(position.offset())
+                    .flip();
+
+            var temporary = directory.resolve(CHECKPOINT + ".tmp");
+            try (var channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel.write(buffer);
+                channel.force(true);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            try {
+                Files.move(temporary, directory.resolve(CHECKPOINT), StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        List<Long> obsolete;
+        synchronized (this) {
+            obsolete = new ArrayList<>(segments.headSet(position.segment()));
+            segments.removeAll(obsolete);
+        }
+
+        for (long index : obsolete) {
+            try {
+                Files.deleteIfExists(segmentPath(index));
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Could not delete applied journal segment " + index, e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void replay(ObjLongConsumer<Transaction> consumer) {
+        for (int i = 0; i < recovered.size(); i++) {
+            consumer.accept(recovered.get(i), recoveredSequences.get(i));
+        }
+
+        recovered = new ArrayList<>();
+        recoveredSequences = new ArrayList<>();
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        synchronized (this) {
+            running = false;
+            notifyAll();
+        }
+        committer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    private void recover() throws IOException {
+        try (var files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                    .forEach(segments::add);
+        }
+
+        long expected = -1;
+        long startSegment = segments.isEmpty() ? 0 : segments.first();
+        int startOffset = 0;
+
+        var checkpoint = directory.resolve(CHECKPOINT);
+        if (Files.exists(checkpoint)) {
+            var buffer = ByteBuffer.wrap(Files.readAllBytes(checkpoint));
+            lastSequence = buffer.getLong();
+            expected = lastSequence + 1;
+            startSegment = buffer.getLong();
+            startOffset = buffer.getInt();
+        }
+
+        scan:
+        for (long index : segments.tailSet(startSegment)) {
+            try (var channel = FileChannel.open(segmentPath(index), StandardOpenOption.READ)) {
+                var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                int offset = index == startSegment ? startOffset : 0;
+
+                while (offset + FRAME_HEADER <= buffer.capacity()) {
+                    int length = buffer.getInt(offset);
+                    if (length == 0) break;
+
+                    if (length < 0 || offset + FRAME_HEADER + length > buffer.capacity()
+                            || buffer.getInt(offset + 4) != checksum(buffer, offset, length)) {
+                        logger.warning("Journal segment " + index + " is torn at offset " + offset + ", replay stops there");
+                        break scan;
+                    }
+
+                    long sequence = buffer.getLong(offset + 8);
+                    if (expected != -1 && sequence != expected) break scan;
+
+                    var payload = new byte[length];
+                    buffer.get(offset + FRAME_HEADER, payload);
+                    recovered.add(decode(payload));
+                    recoveredSequences.add(sequence);
+
+                    lastSequence = sequence;
+                    expected = sequence + 1;
+                    offset += FRAME_HEADER + length;
+                }
+            }
+        }
+
+        active = openSegment(segments.isEmpty() ? 0 : segments.last() + 1);
+    }
+
+    private void roll() {
+        unforced.add(active);
+        active = openSegment(active.index + 1);
+    }
+
+    private Segment openSegment(long index) {
+        try (var channel = FileChannel.open(segmentPath(index), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            var segment = new Segment(index, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+            segments.add(index);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void commitLoop() {
+        while (true) {
+            List<CompletableFuture<Void>> acks;
+            List<Segment> toForce;
+
+            synchronized (this) {
+                long deadline = System.nanoTime() + commitIntervalNanos;
+                long remaining;
+                while (running && pendingAcks.size() < commitBatch && (remaining = deadline - System.nanoTime()) > 0) {
+                    try {
+                        TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        running = false;
+                    }
+                }
+
+                if (pendingAcks.isEmpty() && unforced.isEmpty()) {
+                    if (!running) return;
+                    continue;
+                }
+
+                acks = pendingAcks;
+                pendingAcks = new ArrayList<>();
+                toForce = new ArrayList<>(unforced);
+                toForce.add(active);
+                unforced.clear();
+            }
+
+            try {
+                toForce.forEach(segment -> segment.buffer.force());
+                acks.forEach(ack -> ack.complete(null));
+            } catch (RuntimeException e) {
+                logger.log(Level.SEVERE, "Could not force the transfer journal to disk", e);
+                acks.forEach(ack -> ack.completeExceptionally(e));
+            }
+        }
+    }
+
+    private Path segmentPath(long index) {
+        return directory.resolve(String.format("%020d%s", index, SEGMENT_SUFFIX));
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset, int length) {
+        var crc = new CRC32C();
+        crc.update(buffer.slice(offset + 8, 8 + length));
+        return (int) crc.getValue();
+    }
+
+    private static byte[] encode(Transaction transaction) {
+        var bytes = new ByteArrayOutputStream(128);
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeUTF(transaction.getId());
+            out.writeUTF(transaction.getSourceAccount());
+            out.writeUTF(transaction.getDestinationAccount());
+            out.writeUTF(transaction.getValue().toPlainString());
+            out.writeLong(transaction.getTransactionDate().toEpochDay());
+            out.writeUTF(transaction.getStatus());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Transaction decode(byte[] payload) throws IOException {
+        try (var in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            var transaction = new Transaction();
+            transaction.setId(in.readUTF());
+            transaction.setSourceAccount(in.readUTF());
+            transaction.setDestinationAccount(in.readUTF());
+            transaction.setValue(new BigDecimal(in.readUTF()));
+            transaction.setTransactionDate(LocalDate.ofEpochDay(in.readLong()));
+            transaction.setStatus(in.readUTF());
+            return transaction;
+        }
+    }
+
+    private static final class Segment {
+
+        private final long index;
+        private final MappedByteBuffer buffer;
+        private int position;
+
+        private Segment(long index, MappedByteBuffer buffer) {
+            this.index = index;
+            this.buffer = buffer;
+        }
+    }
+}
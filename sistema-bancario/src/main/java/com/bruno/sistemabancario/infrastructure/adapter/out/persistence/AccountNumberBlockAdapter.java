@@ -0,0 +1,34 @@
+package com.bruno.sistemabancario.infrastructure.adapter.out.persistence;
+
+import com.bruno.sistemabancario.application.ports.output.AccountNumberBlockPort;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class AccountNumberBlockAdapter implements AccountNumberBlockPort {
+
+    private static final String COUNTERS = "counters";
+    private static final String COUNTER_ID = "accountNumber";
+
+    private final MongoTemplate mongoTemplate;
+
+    public AccountNumberBlockAdapter(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public long reserveBlock(int size) {
+        var counter = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(COUNTER_ID)),
+                new Update().inc("allocated", (long) size),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                Document.class, COUNTERS);
+
+        return counter.get("allocated", Number.class).longValue() - size;
+    }
+}
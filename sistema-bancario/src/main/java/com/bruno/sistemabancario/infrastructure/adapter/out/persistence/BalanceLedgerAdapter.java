@@ -0,0 +1,170 @@
+package com.bruno.sistemabancario.infrastructure.adapter.out.persistence;
+
+import com.bruno.sistemabancario.application.ports.output.BalanceLedgerPort;
+import com.bruno.sistemabancario.domain.model.BalanceProjection;
+import com.bruno.sistemabancario.domain.model.BalanceSnapshot;
+import com.bruno.sistemabancario.domain.model.LedgerEntry;
+import org.bson.types.Decimal128;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Repository
+public class BalanceLedgerAdapter implements BalanceLedgerPort {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+
+    public BalanceLedgerAdapter(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<LedgerEntry> append(List<LedgerEntry> entries) {
+        if (entries.isEmpty()) return entries;
+
+        var inserted = insertIgnoringDuplicates(entries);
+        if (inserted.isEmpty()) return inserted;
+
+        var bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BalanceProjection.class);
+        for (LedgerEntry entry : inserted) {
+            var query = Query.query(Criteria.where("_id").is(entry.getAccountNumber()));
+            var update = new Update()
+                    .inc("balance", new Decimal128(entry.getAmount()))
+                    .max("updatedAt", entry.getCreatedAt());
+
+            if ("OPENING".equals(entry.getType())) {
+                bulk.upsert(query, update);
+            } else {
+                bulk.updateOne(query, update);
+            }
+        }
+        bulk.execute();
+
+        return inserted;
+    }
+
+    @Override
+    public Optional<BigDecimal> projectedBalance(String accountNumber) {
+        return Optional.ofNullable(mongoTemplate.findById(accountNumber, BalanceProjection.class))
+                .map(BalanceProjection::getBalance);
+    }
+
+    @Override
+    public Optional<BigDecimal> rebuildProjection(String accountNumber) {
+        var snapshot = mongoTemplate.findById(accountNumber, BalanceSnapshot.class);
+        if (snapshot == null && !hasOpening(accountNumber)) {
+            return Optional.empty();
+        }
+
+        var balance = replay(accountNumber, snapshot);
+
+        mongoTemplate.save(new BalanceProjection(accountNumber, balance, Instant.now()));
+        return Optional.of(balance);
+    }
+
+    @Override
+    public boolean seedOpening(String accountNumber, BigDecimal currentBalance) {
+        if (hasOpening(accountNumber)) return false;
+
+        var recorded = replay(accountNumber, mongoTemplate.findById(accountNumber, BalanceSnapshot.class));
+        return !insertIgnoringDuplicates(List.of(LedgerEntry.opening(accountNumber, currentBalance.subtract(recorded)))).isEmpty();
+    }
+
+    @Override
+    public Optional<Instant> lastSnapshotCutoff() {
+        var query = new Query().with(Sort.by(Sort.Direction.DESC, "takenUpTo")).limit(1);
+        return Optional.ofNullable(mongoTemplate.findOne(query, BalanceSnapshot.class))
+                .map(BalanceSnapshot::getTakenUpTo);
+    }
+
+    @Override
+    public int snapshot(Instant from, Instant to) {
+        var window = from == null
+                ? Criteria.where("createdAt").lte(to)
+                : Criteria.where("createdAt").gt(from).lte(to);
+
+        var aggregation = Aggregation.newAggregation(
+                Aggregation.match(window),
+                Aggregation.group("accountNumber").sum("amount").as("total")
+        );
+
+        var totals = mongoTemplate.aggregate(aggregation, LedgerEntry.class, org.bson.Document.class).getMappedResults();
+        if (totals.isEmpty()) return 0;
+
+        var bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BalanceSnapshot.class);
+        for (org.bson.Document total : totals) {
+            var notTaken = from == null
+                    ? Criteria.where("takenUpTo").exists(false)
+                    : new Criteria().orOperator(Criteria.where("takenUpTo").lte(from), Criteria.where("takenUpTo").exists(false));
+
+            var query = Query.query(Criteria.where("_id").is(total.getString("_id")).andOperator(notTaken));
+            var update = new Update()
+                    .inc("balance", new Decimal128(new BigDecimal(total.get("total").toString())))
+                    .set("takenUpTo", to);
+            bulk.upsert(query, update);
+        }
+
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            if (e.getErrors().stream().anyMatch(error -> error.getCode() != DUPLICATE_KEY)) throw e;
+            return totals.size() - e.getErrors().size();
+        }
+
+        return totals.size();
+    }
+
+    private boolean hasOpening(String accountNumber) {
+        return mongoTemplate.exists(Query.query(Criteria.where("_id").is(LedgerEntry.openingId(accountNumber))), LedgerEntry.class);
+    }
+
+    private BigDecimal replay(String accountNumber, BalanceSnapshot snapshot) {
+        var criteria = Criteria.where("accountNumber").is(accountNumber);
+        if (snapshot != null) {
+            criteria = criteria.and("createdAt").gt(snapshot.getTakenUpTo());
+        }
+
+        var balance = snapshot == null ? BigDecimal.ZERO : snapshot.getBalance();
+        for (LedgerEntry entry : mongoTemplate.find(Query.query(criteria), LedgerEntry.class)) {
+            balance = balance.add(entry.getAmount());
+        }
+        return balance;
+    }
+
+    private List<LedgerEntry> insertIgnoringDuplicates(List<LedgerEntry> entries) {
+        var bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, LedgerEntry.class);
+        bulk.insert(entries);
+
+        try {
+            bulk.execute();
+            return entries;
+        } catch (BulkOperationException e) {
+            if (e.getErrors().stream().anyMatch(error -> error.getCode() != DUPLICATE_KEY)) throw e;
+
+            Set<Integer> duplicates = new HashSet<>();
+            e.getErrors().forEach(error -> duplicates.add(error.getIndex()));
+
+            List<LedgerEntry> inserted = new ArrayList<>(entries.size() - duplicates.size());
+            for (int i = 0; i < entries.size(); i++) {
+                if (!duplicates.contains(i)) inserted.add(entries.get(i));
+            }
+            return inserted;
+        }
+    }
+}
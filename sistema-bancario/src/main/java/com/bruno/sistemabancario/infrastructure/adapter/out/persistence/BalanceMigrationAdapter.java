@@ -0,0 +1,136 @@
+package com.bruno.sistemabancario.infrastructure.adapter.out.persistence;
+
+import com.bruno.sistemabancario.application.ports.output.BalanceMigrationPort;
+import com.bruno.sistemabancario.domain.model.BankAccount;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.logging.Logger;
+
+@Repository
+public class BalanceMigrationAdapter implements BalanceMigrationPort {
+
+    private static final Logger logger = Logger.getLogger(BalanceMigrationAdapter.class.getName());
+
+    private static final String MIGRATIONS = "migrations";
+    private static final String MIGRATION_ID = "account-balance-decimal128";
+
+    private final MongoTemplate mongoTemplate;
+
+    public BalanceMigrationAdapter(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Checkpoint loadCheckpoint() {
+        var stored = mongoTemplate.getCollection(MIGRATIONS).find(Filters.eq("_id", MIGRATION_ID)).first();
+        if (stored == null) {
+            return new Checkpoint(null, 0, false, List.of());
+        }
+
+        return new Checkpoint(stored.getString("lastId"), stored.get("migrated", Number.class).longValue(),
+                stored.getBoolean("completed", false), stored.getList("skipped", String.class, List.of()));
+    }
+
+    @Override
+    public void saveCheckpoint(Checkpoint checkpoint) {
+        var document = new Document("_id", MIGRATION_ID)
+                .append("lastId", checkpoint.lastId())
+                .append("migrated", checkpoint.migrated())
+                .append("completed", checkpoint.completed())
+                .append("skipped", checkpoint.skipped())
+                .append("updatedAt", new Date());
+
+        mongoTemplate.getCollection(MIGRATIONS)
+                .replaceOne(Filters.eq("_id", MIGRATION_ID), document, new ReplaceOptions().upsert(true));
+    }
+
+    @Override
+    public Chunk migrateChunk(String afterId, int size) {
+        Bson filter = afterId == null ? new Document() : Filters.gt("_id", toId(afterId));
+        return convert(filter, size, afterId);
+    }
+
+    @Override
+    public Chunk migrateAccounts(List<String> ids) {
+        if (ids.isEmpty()) return new Chunk(null, 0, 0, List.of());
+
+        return convert(Filters.in("_id", ids.stream().map(this::toId).toList()), ids.size(), null);
+    }
+
+    private Chunk convert(Bson filter, int size, String afterId) {
+        var collection = mongoTemplate.getCollection(mongoTemplate.getCollectionName(BankAccount.class));
+
+        List<WriteModel<Document>> updates = new ArrayList<>();
+        List<String> skipped = new ArrayList<>();
+        Object lastId = null;
+        int scanned = 0;
+
+        try (var cursor = collection.find(filter)
+                .projection(Projections.include("_id", "balance"))
+                .sort(Sorts.ascending("_id"))
+                .limit(size)
+                .batchSize(size)
+                .cursor()) {
+            while (cursor.hasNext()) {
+                var account = cursor.next();
+                lastId = account.get("_id");
+                scanned++;
+
+                var balance = account.get("balance");
+                if (balance == null || balance instanceof Decimal128) continue;
+
+                var converted = toDecimal128(balance);
+                if (converted == null) {
+                    logger.warning("Skipping account " + lastId + ", balance " + balance + " is not a number");
+                    skipped.add(fromId(lastId));
+                    continue;
+                }
+
+                updates.add(new UpdateOneModel<>(
+                        Filters.and(Filters.eq("_id", lastId), Filters.eq("balance", balance)),
+                        Updates.set("balance", converted)));
+            }
+        }
+
+        int converted = 0;
+        if (!updates.isEmpty()) {
+            converted = collection.bulkWrite(updates).getModifiedCount();
+        }
+
+        return new Chunk(lastId == null ? afterId : fromId(lastId), scanned, converted, skipped);
+    }
+
+    static Decimal128 toDecimal128(Object balance) {
+        try {
+            if (balance instanceof String text) return new Decimal128(new BigDecimal(text.trim()));
+            if (balance instanceof Double number) return new Decimal128(BigDecimal.valueOf(number));
+            if (balance instanceof Number number) return new Decimal128(BigDecimal.valueOf(number.longValue()));
+        } catch (NumberFormatException ignored) {
+        }
+        return null;
+    }
+
+    private Object toId(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+
+    private String fromId(Object id) {
+        return id instanceof ObjectId objectId ? objectId.toHexString() : id.toString();
+    }
+}
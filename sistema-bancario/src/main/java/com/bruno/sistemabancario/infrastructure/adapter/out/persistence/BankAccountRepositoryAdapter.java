@@ -1,19 +1,70 @@
 package com.bruno.sistemabancario.infrastructure.adapter.out.persistence;
 
+import com.bruno.sistemabancario.domain.model.BalanceSlot;
 import com.bruno.sistemabancario.domain.model.BankAccount;
 import com.bruno.sistemabancario.application.ports.output.BankAccountRepositoryPort;
 import com.bruno.sistemabancario.infrastructure.adapter.persistence.BankAccountRepository;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Updates;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
 
+/**
+ * Balances written before they were stored as Decimal128 may still be strings, which {@code $inc} rejects and the
+ * guarded debit never matches. Until the balance migration reports completion, a write that fails or misses that way
+ * converts the balances of the accounts it touches and is tried once more; writes that succeed cost nothing extra.
+ */
 @Repository
 public class BankAccountRepositoryAdapter implements BankAccountRepositoryPort {
 
     private final BankAccountRepository repository;
 
-    public BankAccountRepositoryAdapter(BankAccountRepository repository) {
+    private final MongoTemplate mongoTemplate;
+
+    private final Set<String> hotAccounts;
+
+    private final int slotCount;
+
+    private final Set<String> slotsReady = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean legacyBalances = true;
+
+    public BankAccountRepositoryAdapter(BankAccountRepository repository, MongoTemplate mongoTemplate,
+                                        @Value("${banking.hot-accounts.numbers:}") Set<String> hotAccounts,
+                                        @Value("${banking.hot-accounts.slots:8}") int slotCount) {
         this.repository = repository;
+        this.mongoTemplate = mongoTemplate;
+        this.hotAccounts = hotAccounts;
+        this.slotCount = slotCount;
     }
 
     @Override
@@ -21,11 +72,38 @@ public class BankAccountRepositoryAdapter implements BankAccountRepositoryPort {
         return repository.findByAccountNumber(accountNumber);
     }
 
+    @Override
+    public boolean existsByAccountNumber(String accountNumber) {
+        return repository.existsByAccountNumber(accountNumber);
+    }
+
+    @Override
+    public void forEachAccountNumber(Instant createdSince, Consumer<String> action) {
+        var query = createdSince == null ? new Query()
+                : Query.query(Criteria.where("_id").gte(new ObjectId(String.format("%08x", createdSince.getEpochSecond()) + "0".repeat(16))));
+        query.fields().include("accountNumber").exclude("_id");
+        query.cursorBatchSize(10000);
+
+        try (var accounts = mongoTemplate.stream(query, BankAccount.class)) {
+            accounts.forEach(account -> action.accept(account.getAccountNumber()));
+        }
+    }
+
+    @Override
+    public List<BankAccount> findAllByAccountNumberIn(Collection<String> accountNumbers) {
+        return repository.findByAccountNumberIn(accountNumbers);
+    }
+
     @Override
     public BankAccount save(BankAccount bankAccount) {
         return repository.save(bankAccount);
     }
 
+    @Override
+    public List<BankAccount> insertAll(List<BankAccount> bankAccounts) {
+        return List.copyOf(mongoTemplate.insert(bankAccounts, BankAccount.class));
+    }
+
     @Override
     public long count() {
         return repository.count();
@@ -36,5 +114,202 @@ public class BankAccountRepositoryAdapter implements BankAccountRepositoryPort {
         return repository.findById(id);
     }
 
+    @Override
+    public BigDecimal totalBalance(BankAccount bankAccount) {
+        var total = bankAccount.getBalance();
+
+        if (hotAccounts.contains(bankAccount.getAccountNumber())) {
+            for (BalanceSlot slot : findSlots(bankAccount.getAccountNumber())) {
+                total = total.add(slot.getBalance());
+            }
+        }
 
+        return total;
+    }
+
+    @Override
+    public boolean debit(String accountNumber, BigDecimal value) {
+        var account = Criteria.where("accountNumber").is(accountNumber);
+
+        if (debitDocument(BankAccount.class, account, value)) {
+            return true;
+        }
+
+        if (convertLegacyBalances(List.of(accountNumber)) && debitDocument(BankAccount.class, account, value)) {
+            return true;
+        }
+
+        return hotAccounts.contains(accountNumber) && sweepSlots(accountNumber, value);
+    }
+
+    @Override
+    public boolean credit(String accountNumber, BigDecimal value) {
+        if (hotAccounts.contains(accountNumber) && slotCount > 1) {
+            int slot = ThreadLocalRandom.current().nextInt(slotCount);
+
+            if (slot > 0 && ensureSlots(accountNumber)) {
+                var query = Query.query(Criteria.where("_id").is(slotId(accountNumber, slot)));
+                var update = new Update().inc("balance", new Decimal128(value));
+
+                if (mongoTemplate.updateFirst(query, update, BalanceSlot.class).getModifiedCount() == 1) {
+                    return true;
+                }
+                slotsReady.remove(accountNumber);
+            }
+        }
+
+        var query = Query.query(Criteria.where("accountNumber").is(accountNumber));
+        var update = new Update().inc("balance", new Decimal128(value));
+
+        try {
+            return mongoTemplate.updateFirst(query, update, BankAccount.class).getModifiedCount() == 1;
+        } catch (DataAccessException e) {
+            if (!convertLegacyBalances(List.of(accountNumber))) throw e;
+            return mongoTemplate.updateFirst(query, update, BankAccount.class).getModifiedCount() == 1;
+        }
+    }
+
+    @Override
+    public void applyBalanceDeltas(Map<String, BigDecimal> deltas) {
+        if (deltas.isEmpty()) return;
+
+        List<String> accountNumbers = new ArrayList<>();
+        List<Pair<Query, UpdateDefinition>> updates = new ArrayList<>();
+        deltas.forEach((accountNumber, delta) -> {
+            accountNumbers.add(accountNumber);
+            updates.add(Pair.of(Query.query(Criteria.where("accountNumber").is(accountNumber)),
+                    new Update().inc("balance", new Decimal128(delta))));
+        });
+
+        updateBalances(accountNumbers, updates);
+    }
+
+    @Override
+    public void applyJournaledDeltas(Map<String, BigDecimal> deltas, long journalSequence) {
+        if (deltas.isEmpty()) return;
+
+        List<String> accountNumbers = new ArrayList<>();
+        List<Pair<Query, UpdateDefinition>> updates = new ArrayList<>();
+        deltas.forEach((accountNumber, delta) -> {
+            accountNumbers.add(accountNumber);
+            updates.add(Pair.of(Query.query(Criteria.where("accountNumber").is(accountNumber).orOperator(
+                            Criteria.where("journalSequence").lt(journalSequence),
+                            Criteria.where("journalSequence").exists(false))),
+                    new Update().inc("balance", new Decimal128(delta)).set("journalSequence", journalSequence)));
+        });
+
+        updateBalances(accountNumbers, updates);
+    }
+
+    @Override
+    public void legacyBalancesMigrated() {
+        legacyBalances = false;
+    }
+
+    /**
+     * Only the updates the bulk write reports as failed are retried, since the others have already been applied.
+     */
+    private void updateBalances(List<String> accountNumbers, List<Pair<Query, UpdateDefinition>> updates) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BankAccount.class).updateOne(updates).execute();
+        } catch (BulkOperationException e) {
+            var failed = e.getErrors().stream().map(BulkWriteError::getIndex).toList();
+            if (!convertLegacyBalances(failed.stream().map(accountNumbers::get).toList())) throw e;
+
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BankAccount.class)
+                    .updateOne(failed.stream().map(updates::get).toList())
+                    .execute();
+        }
+    }
+
+    private boolean convertLegacyBalances(Collection<String> accountNumbers) {
+        if (!legacyBalances) return false;
+
+        var collection = mongoTemplate.getCollection(mongoTemplate.getCollectionName(BankAccount.class));
+        var legacy = collection.find(Filters.and(Filters.in("accountNumber", accountNumbers), Filters.type("balance", BsonType.STRING)))
+                .projection(Projections.include("_id", "balance"));
+
+        var convertedAny = false;
+        for (Document account : legacy) {
+            var converted = BalanceMigrationAdapter.toDecimal128(account.get("balance"));
+            if (converted == null) continue;
+
+            collection.updateOne(Filters.and(Filters.eq("_id", account.get("_id")), Filters.eq("balance", account.get("balance"))),
+                    Updates.set("balance", converted));
+            convertedAny = true;
+        }
+        return convertedAny;
+    }
+
+    private boolean sweepSlots(String accountNumber, BigDecimal value) {
+        var account = repository.findByAccountNumber(accountNumber);
+        if (account.isEmpty()) return false;
+
+        var accountCriteria = Criteria.where("accountNumber").is(accountNumber);
+        var remaining = value;
+
+        var takenFromAccount = account.get().getBalance().min(remaining);
+        if (takenFromAccount.signum() <= 0 || !debitDocument(BankAccount.class, accountCriteria, takenFromAccount)) {
+            takenFromAccount = BigDecimal.ZERO;
+        }
+        remaining = remaining.subtract(takenFromAccount);
+
+        Map<String, BigDecimal> takenFromSlots = new LinkedHashMap<>();
+        for (BalanceSlot slot : findSlots(accountNumber)) {
+            if (remaining.signum() == 0) break;
+
+            var part = slot.getBalance().min(remaining);
+            if (part.signum() > 0 && debitDocument(BalanceSlot.class, Criteria.where("_id").is(slot.getId()), part)) {
+                takenFromSlots.put(slot.getId(), part);
+                remaining = remaining.subtract(part);
+            }
+        }
+
+        if (remaining.signum() == 0) return true;
+
+        if (takenFromAccount.signum() > 0) {
+            mongoTemplate.updateFirst(Query.query(accountCriteria),
+                    new Update().inc("balance", new Decimal128(takenFromAccount)), BankAccount.class);
+        }
+        takenFromSlots.forEach((slotId, part) -> mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(slotId)),
+                new Update().inc("balance", new Decimal128(part)), BalanceSlot.class));
+
+        return false;
+    }
+
+    private boolean debitDocument(Class<?> type, Criteria criteria, BigDecimal value) {
+        var query = Query.query(new Criteria().andOperator(criteria, Criteria.where("balance").gte(new Decimal128(value))));
+        var update = new Update().inc("balance", new Decimal128(value.negate()));
+
+        return mongoTemplate.updateFirst(query, update, type).getModifiedCount() == 1;
+    }
+
+    private List<BalanceSlot> findSlots(String accountNumber) {
+        var query = Query.query(Criteria.where("accountNumber").is(accountNumber))
+                .with(Sort.by(Sort.Direction.DESC, "balance"));
+
+        return mongoTemplate.find(query, BalanceSlot.class);
+    }
+
+    private boolean ensureSlots(String accountNumber) {
+        if (slotsReady.contains(accountNumber)) return true;
+
+        if (!repository.existsByAccountNumber(accountNumber)) return false;
+
+        for (int slot = 1; slot < slotCount; slot++) {
+            var query = Query.query(Criteria.where("_id").is(slotId(accountNumber, slot)));
+            var update = new Update()
+                    .setOnInsert("accountNumber", accountNumber)
+                    .setOnInsert("slot", slot)
+                    .setOnInsert("balance", new Decimal128(BigDecimal.ZERO));
+            mongoTemplate.upsert(query, update, BalanceSlot.class);
+        }
+
+        slotsReady.add(accountNumber);
+        return true;
+    }
+
+    private String slotId(String accountNumber, int slot) {
+        return accountNumber + ":" + slot;
+    }
 }
@@ -0,0 +1,116 @@
+package com.bruno.sistemabancario.infrastructure.adapter.out.persistence;
+
+import com.bruno.sistemabancario.application.ports.output.BankStatsPort;
+import com.bruno.sistemabancario.domain.model.BankAccount;
+import com.bruno.sistemabancario.domain.model.BankStats;
+import com.bruno.sistemabancario.domain.model.BankStatsDelta;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+
+@Repository
+public class BankStatsAdapter implements BankStatsPort {
+
+    private final MongoTemplate mongoTemplate;
+
+    public BankStatsAdapter(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void increment(BankStatsDelta delta) {
+        if (delta.isEmpty()) return;
+
+        var update = new Update()
+                .inc("totalAccounts", delta.accounts())
+                .inc("approvedTransactions", delta.approved())
+                .inc("reversedTransactions", delta.reversed())
+                .inc("pendingTransactions", delta.pending())
+                .inc("rejectedTransactions", delta.rejected())
+                .inc("totalAmountMoved", new Decimal128(delta.amountMoved()))
+                .set("updatedAt", Instant.now());
+
+        mongoTemplate.upsert(globalStats(), update, BankStats.class);
+    }
+
+    @Override
+    public Optional<BankStats> load() {
+        return Optional.ofNullable(mongoTemplate.findById(BankStats.GLOBAL, BankStats.class));
+    }
+
+    @Override
+    public BankStats computeFromScratch() {
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var accounts = executor.submit(() -> mongoTemplate.count(new Query(), BankAccount.class));
+            var transactions = executor.submit(this::transactionFigures);
+
+            var stats = new BankStats();
+            stats.setId(BankStats.GLOBAL);
+            stats.setTotalAccounts(accounts.get());
+            applyTransactionFigures(stats, transactions.get());
+            return stats;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while computing the bank stats", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void markReconciled(Instant reconciledAt) {
+        var update = new Update()
+                .set("reconciledAt", reconciledAt)
+                .setOnInsert("totalAmountMoved", new Decimal128(BigDecimal.ZERO));
+
+        mongoTemplate.upsert(globalStats(), update, BankStats.class);
+    }
+
+    private Query globalStats() {
+        return Query.query(Criteria.where("_id").is(BankStats.GLOBAL));
+    }
+
+    private Document transactionFigures() {
+        var aggregation = Aggregation.newAggregation(
+                Aggregation.facet(Aggregation.group("status").count().as("count")).as("byStatus")
+                        .and(Aggregation.match(Criteria.where("status").in("APPROVED", "REVERSED")),
+                                Aggregation.group().sum("value").as("totalValue")).as("amountMoved")
+        );
+
+        return mongoTemplate.aggregate(aggregation, "transactions", Document.class).getUniqueMappedResult();
+    }
+
+    private void applyTransactionFigures(BankStats stats, Document figures) {
+        stats.setTotalAmountMoved(BigDecimal.ZERO);
+        if (figures == null) return;
+
+        for (Document byStatus : figures.getList("byStatus", Document.class)) {
+            long count = byStatus.get("count", Number.class).longValue();
+
+            switch (String.valueOf(byStatus.get("_id"))) {
+                case "APPROVED" -> stats.setApprovedTransactions(count);
+                case "REVERSED" -> stats.setReversedTransactions(count);
+                case "PENDING" -> stats.setPendingTransactions(count);
+                case "REJECTED" -> stats.setRejectedTransactions(count);
+                default -> { }
+            }
+        }
+
+        for (Document amountMoved : figures.getList("amountMoved", Document.class)) {
+            var totalValue = amountMoved.get("totalValue", Number.class);
+            if (totalValue != null) stats.setTotalAmountMoved(new BigDecimal(totalValue.toString()));
+        }
+    }
+}
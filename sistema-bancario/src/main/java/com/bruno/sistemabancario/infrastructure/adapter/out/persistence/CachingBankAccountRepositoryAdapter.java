@@ -0,0 +1,133 @@
+package com.bruno.sistemabancario.infrastructure.adapter.out.persistence;
+
+import com.bruno.sistemabancario.application.ports.output.BankAccountRepositoryPort;
+import com.bruno.sistemabancario.domain.model.BankAccount;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Read-through cache in front of {@link BankAccountRepositoryAdapter}.
+ * Only the account number to id mapping is cached. Balances are always read from the database, and debits
+ * stay guarded by the conditional update in the delegate, so a cached entry can never approve an overdraft.
+ */
+@Primary
+@Repository
+public class CachingBankAccountRepositoryAdapter implements BankAccountRepositoryPort {
+
+    private final BankAccountRepositoryAdapter delegate;
+
+    private final Cache<String, String> accountIds;
+
+    public CachingBankAccountRepositoryAdapter(BankAccountRepositoryAdapter delegate, MeterRegistry meterRegistry,
+                                               @Value("${banking.account-cache.max-size:10000}") long maxSize,
+                                               @Value("${banking.account-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.delegate = delegate;
+        this.accountIds = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, accountIds, "accounts");
+    }
+
+    @Override
+    public Optional<BankAccount> findByAccountNumber(String accountNumber) {
+        var account = delegate.findByAccountNumber(accountNumber);
+        account.ifPresent(this::remember);
+        return account;
+    }
+
+    @Override
+    public boolean existsByAccountNumber(String accountNumber) {
+        return accountIds.get(accountNumber, number -> delegate.findByAccountNumber(number)
+                .map(BankAccount::getId)
+                .orElse(null)) != null;
+    }
+
+    @Override
+    public void forEachAccountNumber(Instant createdSince, Consumer<String> action) {
+        delegate.forEachAccountNumber(createdSince, action);
+    }
+
+    @Override
+    public List<BankAccount> findAllByAccountNumberIn(Collection<String> accountNumbers) {
+        var accounts = delegate.findAllByAccountNumberIn(accountNumbers);
+        accounts.forEach(this::remember);
+        return accounts;
+    }
+
+    @Override
+    public BankAccount save(BankAccount bankAccount) {
+        var saved = delegate.save(bankAccount);
+        remember(saved);
+        return saved;
+    }
+
+    @Override
+    public List<BankAccount> insertAll(List<BankAccount> bankAccounts) {
+        var inserted = delegate.insertAll(bankAccounts);
+        inserted.forEach(this::remember);
+        return inserted;
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public Optional<BankAccount> findById(String id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public BigDecimal totalBalance(BankAccount bankAccount) {
+        return delegate.totalBalance(bankAccount);
+    }
+
+    @Override
+    public boolean debit(String accountNumber, BigDecimal value) {
+        return delegate.debit(accountNumber, value);
+    }
+
+    @Override
+    public boolean credit(String accountNumber, BigDecimal value) {
+        return delegate.credit(accountNumber, value);
+    }
+
+    @Override
+    public void applyBalanceDeltas(Map<String, BigDecimal> deltas) {
+        delegate.applyBalanceDeltas(deltas);
+    }
+
+    @Override
+    public void applyJournaledDeltas(Map<String, BigDecimal> deltas, long journalSequence) {
+        delegate.applyJournaledDeltas(deltas, journalSequence);
+    }
+
+    @Override
+    public void legacyBalancesMigrated() {
+        delegate.legacyBalancesMigrated();
+    }
+
+    private void remember(BankAccount account) {
+        if (account.getAccountNumber() != null && account.getId() != null) {
+            accountIds.put(account.getAccountNumber(), account.getId());
+        }
+    }
+}
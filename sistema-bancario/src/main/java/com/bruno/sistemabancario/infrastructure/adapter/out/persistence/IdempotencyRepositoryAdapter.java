@@ -0,0 +1,53 @@
+package com.bruno.sistemabancario.infrastructure.adapter.out.persistence;
+
+import com.bruno.sistemabancario.application.ports.output.IdempotencyRepositoryPort;
+import com.bruno.sistemabancario.domain.model.IdempotencyRecord;
+import com.bruno.sistemabancario.infrastructure.adapter.persistence.IdempotencyRecordRepository;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public class IdempotencyRepositoryAdapter implements IdempotencyRepositoryPort {
+
+    private final IdempotencyRecordRepository repository;
+
+    private final MongoTemplate mongoTemplate;
+
+    public IdempotencyRepositoryAdapter(IdempotencyRecordRepository repository, MongoTemplate mongoTemplate) {
+        this.repository = repository;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> findById(String id) {
+        return repository.findById(id);
+    }
+
+    @Override
+    public boolean reserve(IdempotencyRecord pending, Instant expiredBefore) {
+        try {
+            repository.insert(pending);
+            return true;
+        } catch (DuplicateKeyException e) {
+            var expired = Query.query(Criteria.where("_id").is(pending.getId()).and("createdAt").lt(expiredBefore));
+            return mongoTemplate.findAndReplace(expired, pending) != null;
+        }
+    }
+
+    @Override
+    public void complete(IdempotencyRecord record) {
+        repository.save(record);
+    }
+
+    @Override
+    public void release(String id) {
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(id).and("status").is(IdempotencyRecord.PENDING)),
+                IdempotencyRecord.class);
+    }
+}
@@ -0,0 +1,104 @@
+package com.bruno.sistemabancario.infrastructure.adapter.out.persistence;
+
+import com.bruno.sistemabancario.application.ports.output.ParticipantsMigrationPort;
+import com.bruno.sistemabancario.domain.model.Transaction;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public class ParticipantsMigrationAdapter implements ParticipantsMigrationPort {
+
+    private static final String MIGRATIONS = "migrations";
+    private static final String MIGRATION_ID = "transaction-participants";
+
+    private final MongoTemplate mongoTemplate;
+
+    public ParticipantsMigrationAdapter(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Checkpoint loadCheckpoint() {
+        var stored = mongoTemplate.getCollection(MIGRATIONS).find(Filters.eq("_id", MIGRATION_ID)).first();
+        if (stored == null) {
+            return new Checkpoint(null, 0, false);
+        }
+
+        return new Checkpoint(stored.getString("lastId"), stored.get("migrated", Number.class).longValue(),
+                stored.getBoolean("completed", false));
+    }
+
+    @Override
+    public void saveCheckpoint(Checkpoint checkpoint) {
+        var document = new Document("_id", MIGRATION_ID)
+                .append("lastId", checkpoint.lastId())
+                .append("migrated", checkpoint.migrated())
+                .append("completed", checkpoint.completed())
+                .append("updatedAt", new Date());
+
+        mongoTemplate.getCollection(MIGRATIONS)
+                .replaceOne(Filters.eq("_id", MIGRATION_ID), document, new ReplaceOptions().upsert(true));
+    }
+
+    @Override
+    public Chunk migrateChunk(String afterId, int size) {
+        var collection = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Transaction.class));
+        Bson filter = afterId == null ? new Document() : Filters.gt("_id", toId(afterId));
+
+        List<WriteModel<Document>> updates = new ArrayList<>();
+        Object lastId = null;
+        int scanned = 0;
+
+        try (var cursor = collection.find(filter)
+                .projection(Projections.include("_id", "sourceAccount", "destinationAccount", "participants"))
+                .sort(Sorts.ascending("_id"))
+                .limit(size)
+                .batchSize(size)
+                .cursor()) {
+            while (cursor.hasNext()) {
+                var transaction = cursor.next();
+                lastId = transaction.get("_id");
+                scanned++;
+
+                if (transaction.containsKey("participants")) continue;
+
+                var participants = new Transaction();
+                participants.setSourceAccount(transaction.getString("sourceAccount"));
+                participants.setDestinationAccount(transaction.getString("destinationAccount"));
+
+                updates.add(new UpdateOneModel<>(
+                        Filters.and(Filters.eq("_id", lastId), Filters.exists("participants", false)),
+                        Updates.set("participants", participants.withParticipants().getParticipants())));
+            }
+        }
+
+        int updated = 0;
+        if (!updates.isEmpty()) {
+            updated = collection.bulkWrite(updates).getModifiedCount();
+        }
+
+        return new Chunk(lastId == null ? afterId : fromId(lastId), scanned, updated);
+    }
+
+    private Object toId(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+
+    private String fromId(Object id) {
+        return id instanceof ObjectId objectId ? objectId.toHexString() : id.toString();
+    }
+}
@@ -0,0 +1,103 @@
+package com.bruno.sistemabancario.infrastructure.adapter.out.persistence;
+
+import com.bruno.sistemabancario.application.ports.output.ReportRollupPort;
+import com.bruno.sistemabancario.domain.model.BankStatsDelta;
+import com.bruno.sistemabancario.domain.model.ReportBucket;
+import com.bruno.sistemabancario.domain.model.Transaction;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class ReportRollupAdapter implements ReportRollupPort {
+
+    private final MongoTemplate mongoTemplate;
+
+    public ReportRollupAdapter(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void increment(Map<Instant, BankStatsDelta> deltasByTransactionTime) {
+        Map<String, BankStatsDelta> deltas = new HashMap<>();
+        deltasByTransactionTime.forEach((time, delta) -> addToBuckets(deltas, time, delta));
+        deltas.values().removeIf(BankStatsDelta::isEmpty);
+        if (deltas.isEmpty()) return;
+
+        var now = Instant.now();
+        var bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ReportBucket.class);
+        deltas.forEach((bucketId, delta) -> bulk.upsert(byId(bucketId), bucketKey(bucketId)
+                .inc("approvedTransactions", delta.approved())
+                .inc("reversedTransactions", delta.reversed())
+                .inc("pendingTransactions", delta.pending())
+                .inc("rejectedTransactions", delta.rejected())
+                .inc("totalAmountMoved", new Decimal128(delta.amountMoved()))
+                .set("updatedAt", now)));
+        bulk.execute();
+    }
+
+    @Override
+    public List<ReportBucket> findBuckets(ReportBucket.Granularity granularity, Instant from, Instant to) {
+        var query = Query.query(Criteria.where("_id").gte(granularity.bucketId(from)).lt(granularity.bucketId(to)))
+                .with(Sort.by(Sort.Direction.ASC, "_id"));
+
+        return mongoTemplate.find(query, ReportBucket.class);
+    }
+
+    @Override
+    public int rebuild(Instant before) {
+        var query = Query.query(Criteria.where("_id")
+                .lt(new ObjectId(String.format("%08x", before.getEpochSecond()) + "0".repeat(16))));
+        query.fields().include("status").include("value");
+        query.cursorBatchSize(10000);
+
+        Map<String, BankStatsDelta> totals = new HashMap<>();
+        try (var transactions = mongoTemplate.stream(query, Transaction.class)) {
+            transactions.forEach(transaction -> addToBuckets(totals,
+                    ReportBucket.transactionTime(transaction.getId(), before),
+                    BankStatsDelta.forStatus(String.valueOf(transaction.getStatus()), transaction.getValue())));
+        }
+        if (totals.isEmpty()) return 0;
+
+        var now = Instant.now();
+        var bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ReportBucket.class);
+        totals.forEach((bucketId, total) -> bulk.upsert(byId(bucketId), bucketKey(bucketId)
+                .set("approvedTransactions", total.approved())
+                .set("reversedTransactions", total.reversed())
+                .set("pendingTransactions", total.pending())
+                .set("rejectedTransactions", total.rejected())
+                .set("totalAmountMoved", new Decimal128(total.amountMoved()))
+                .set("updatedAt", now)));
+        bulk.execute();
+
+        return totals.size();
+    }
+
+    private void addToBuckets(Map<String, BankStatsDelta> buckets, Instant time, BankStatsDelta delta) {
+        for (ReportBucket.Granularity granularity : ReportBucket.Granularity.values()) {
+            buckets.merge(granularity.bucketId(time), delta, BankStatsDelta::plus);
+        }
+    }
+
+    private Query byId(String bucketId) {
+        return Query.query(Criteria.where("_id").is(bucketId));
+    }
+
+    private Update bucketKey(String bucketId) {
+        var separator = bucketId.indexOf(':');
+        return new Update()
+                .setOnInsert("granularity", bucketId.substring(0, separator))
+                .setOnInsert("start", Instant.parse(bucketId.substring(separator + 1)));
+    }
+}
@@ -1,26 +1,113 @@
 package com.bruno.sistemabancario.infrastructure.adapter.out.persistence;
 
 import com.bruno.sistemabancario.domain.model.Transaction;
+import com.bruno.sistemabancario.domain.model.TransactionCursor;
 import com.bruno.sistemabancario.application.ports.output.TransactionRepositoryPort;
 import com.bruno.sistemabancario.infrastructure.adapter.persistence.TransactionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public class TransactionRepositoryAdapter implements TransactionRepositoryPort {
 
+    private static final String REVERSAL_BATCH = "reversalBatch";
+
+    private static final String SETTLEMENT_CLAIM = "settlementClaimedAt";
+
     private final TransactionRepository repository;
 
-    public TransactionRepositoryAdapter(TransactionRepository repository) {
+    private final MongoTemplate mongoTemplate;
+
+    private final Cache<String, Long> accountCounts;
+
+    private volatile boolean participantsIndexed;
+
+    public TransactionRepositoryAdapter(TransactionRepository repository, MongoTemplate mongoTemplate,
+                                        ObjectProvider<MeterRegistry> meterRegistry,
+                                        @Value("${banking.transaction-count-cache.max-size:10000}") long countCacheSize,
+                                        @Value("${banking.transaction-count-cache.ttl-seconds:60}") long countCacheTtlSeconds) {
         this.repository = repository;
+        this.mongoTemplate = mongoTemplate;
+        this.accountCounts = Caffeine.newBuilder()
+                .maximumSize(countCacheSize)
+                .expireAfterWrite(Duration.ofSeconds(countCacheTtlSeconds))
+                .recordStats()
+                .build();
+
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, accountCounts, "transaction-counts"));
     }
 
     @Override
     public Page<Transaction> findAllByAccountNumber(String accountNumber, Pageable pageable) {
-        return repository.findAllByAccountNumber(accountNumber, pageable);
+        return participantsIndexed
+                ? repository.findAllByParticipant(accountNumber, pageable)
+                : repository.findAllByAccountNumber(accountNumber, pageable);
+    }
+
+    @Override
+    public Slice<Transaction> findSliceByAccountNumber(String accountNumber, Pageable pageable) {
+        return participantsIndexed
+                ? repository.findSliceByParticipant(accountNumber, pageable)
+                : repository.findSliceByAccountNumber(accountNumber, pageable);
+    }
+
+    @Override
+    public long approximateCountByAccountNumber(String accountNumber) {
+        return accountCounts.get(accountNumber, number -> participantsIndexed
+                ? repository.countByParticipant(number)
+                : repository.countByAccountNumber(number));
+    }
+
+    @Override
+    public List<Transaction> findAllByAccountNumberAfter(String accountNumber, TransactionCursor after, int limit) {
+        var criteria = participantsIndexed
+                ? Criteria.where("participants").is(accountNumber)
+                : new Criteria().orOperator(
+                        Criteria.where("sourceAccount").is(accountNumber),
+                        Criteria.where("destinationAccount").is(accountNumber));
+
+        if (after != null) {
+            criteria = new Criteria().andOperator(criteria, new Criteria().orOperator(
+                    Criteria.where("transactionDate").lt(after.transactionDate()),
+                    Criteria.where("transactionDate").is(after.transactionDate()).and("_id").lt(after.id())));
+        }
+
+        var query = Query.query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "transactionDate", "_id"))
+                .limit(limit);
+
+        return mongoTemplate.find(query, Transaction.class);
+    }
+
+    @Override
+    public void useParticipantsIndex(boolean enabled) {
+        participantsIndexed = enabled;
     }
 
     @Override
@@ -40,6 +127,121 @@ public class TransactionRepositoryAdapter implements TransactionRepositoryPort {
 
     @Override
     public Transaction save(Transaction transaction) {
-        return repository.save(transaction);
+        return repository.save(transaction.withParticipants());
+    }
+
+    @Override
+    public List<Transaction> saveAll(List<Transaction> transactions) {
+        transactions.forEach(Transaction::withParticipants);
+        return repository.saveAll(transactions);
+    }
+
+    @Override
+    public void upsertAll(List<Transaction> transactions) {
+        if (transactions.isEmpty()) return;
+
+        var bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Transaction.class);
+        transactions.forEach(transaction -> bulk.replaceOne(
+                Query.query(Criteria.where("_id").is(transaction.getId())),
+                transaction.withParticipants(),
+                FindAndReplaceOptions.options().upsert()));
+
+        bulk.execute();
+    }
+
+    @Override
+    public List<Transaction> findUnclaimedPending(Instant createdBefore, String afterId, int limit) {
+        var idRange = Criteria.where("_id").lt(objectIdAt(createdBefore));
+        if (afterId != null) idRange = idRange.gt(new ObjectId(afterId));
+
+        var query = Query.query(new Criteria().andOperator(idRange,
+                        Criteria.where("status").is("PENDING"),
+                        Criteria.where(SETTLEMENT_CLAIM).exists(false)))
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(limit);
+
+        return mongoTemplate.find(query, Transaction.class);
+    }
+
+    @Override
+    public long countClaimedPending(Instant createdBefore) {
+        var query = Query.query(Criteria.where("_id").lt(objectIdAt(createdBefore))
+                .and("status").is("PENDING")
+                .and(SETTLEMENT_CLAIM).exists(true));
+
+        return mongoTemplate.count(query, Transaction.class);
+    }
+
+    @Override
+    public boolean claimPending(String id) {
+        var query = Query.query(Criteria.where("_id").is(id).and("status").is("PENDING").and(SETTLEMENT_CLAIM).exists(false));
+
+        return mongoTemplate.updateFirst(query, Update.update(SETTLEMENT_CLAIM, Instant.now()), Transaction.class)
+                .getModifiedCount() == 1;
+    }
+
+    @Override
+    public Optional<Transaction> compareAndSetStatus(String id, String expectedStatus, String newStatus) {
+        var query = Query.query(Criteria.where("_id").is(id).and("status").is(expectedStatus));
+
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, Update.update("status", newStatus),
+                FindAndModifyOptions.options().returnNew(true), Transaction.class));
+    }
+
+    @Override
+    public List<Transaction> findAllForReversal(Collection<String> ids, LocalDate from, LocalDate to, String sourceAccount, int limit) {
+        var criteria = new Criteria();
+        if (ids != null && !ids.isEmpty()) criteria = criteria.and("_id").in(ids);
+        if (sourceAccount != null) criteria = criteria.and("sourceAccount").is(sourceAccount);
+        if (from != null && to != null) {
+            criteria = criteria.and("transactionDate").gte(from).lte(to);
+        } else if (from != null) {
+            criteria = criteria.and("transactionDate").gte(from);
+        } else if (to != null) {
+            criteria = criteria.and("transactionDate").lte(to);
+        }
+
+        return mongoTemplate.find(Query.query(criteria).limit(limit), Transaction.class);
+    }
+
+    @Override
+    public Set<String> claimForReversal(Collection<String> ids, String reversalBatch) {
+        if (ids.isEmpty()) return Set.of();
+
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("_id").in(ids).and("status").is("APPROVED")),
+                new Update().set("status", "REVERSED").set(REVERSAL_BATCH, reversalBatch),
+                Transaction.class);
+
+        var claimed = Query.query(Criteria.where("_id").in(ids).and(REVERSAL_BATCH).is(reversalBatch));
+        claimed.fields().include("_id");
+
+        Set<String> claimedIds = new HashSet<>();
+        mongoTemplate.find(claimed, Transaction.class).forEach(transaction -> claimedIds.add(transaction.getId()));
+        return claimedIds;
+    }
+
+    @Override
+    public void releaseReversal(Collection<String> ids, String reversalBatch) {
+        if (ids.isEmpty()) return;
+
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("_id").in(ids).and(REVERSAL_BATCH).is(reversalBatch)),
+                new Update().set("status", "APPROVED").unset(REVERSAL_BATCH),
+                Transaction.class);
+    }
+
+    @Override
+    public void completeReversal(Collection<String> ids, String reversalBatch) {
+        if (ids.isEmpty()) return;
+
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("_id").in(ids).and(REVERSAL_BATCH).is(reversalBatch)),
+                new Update().unset(REVERSAL_BATCH),
+                Transaction.class);
+    }
+
+    private ObjectId objectIdAt(Instant instant) {
+        return new ObjectId(String.format("%08x", instant.getEpochSecond()) + "0".repeat(16));
     }
 }
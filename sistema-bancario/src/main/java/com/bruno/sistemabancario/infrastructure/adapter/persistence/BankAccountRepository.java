@@ -5,6 +5,8 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,5 +15,9 @@ public interface BankAccountRepository extends MongoRepository<BankAccount, Stri
     @Query(value = "{ 'accountNumber': ?0 }")
     Optional<BankAccount> findByAccountNumber(String accountNumber);
 
+    List<BankAccount> findByAccountNumberIn(Collection<String> accountNumbers);
+
+    boolean existsByAccountNumber(String accountNumber);
+
     long count();
 }
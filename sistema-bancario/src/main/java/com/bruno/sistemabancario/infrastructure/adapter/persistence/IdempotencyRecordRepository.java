@@ -0,0 +1,9 @@
+package com.bruno.sistemabancario.infrastructure.adapter.persistence;
+
+import com.bruno.sistemabancario.domain.model.IdempotencyRecord;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IdempotencyRecordRepository extends MongoRepository<IdempotencyRecord, String> {
+}
@@ -3,6 +3,7 @@ package com.bruno.sistemabancario.infrastructure.adapter.persistence;
 import com.bruno.sistemabancario.domain.model.Transaction;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -14,6 +15,21 @@ public interface TransactionRepository extends MongoRepository<Transaction, Stri
     @Query("{ $or: [ { 'sourceAccount': ?0 }, { 'destinationAccount': ?0 } ] }")
     Page<Transaction> findAllByAccountNumber(String accountNumber, Pageable pageable);
 
+    @Query("{ 'participants': ?0 }")
+    Page<Transaction> findAllByParticipant(String accountNumber, Pageable pageable);
+
+    @Query("{ $or: [ { 'sourceAccount': ?0 }, { 'destinationAccount': ?0 } ] }")
+    Slice<Transaction> findSliceByAccountNumber(String accountNumber, Pageable pageable);
+
+    @Query("{ 'participants': ?0 }")
+    Slice<Transaction> findSliceByParticipant(String accountNumber, Pageable pageable);
+
+    @Query(value = "{ $or: [ { 'sourceAccount': ?0 }, { 'destinationAccount': ?0 } ] }", count = true)
+    long countByAccountNumber(String accountNumber);
+
+    @Query(value = "{ 'participants': ?0 }", count = true)
+    long countByParticipant(String accountNumber);
+
     long count();
 
     long countByStatus(String status);
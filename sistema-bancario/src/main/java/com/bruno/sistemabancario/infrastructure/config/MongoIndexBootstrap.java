@@ -0,0 +1,160 @@
+package com.bruno.sistemabancario.infrastructure.config;
+
+import com.bruno.sistemabancario.domain.model.BalanceSlot;
+import com.bruno.sistemabancario.domain.model.BankAccount;
+import com.bruno.sistemabancario.domain.model.IdempotencyRecord;
+import com.bruno.sistemabancario.domain.model.LedgerEntry;
+import com.bruno.sistemabancario.domain.model.Transaction;
+import com.bruno.sistemabancario.domain.model.User;
+import org.bson.Document;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Creates every index the repositories and adapters rely on, then explains each repository query and reports
+ * the ones planned as a collection scan. It runs once all beans are created, before the web server starts, so
+ * in strict mode a missing index or a COLLSCAN plan fails the startup before any request is served.
+ */
+@Component
+public class MongoIndexBootstrap implements SmartInitializingSingleton {
+
+    private static final Logger logger = Logger.getLogger(MongoIndexBootstrap.class.getName());
+
+    private final MongoTemplate mongoTemplate;
+
+    private final boolean enabled;
+
+    private final boolean verifyPlans;
+
+    private final boolean strict;
+
+    private final Duration idempotencyTtl;
+
+    public MongoIndexBootstrap(MongoTemplate mongoTemplate,
+                               @Value("${banking.indexes.bootstrap.enabled:true}") boolean enabled,
+                               @Value("${banking.indexes.verify-plans:true}") boolean verifyPlans,
+                               @Value("${banking.indexes.strict:false}") boolean strict,
+                               @Value("${banking.idempotency.ttl-hours:24}") long idempotencyTtlHours) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.verifyPlans = verifyPlans;
+        this.strict = strict;
+        this.idempotencyTtl = Duration.ofHours(idempotencyTtlHours);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        bootstrap();
+    }
+
+    public void bootstrap() {
+        if (!enabled) return;
+
+        var problems = new ArrayList<>(ensureIndexes());
+        if (verifyPlans) problems.addAll(verifyQueryPlans());
+
+        if (strict && !problems.isEmpty()) {
+            throw new IllegalStateException("Mongo index verification failed: " + problems);
+        }
+    }
+
+    public List<String> ensureIndexes() {
+        var failures = new ArrayList<String>();
+
+        ensure(failures, BankAccount.class, new Index().on("accountNumber", Sort.Direction.ASC).unique());
+        ensure(failures, BalanceSlot.class, new Index().on("accountNumber", Sort.Direction.ASC));
+        ensure(failures, User.class, new Index().on("username", Sort.Direction.ASC).unique());
+        ensure(failures, Transaction.class, new Index().on("status", Sort.Direction.ASC));
+        ensure(failures, Transaction.class, new Index().on("sourceAccount", Sort.Direction.ASC).on("transactionDate", Sort.Direction.DESC).on("_id", Sort.Direction.DESC));
+        ensure(failures, Transaction.class, new Index().on("destinationAccount", Sort.Direction.ASC).on("transactionDate", Sort.Direction.DESC).on("_id", Sort.Direction.DESC));
+        ensure(failures, Transaction.class, new Index().on("transactionDate", Sort.Direction.ASC));
+        ensure(failures, Transaction.class, new Index().on("participants", Sort.Direction.ASC).on("transactionDate", Sort.Direction.DESC).on("_id", Sort.Direction.DESC));
+        ensure(failures, LedgerEntry.class, new Index().on("accountNumber", Sort.Direction.ASC).on("createdAt", Sort.Direction.ASC));
+        ensure(failures, LedgerEntry.class, new Index().on("createdAt", Sort.Direction.ASC));
+        ensure(failures, IdempotencyRecord.class, new Index().on("createdAt", Sort.Direction.ASC).expire(idempotencyTtl));
+
+        return failures;
+    }
+
+    public List<String> verifyQueryPlans() {
+        var scans = new ArrayList<String>();
+
+        verify(scans, "BankAccountRepository.findByAccountNumber",
+                find(BankAccount.class, new Document("accountNumber", "000000")));
+        verify(scans, "UserRepository.findByUsername",
+                find(User.class, new Document("username", "")));
+        verify(scans, "TransactionRepository.countByStatus",
+                new Document("count", mongoTemplate.getCollectionName(Transaction.class))
+                        .append("query", new Document("status", "APPROVED")));
+        verify(scans, "TransactionRepository.findAllByAccountNumber",
+                find(Transaction.class, new Document("$or", List.of(
+                        new Document("sourceAccount", "000000"),
+                        new Document("destinationAccount", "000000")))));
+        verify(scans, "TransactionRepositoryAdapter.findAllByAccountNumberAfter",
+                find(Transaction.class, new Document("$or", List.of(
+                        new Document("sourceAccount", "000000"),
+                        new Document("destinationAccount", "000000"))))
+                        .append("sort", new Document("transactionDate", -1).append("_id", -1))
+                        .append("limit", 11));
+        verify(scans, "TransactionRepository.findAllByParticipant",
+                find(Transaction.class, new Document("participants", "000000"))
+                        .append("sort", new Document("transactionDate", -1).append("_id", -1)));
+
+        return scans;
+    }
+
+    private void ensure(List<String> failures, Class<?> type, Index index) {
+        try {
+            mongoTemplate.indexOps(type).ensureIndex(index);
+        } catch (DataAccessException e) {
+            var collection = mongoTemplate.getCollectionName(type);
+            logger.log(Level.WARNING, "Could not create index " + index.getIndexKeys() + " on " + collection, e);
+            failures.add(collection + " " + index.getIndexKeys().toJson());
+        }
+    }
+
+    private void verify(List<String> scans, String query, Document command) {
+        Document plan;
+        try {
+            var explained = mongoTemplate.getDb().runCommand(new Document("explain", command).append("verbosity", "queryPlanner"));
+            var planner = explained.get("queryPlanner", Document.class);
+            plan = planner == null ? null : planner.get("winningPlan", Document.class);
+        } catch (RuntimeException e) {
+            logger.warning("Could not explain " + query + ", its plan was not verified: " + e.getMessage());
+            return;
+        }
+
+        if (plan == null) {
+            logger.warning("Explain returned no winning plan for " + query + ", its plan was not verified");
+        } else if (hasCollectionScan(plan)) {
+            logger.warning(query + " is planned as a COLLSCAN: " + plan.toJson());
+            scans.add(query);
+        }
+    }
+
+    public static boolean hasCollectionScan(Object plan) {
+        if (plan instanceof Document stage) {
+            if ("COLLSCAN".equals(stage.get("stage"))) return true;
+            return stage.values().stream().anyMatch(MongoIndexBootstrap::hasCollectionScan);
+        }
+        if (plan instanceof List<?> stages) {
+            return stages.stream().anyMatch(MongoIndexBootstrap::hasCollectionScan);
+        }
+        return false;
+    }
+
+    private Document find(Class<?> type, Document filter) {
+        return new Document("find", mongoTemplate.getCollectionName(type)).append("filter", filter);
+    }
+}
@@ -0,0 +1,82 @@
+package com.bruno.sistemabancario.repositories;
+
+import com.bruno.sistemabancario.domain.model.BankAccount;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.BankAccountRepositoryAdapter;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.CachingBankAccountRepositoryAdapter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@Import({BankAccountRepositoryAdapter.class, CachingBankAccountRepositoryAdapter.class, SimpleMeterRegistry.class})
+public class AccountCacheTests {
+
+    @Autowired
+    private CachingBankAccountRepositoryAdapter accountCache;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String accountNumber;
+
+    @BeforeEach
+    void setup() {
+        mongoTemplate.dropCollection(BankAccount.class);
+
+        accountNumber = UUID.randomUUID().toString();
+        BankAccount account = new BankAccount();
+        account.setAccountNumber(accountNumber);
+        account.setBalance(new BigDecimal("100.00"));
+        mongoTemplate.save(account);
+    }
+
+    @Test
+    void testExistenceChecksAreServedFromCache() {
+        double hitsBefore = gets("hit");
+
+        assertThat(accountCache.existsByAccountNumber(accountNumber)).isTrue();
+        mongoTemplate.dropCollection(BankAccount.class);
+
+        assertThat(accountCache.existsByAccountNumber(accountNumber)).isTrue();
+        assertThat(gets("hit") - hitsBefore).isEqualTo(1);
+    }
+
+    @Test
+    void testMissingAccountsAreNotCached() {
+        assertThat(accountCache.existsByAccountNumber("000000")).isFalse();
+
+        BankAccount account = new BankAccount();
+        account.setAccountNumber("000000");
+        account.setBalance(BigDecimal.ZERO);
+        accountCache.save(account);
+
+        assertThat(accountCache.existsByAccountNumber("000000")).isTrue();
+    }
+
+    @Test
+    void testBalancesAreNeverServedFromCache() {
+        assertThat(accountCache.findByAccountNumber(accountNumber)).isPresent();
+
+        assertThat(accountCache.debit(accountNumber, new BigDecimal("60.00"))).isTrue();
+
+        assertThat(accountCache.findByAccountNumber(accountNumber).orElseThrow().getBalance()).isEqualByComparingTo("40.00");
+        assertThat(accountCache.debit(accountNumber, new BigDecimal("60.00"))).isFalse();
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "accounts").tag("result", result).functionCounter().count();
+    }
+}
@@ -0,0 +1,64 @@
+package com.bruno.sistemabancario.repositories;
+
+import com.bruno.sistemabancario.domain.model.BankAccount;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.AccountNumberBlockAdapter;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.BankAccountRepositoryAdapter;
+import com.bruno.sistemabancario.infrastructure.config.MongoIndexBootstrap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataMongoTest
+@Import({AccountNumberBlockAdapter.class, BankAccountRepositoryAdapter.class, MongoIndexBootstrap.class})
+public class AccountNumberBlockTests {
+
+    @Autowired
+    private AccountNumberBlockAdapter accountNumberBlockAdapter;
+
+    @Autowired
+    private BankAccountRepositoryAdapter bankAccountRepositoryAdapter;
+
+    @Autowired
+    private MongoIndexBootstrap mongoIndexBootstrap;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setup() {
+        mongoTemplate.dropCollection("counters");
+        mongoTemplate.dropCollection(BankAccount.class);
+        mongoIndexBootstrap.ensureIndexes();
+    }
+
+    @Test
+    void testBlocksNeverOverlap() {
+        assertThat(accountNumberBlockAdapter.reserveBlock(100)).isZero();
+        assertThat(accountNumberBlockAdapter.reserveBlock(100)).isEqualTo(100);
+        assertThat(accountNumberBlockAdapter.reserveBlock(50)).isEqualTo(200);
+    }
+
+    @Test
+    void testDuplicatedAccountNumberIsRejected() {
+        bankAccountRepositoryAdapter.save(account("10000008"));
+
+        assertThatThrownBy(() -> bankAccountRepositoryAdapter.save(account("10000008")))
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    private BankAccount account(String accountNumber) {
+        BankAccount account = new BankAccount();
+        account.setAccountNumber(accountNumber);
+        account.setBalance(BigDecimal.ZERO);
+        return account;
+    }
+}
@@ -0,0 +1,120 @@
+package com.bruno.sistemabancario.repositories;
+
+import com.bruno.sistemabancario.domain.model.BalanceProjection;
+import com.bruno.sistemabancario.domain.model.BalanceSnapshot;
+import com.bruno.sistemabancario.domain.model.LedgerEntry;
+import com.bruno.sistemabancario.domain.model.Transaction;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.BalanceLedgerAdapter;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.BankStatsAdapter;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.ReportRollupAdapter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@Import({BalanceLedgerAdapter.class, BankStatsAdapter.class, ReportRollupAdapter.class})
+public class BalanceLedgerTests {
+
+    @Autowired
+    private BalanceLedgerAdapter balanceLedgerAdapter;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setup() {
+        mongoTemplate.dropCollection(LedgerEntry.class);
+        mongoTemplate.dropCollection(BalanceProjection.class);
+        mongoTemplate.dropCollection(BalanceSnapshot.class);
+
+        balanceLedgerAdapter.append(List.of(
+                LedgerEntry.opening("111111", BigDecimal.valueOf(1000)),
+                LedgerEntry.opening("222222", BigDecimal.valueOf(1000))));
+    }
+
+    @Test
+    void testAppendMaintainsProjectionAndIgnoresDuplicates() {
+        var entries = LedgerEntry.forTransfer(transaction("tx1", "100"));
+
+        balanceLedgerAdapter.append(entries);
+        balanceLedgerAdapter.append(entries);
+
+        assertThat(balanceLedgerAdapter.projectedBalance("111111")).hasValueSatisfying(balance -> assertThat(balance).isEqualByComparingTo("900"));
+        assertThat(balanceLedgerAdapter.projectedBalance("222222")).hasValueSatisfying(balance -> assertThat(balance).isEqualByComparingTo("1100"));
+        assertThat(mongoTemplate.count(new Query(), LedgerEntry.class)).isEqualTo(4);
+    }
+
+    @Test
+    void testAppendDoesNotCreateProjectionWithoutOpeningEntry() {
+        var transaction = transaction("tx2", "50");
+        transaction.setDestinationAccount("333333");
+
+        balanceLedgerAdapter.append(LedgerEntry.forTransfer(transaction));
+
+        assertThat(balanceLedgerAdapter.projectedBalance("333333")).isEmpty();
+        assertThat(balanceLedgerAdapter.rebuildProjection("333333")).isEmpty();
+        assertThat(balanceLedgerAdapter.rebuildProjection("444444")).isEmpty();
+    }
+
+    @Test
+    void testSeededOpeningCoversTheBalanceFromBeforeTheLedger() throws Exception {
+        var transaction = transaction("tx5", "50");
+        transaction.setDestinationAccount("333333");
+        balanceLedgerAdapter.append(LedgerEntry.forTransfer(transaction));
+        Thread.sleep(5);
+        balanceLedgerAdapter.snapshot(null, Instant.now());
+        Thread.sleep(5);
+        transaction = transaction("tx6", "20");
+        transaction.setDestinationAccount("333333");
+        balanceLedgerAdapter.append(LedgerEntry.forTransfer(transaction));
+
+        assertThat(balanceLedgerAdapter.seedOpening("333333", new BigDecimal("570"))).isTrue();
+        assertThat(balanceLedgerAdapter.seedOpening("333333", new BigDecimal("999"))).isFalse();
+        assertThat(balanceLedgerAdapter.seedOpening("111111", new BigDecimal("999"))).isFalse();
+
+        assertThat(balanceLedgerAdapter.rebuildProjection("333333")).hasValueSatisfying(balance -> assertThat(balance).isEqualByComparingTo("570"));
+        assertThat(balanceLedgerAdapter.projectedBalance("333333")).hasValueSatisfying(balance -> assertThat(balance).isEqualByComparingTo("570"));
+    }
+
+    @Test
+    void testRebuildReplaysOnlyEntriesAfterSnapshot() throws Exception {
+        balanceLedgerAdapter.append(LedgerEntry.forTransfer(transaction("tx3", "100")));
+        Thread.sleep(5);
+        var cutoff = Instant.now();
+        Thread.sleep(5);
+
+        assertThat(balanceLedgerAdapter.snapshot(null, cutoff)).isEqualTo(2);
+        assertThat(balanceLedgerAdapter.snapshot(null, cutoff)).isZero();
+        assertThat(balanceLedgerAdapter.lastSnapshotCutoff()).isPresent();
+
+        balanceLedgerAdapter.append(LedgerEntry.forReversal(transaction("tx3", "100")));
+        balanceLedgerAdapter.append(LedgerEntry.forTransfer(transaction("tx4", "30")));
+
+        mongoTemplate.remove(Query.query(Criteria.where("createdAt").lte(cutoff)), LedgerEntry.class);
+        mongoTemplate.save(new BalanceProjection("111111", BigDecimal.ZERO, Instant.now()));
+
+        assertThat(balanceLedgerAdapter.rebuildProjection("111111")).hasValueSatisfying(balance -> assertThat(balance).isEqualByComparingTo("970"));
+        assertThat(balanceLedgerAdapter.projectedBalance("111111")).hasValueSatisfying(balance -> assertThat(balance).isEqualByComparingTo("970"));
+    }
+
+    private Transaction transaction(String id, String value) {
+        Transaction transaction = new Transaction();
+        transaction.setId(id);
+        transaction.setSourceAccount("111111");
+        transaction.setDestinationAccount("222222");
+        transaction.setValue(new BigDecimal(value));
+        transaction.setStatus("APPROVED");
+        return transaction;
+    }
+}
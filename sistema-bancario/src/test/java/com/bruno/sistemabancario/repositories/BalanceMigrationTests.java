@@ -0,0 +1,142 @@
+package com.bruno.sistemabancario.repositories;
+
+import com.bruno.sistemabancario.application.ports.output.BalanceMigrationPort;
+import com.bruno.sistemabancario.application.service.BalanceMigrationService;
+import com.bruno.sistemabancario.domain.model.BankAccount;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.BalanceMigrationAdapter;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.BankAccountRepositoryAdapter;
+import com.bruno.sistemabancario.infrastructure.adapter.persistence.BankAccountRepository;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@Import({BalanceMigrationAdapter.class, BalanceMigrationService.class, BankAccountRepositoryAdapter.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties = {"banking.migration.account-balance.enabled=false",
+        "banking.migration.account-balance.chunk-size=2", "banking.migration.account-balance.pause-ms=0"})
+public class BalanceMigrationTests {
+
+    @Autowired
+    private BalanceMigrationAdapter balanceMigrationAdapter;
+
+    @Autowired
+    private BalanceMigrationService balanceMigrationService;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setup() {
+        mongoTemplate.dropCollection(BankAccount.class);
+        mongoTemplate.dropCollection("migrations");
+
+        accounts().insertMany(List.of(
+                new Document("accountNumber", "111111").append("balance", "1000.50"),
+                new Document("accountNumber", "222222").append("balance", "250.25"),
+                new Document("accountNumber", "333333").append("balance", new Decimal128(new BigDecimal("10.00"))),
+                new Document("accountNumber", "444444").append("balance", "75"),
+                new Document("accountNumber", "555555").append("balance", "not a number")));
+    }
+
+    @Test
+    void testMigrationConvertsLegacyBalancesToDecimal128() {
+        assertThat(balanceMigrationService.migrate()).isEqualTo(3);
+
+        assertThat(balance("111111")).isEqualTo(new Decimal128(new BigDecimal("1000.50")));
+        assertThat(balance("222222")).isEqualTo(new Decimal128(new BigDecimal("250.25")));
+        assertThat(balance("333333")).isEqualTo(new Decimal128(new BigDecimal("10.00")));
+        assertThat(balance("444444")).isEqualTo(new Decimal128(new BigDecimal("75")));
+        assertThat(balance("555555")).isEqualTo("not a number");
+
+        var checkpoint = balanceMigrationAdapter.loadCheckpoint();
+        assertThat(checkpoint.completed()).isFalse();
+        assertThat(checkpoint.migrated()).isEqualTo(3);
+        assertThat(checkpoint.skipped()).containsExactly(id("555555"));
+    }
+
+    @Test
+    void testMigrationCompletesOnceSkippedBalancesAreFixed() {
+        balanceMigrationService.migrate();
+        accounts().updateOne(Filters.eq("accountNumber", "555555"), new Document("$set", new Document("balance", "12.5")));
+
+        assertThat(balanceMigrationService.migrate()).isEqualTo(1);
+
+        assertThat(balance("555555")).isEqualTo(new Decimal128(new BigDecimal("12.5")));
+        var checkpoint = balanceMigrationAdapter.loadCheckpoint();
+        assertThat(checkpoint.completed()).isTrue();
+        assertThat(checkpoint.migrated()).isEqualTo(4);
+        assertThat(checkpoint.skipped()).isEmpty();
+    }
+
+    @Test
+    void testMigrationResumesFromCheckpoint() {
+        var first = balanceMigrationAdapter.migrateChunk(null, 2);
+        balanceMigrationAdapter.saveCheckpoint(new BalanceMigrationPort.Checkpoint(first.lastId(), first.converted(), false, first.skipped()));
+
+        assertThat(first.scanned()).isEqualTo(2);
+        assertThat(first.converted()).isEqualTo(2);
+        assertThat(balance("444444")).isEqualTo("75");
+
+        assertThat(balanceMigrationService.migrate()).isEqualTo(1);
+        assertThat(balance("444444")).isEqualTo(new Decimal128(new BigDecimal("75")));
+        assertThat(balanceMigrationAdapter.loadCheckpoint().migrated()).isEqualTo(3);
+    }
+
+    @Test
+    void testCompletedMigrationIsNotRunAgain() {
+        accounts().deleteOne(Filters.eq("accountNumber", "555555"));
+        balanceMigrationService.migrate();
+        accounts().insertOne(new Document("accountNumber", "666666").append("balance", "5"));
+
+        assertThat(balanceMigrationService.migrate()).isZero();
+        assertThat(balance("666666")).isEqualTo("5");
+    }
+
+    @Test
+    void testLegacyBalancesStayUsableBeforeTheMigrationReachesThem() {
+        var bankAccountRepositoryAdapter = new BankAccountRepositoryAdapter(bankAccountRepository, mongoTemplate, Set.of(), 8);
+
+        assertThat(bankAccountRepositoryAdapter.findByAccountNumber("111111").orElseThrow().getBalance())
+                .isEqualByComparingTo("1000.50");
+
+        assertThat(bankAccountRepositoryAdapter.debit("111111", new BigDecimal("0.50"))).isTrue();
+        assertThat(bankAccountRepositoryAdapter.credit("222222", new BigDecimal("0.75"))).isTrue();
+        bankAccountRepositoryAdapter.applyBalanceDeltas(Map.of("444444", new BigDecimal("25"), "333333", new BigDecimal("5")));
+
+        assertThat(balance("111111")).isEqualTo(new Decimal128(new BigDecimal("1000.00")));
+        assertThat(balance("222222")).isEqualTo(new Decimal128(new BigDecimal("251.00")));
+        assertThat(balance("333333")).isEqualTo(new Decimal128(new BigDecimal("15.00")));
+        assertThat(balance("444444")).isEqualTo(new Decimal128(new BigDecimal("100")));
+    }
+
+    private String id(String accountNumber) {
+        return accounts().find(Filters.eq("accountNumber", accountNumber)).first().getObjectId("_id").toHexString();
+    }
+
+    private Object balance(String accountNumber) {
+        return accounts().find(Filters.eq("accountNumber", accountNumber)).first().get("balance");
+    }
+
+    private MongoCollection<Document> accounts() {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(BankAccount.class));
+    }
+}
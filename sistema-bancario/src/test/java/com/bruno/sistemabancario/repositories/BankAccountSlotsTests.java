@@ -0,0 +1,100 @@
+package com.bruno.sistemabancario.repositories;
+
+import com.bruno.sistemabancario.domain.model.BalanceSlot;
+import com.bruno.sistemabancario.domain.model.BankAccount;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.BankAccountRepositoryAdapter;
+import com.bruno.sistemabancario.infrastructure.adapter.persistence.BankAccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@Import(BankAccountRepositoryAdapter.class)
+@TestPropertySource(properties = {"banking.hot-accounts.numbers=900001", "banking.hot-accounts.slots=4"})
+public class BankAccountSlotsTests {
+
+    @Autowired
+    private BankAccountRepositoryAdapter adapter;
+
+    @Autowired
+    private BankAccountRepository repository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setup() {
+        repository.deleteAll();
+        mongoTemplate.dropCollection(BalanceSlot.class);
+
+        BankAccount account = new BankAccount();
+        account.setAccountNumber("900001");
+        account.setBalance(BigDecimal.valueOf(100));
+        repository.save(account);
+    }
+
+    @Test
+    void testCreditsSpreadAcrossSlotsAndTotalIsSummed() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> credits = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            credits.add(executor.submit(() -> adapter.credit("900001", BigDecimal.ONE)));
+        }
+        for (Future<Boolean> credit : credits) {
+            assertThat(credit.get()).isTrue();
+        }
+        executor.shutdown();
+
+        assertThat(mongoTemplate.findAll(BalanceSlot.class)).hasSize(3);
+        assertThat(adapter.totalBalance(account())).isEqualByComparingTo("300");
+    }
+
+    @Test
+    void testDebitSweepsAcrossSlots() {
+        for (int i = 0; i < 50; i++) {
+            adapter.credit("900001", BigDecimal.TEN);
+        }
+
+        assertThat(adapter.debit("900001", BigDecimal.valueOf(550))).isTrue();
+
+        assertThat(adapter.totalBalance(account())).isEqualByComparingTo("50");
+    }
+
+    @Test
+    void testDebitAboveTotalFailsAndRestoresSlots() {
+        for (int i = 0; i < 20; i++) {
+            adapter.credit("900001", BigDecimal.TEN);
+        }
+
+        assertThat(adapter.debit("900001", BigDecimal.valueOf(301))).isFalse();
+
+        assertThat(adapter.totalBalance(account())).isEqualByComparingTo("300");
+    }
+
+    @Test
+    void testCreditToMissingHotAccountFails() {
+        repository.deleteAll();
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(adapter.credit("900001", BigDecimal.TEN)).isFalse();
+        }
+        assertThat(mongoTemplate.findAll(BalanceSlot.class)).isEmpty();
+    }
+
+    private BankAccount account() {
+        return repository.findByAccountNumber("900001").orElseThrow();
+    }
+}
@@ -0,0 +1,141 @@
+package com.bruno.sistemabancario.repositories;
+
+import com.bruno.sistemabancario.application.service.BankStatsService;
+import com.bruno.sistemabancario.application.service.LedgerRecorder;
+import com.bruno.sistemabancario.domain.model.BalanceProjection;
+import com.bruno.sistemabancario.domain.model.BankAccount;
+import com.bruno.sistemabancario.domain.model.BankStats;
+import com.bruno.sistemabancario.domain.model.LedgerEntry;
+import com.bruno.sistemabancario.domain.model.Transaction;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.BalanceLedgerAdapter;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.BankStatsAdapter;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.ReportRollupAdapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@Import({BalanceLedgerAdapter.class, LedgerRecorder.class, BankStatsAdapter.class, ReportRollupAdapter.class})
+public class BankStatsTests {
+
+    @Autowired
+    private LedgerRecorder ledgerRecorder;
+
+    @Autowired
+    private BankStatsAdapter bankStatsAdapter;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BankStatsService bankStatsService;
+
+    @BeforeEach
+    void setup() {
+        mongoTemplate.dropCollection(LedgerEntry.class);
+        mongoTemplate.dropCollection(BalanceProjection.class);
+        mongoTemplate.dropCollection(BankStats.class);
+        mongoTemplate.dropCollection(BankAccount.class);
+        mongoTemplate.dropCollection(Transaction.class);
+
+        meterRegistry = new SimpleMeterRegistry();
+        bankStatsService = new BankStatsService(bankStatsAdapter, meterRegistry, 0);
+    }
+
+    @Test
+    void testLedgerAppendsIncrementStatsOnce() {
+        ledgerRecorder.record(List.of(
+                LedgerEntry.opening("111111", BigDecimal.valueOf(1000)),
+                LedgerEntry.opening("222222", BigDecimal.valueOf(1000))));
+
+        var transfer = LedgerEntry.forTransfer(transaction("tx1", "100", "APPROVED"));
+        ledgerRecorder.record(transfer);
+        ledgerRecorder.record(transfer);
+        ledgerRecorder.record(LedgerEntry.forTransfer(transaction("tx2", "40", "APPROVED")));
+        ledgerRecorder.record(LedgerEntry.forReversal(transaction("tx1", "100", "APPROVED")));
+
+        var stats = bankStatsAdapter.load().orElseThrow();
+        assertThat(stats.getTotalAccounts()).isEqualTo(2);
+        assertThat(stats.getApprovedTransactions()).isEqualTo(1);
+        assertThat(stats.getReversedTransactions()).isEqualTo(1);
+        assertThat(stats.totalTransactions()).isEqualTo(2);
+        assertThat(stats.getTotalAmountMoved()).isEqualByComparingTo("140");
+    }
+
+    @Test
+    void testCurrentComputesStatsWhenNeverReconciled() {
+        mongoTemplate.insert(account("111111"));
+        mongoTemplate.insert(transaction("tx1", "100", "APPROVED"));
+        mongoTemplate.insert(transaction("tx2", "25.50", "REVERSED"));
+        mongoTemplate.insert(transaction("tx3", "70", "PENDING"));
+
+        var stats = bankStatsService.current();
+
+        assertThat(stats.getTotalAccounts()).isEqualTo(1);
+        assertThat(stats.totalTransactions()).isEqualTo(3);
+        assertThat(stats.getPendingTransactions()).isEqualTo(1);
+        assertThat(stats.getTotalAmountMoved()).isEqualByComparingTo("125.50");
+        assertThat(stats.getReconciledAt()).isNotNull();
+        assertThat(meterRegistry.get("banking.report.reconcile.drift").counter().count()).isZero();
+    }
+
+    @Test
+    void testComputeFromScratchOnEmptyCollections() {
+        var stats = bankStatsAdapter.computeFromScratch();
+
+        assertThat(stats.getTotalAccounts()).isZero();
+        assertThat(stats.totalTransactions()).isZero();
+        assertThat(stats.getTotalAmountMoved()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void testReconcileCorrectsDrift() {
+        mongoTemplate.insert(account("111111"));
+        mongoTemplate.insert(transaction("tx1", "100", "APPROVED"));
+        bankStatsService.reconcile();
+
+        mongoTemplate.insert(account("222222"));
+        mongoTemplate.insert(transaction("tx2", "30", "REJECTED"));
+
+        var drift = bankStatsService.reconcile();
+
+        assertThat(drift.accounts()).isEqualTo(1);
+        assertThat(drift.rejected()).isEqualTo(1);
+        assertThat(drift.amountMoved()).isEqualByComparingTo("0");
+        assertThat(bankStatsService.reconcile().isEmpty()).isTrue();
+
+        var stats = bankStatsService.current();
+        assertThat(stats.getTotalAccounts()).isEqualTo(2);
+        assertThat(stats.totalTransactions()).isEqualTo(2);
+        assertThat(meterRegistry.get("banking.report.reconcile.drift").counter().count()).isEqualTo(1.0);
+    }
+
+    private BankAccount account(String accountNumber) {
+        BankAccount account = new BankAccount();
+        account.setAccountNumber(accountNumber);
+        account.setBalance(BigDecimal.valueOf(1000));
+        return account;
+    }
+
+    private Transaction transaction(String id, String value, String status) {
+        Transaction transaction = new Transaction();
+        transaction.setId(id);
+        transaction.setSourceAccount("111111");
+        transaction.setDestinationAccount("222222");
+        transaction.setValue(new BigDecimal(value));
+        transaction.setTransactionDate(LocalDate.now());
+        transaction.setStatus(status);
+        return transaction;
+    }
+}
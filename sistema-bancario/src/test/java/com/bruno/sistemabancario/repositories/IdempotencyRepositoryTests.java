@@ -0,0 +1,70 @@
+package com.bruno.sistemabancario.repositories;
+
+import com.bruno.sistemabancario.domain.model.IdempotencyRecord;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.IdempotencyRepositoryAdapter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@Import(IdempotencyRepositoryAdapter.class)
+public class IdempotencyRepositoryTests {
+
+    @Autowired
+    private IdempotencyRepositoryAdapter idempotencyRepositoryAdapter;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setup() {
+        mongoTemplate.dropCollection(IdempotencyRecord.class);
+    }
+
+    @Test
+    void testOnlyTheFirstReservationWins() {
+        var now = Instant.now();
+
+        assertThat(idempotencyRepositoryAdapter.reserve(pending("alice:transaction:key-1", now), now.minus(Duration.ofHours(24)))).isTrue();
+        assertThat(idempotencyRepositoryAdapter.reserve(pending("alice:transaction:key-1", now), now.minus(Duration.ofHours(24)))).isFalse();
+
+        idempotencyRepositoryAdapter.complete(new IdempotencyRecord("alice:transaction:key-1", "request", 200, "approved", now));
+
+        assertThat(idempotencyRepositoryAdapter.findById("alice:transaction:key-1").orElseThrow().getResponse()).isEqualTo("approved");
+    }
+
+    @Test
+    void testExpiredReservationCanBeTakenOver() {
+        var now = Instant.now();
+        idempotencyRepositoryAdapter.reserve(pending("alice:transaction:key-2", now.minus(Duration.ofHours(25))), now.minus(Duration.ofHours(49)));
+
+        assertThat(idempotencyRepositoryAdapter.reserve(pending("alice:transaction:key-2", now), now.minus(Duration.ofHours(24)))).isTrue();
+        assertThat(idempotencyRepositoryAdapter.findById("alice:transaction:key-2").orElseThrow().getCreatedAt()).isAfter(now.minusSeconds(1));
+    }
+
+    @Test
+    void testReleaseOnlyRemovesPendingReservations() {
+        var now = Instant.now();
+        idempotencyRepositoryAdapter.reserve(pending("alice:transaction:key-3", now), now.minus(Duration.ofHours(24)));
+        idempotencyRepositoryAdapter.complete(new IdempotencyRecord("alice:transaction:key-3", "request", 200, "approved", now));
+        idempotencyRepositoryAdapter.reserve(pending("alice:transaction:key-4", now), now.minus(Duration.ofHours(24)));
+
+        idempotencyRepositoryAdapter.release("alice:transaction:key-3");
+        idempotencyRepositoryAdapter.release("alice:transaction:key-4");
+
+        assertThat(idempotencyRepositoryAdapter.findById("alice:transaction:key-3")).isPresent();
+        assertThat(idempotencyRepositoryAdapter.findById("alice:transaction:key-4")).isEmpty();
+    }
+
+    private IdempotencyRecord pending(String id, Instant createdAt) {
+        return new IdempotencyRecord(id, "request", IdempotencyRecord.PENDING, null, createdAt);
+    }
+}
@@ -0,0 +1,84 @@
+package com.bruno.sistemabancario.repositories;
+
+import com.bruno.sistemabancario.domain.model.BankAccount;
+import com.bruno.sistemabancario.domain.model.Transaction;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.BankAccountRepositoryAdapter;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.TransactionRepositoryAdapter;
+import com.bruno.sistemabancario.infrastructure.adapter.persistence.BankAccountRepository;
+import com.bruno.sistemabancario.infrastructure.adapter.persistence.TransactionRepository;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@Import({BankAccountRepositoryAdapter.class, TransactionRepositoryAdapter.class})
+public class JournaledWritesTests {
+
+    @Autowired
+    private BankAccountRepositoryAdapter bankAccountRepositoryAdapter;
+
+    @Autowired
+    private TransactionRepositoryAdapter transactionRepositoryAdapter;
+
+    @Autowired
+    private BankAccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @BeforeEach
+    void setup() {
+        accountRepository.deleteAll();
+        transactionRepository.deleteAll();
+
+        BankAccount source = new BankAccount();
+        source.setAccountNumber("111111");
+        source.setBalance(BigDecimal.valueOf(500));
+
+        BankAccount destination = new BankAccount();
+        destination.setAccountNumber("222222");
+        destination.setBalance(BigDecimal.valueOf(200));
+
+        accountRepository.saveAll(List.of(source, destination));
+    }
+
+    @Test
+    void testJournaledDeltasAreAppliedOncePerSequence() {
+        Map<String, BigDecimal> deltas = Map.of("111111", new BigDecimal("-100"), "222222", new BigDecimal("100"));
+
+        bankAccountRepositoryAdapter.applyJournaledDeltas(deltas, 1);
+        bankAccountRepositoryAdapter.applyJournaledDeltas(deltas, 1);
+        bankAccountRepositoryAdapter.applyJournaledDeltas(deltas, 2);
+
+        assertThat(accountRepository.findByAccountNumber("111111").orElseThrow().getBalance()).isEqualByComparingTo("300");
+        assertThat(accountRepository.findByAccountNumber("222222").orElseThrow().getBalance()).isEqualByComparingTo("400");
+    }
+
+    @Test
+    void testUpsertAllIsIdempotent() {
+        Transaction transaction = new Transaction();
+        transaction.setId(new ObjectId().toHexString());
+        transaction.setSourceAccount("111111");
+        transaction.setDestinationAccount("222222");
+        transaction.setValue(new BigDecimal("100"));
+        transaction.setTransactionDate(LocalDate.now());
+        transaction.setStatus("APPROVED");
+
+        transactionRepositoryAdapter.upsertAll(List.of(transaction));
+        transaction.setStatus("REVERSED");
+        transactionRepositoryAdapter.upsertAll(List.of(transaction));
+
+        assertThat(transactionRepository.count()).isEqualTo(1);
+        assertThat(transactionRepository.findById(transaction.getId()).orElseThrow().getStatus()).isEqualTo("REVERSED");
+    }
+}
@@ -0,0 +1,69 @@
+package com.bruno.sistemabancario.repositories;
+
+import com.bruno.sistemabancario.domain.model.BalanceSlot;
+import com.bruno.sistemabancario.domain.model.BankAccount;
+import com.bruno.sistemabancario.domain.model.IdempotencyRecord;
+import com.bruno.sistemabancario.domain.model.LedgerEntry;
+import com.bruno.sistemabancario.domain.model.Transaction;
+import com.bruno.sistemabancario.domain.model.User;
+import com.bruno.sistemabancario.infrastructure.config.MongoIndexBootstrap;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@Import(MongoIndexBootstrap.class)
+public class MongoIndexBootstrapTests {
+
+    @Autowired
+    private MongoIndexBootstrap mongoIndexBootstrap;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Test
+    void testRequiredIndexesAreCreated() {
+        assertThat(mongoIndexBootstrap.ensureIndexes()).isEmpty();
+
+        assertThat(mongoTemplate.indexOps(BankAccount.class).getIndexInfo())
+                .anySatisfy(index -> {
+                    assertThat(index.isIndexForFields(List.of("accountNumber"))).isTrue();
+                    assertThat(index.isUnique()).isTrue();
+                });
+        assertThat(mongoTemplate.indexOps(User.class).getIndexInfo())
+                .anySatisfy(index -> assertThat(index.isUnique() && index.isIndexForFields(List.of("username"))).isTrue());
+        assertThat(mongoTemplate.indexOps(Transaction.class).getIndexInfo())
+                .extracting(IndexInfo::getName)
+                .contains("status_1", "sourceAccount_1_transactionDate_-1__id_-1", "destinationAccount_1_transactionDate_-1__id_-1");
+        assertThat(mongoTemplate.indexOps(BalanceSlot.class).getIndexInfo())
+                .extracting(IndexInfo::getName)
+                .contains("accountNumber_1");
+        assertThat(mongoTemplate.indexOps(LedgerEntry.class).getIndexInfo())
+                .extracting(IndexInfo::getName)
+                .contains("accountNumber_1_createdAt_1", "createdAt_1");
+        assertThat(mongoTemplate.indexOps(IdempotencyRecord.class).getIndexInfo())
+                .anySatisfy(index -> {
+                    assertThat(index.isIndexForFields(List.of("createdAt"))).isTrue();
+                    assertThat(index.getExpireAfter()).hasValue(Duration.ofHours(24));
+                });
+    }
+
+    @Test
+    void testCollectionScanIsFoundInNestedPlans() {
+        var indexed = Document.parse("{stage: 'FETCH', inputStage: {stage: 'IXSCAN', indexName: 'accountNumber_1'}}");
+        var orPlan = Document.parse("{stage: 'SUBPLAN', inputStage: {stage: 'OR', inputStages: ["
+                + "{stage: 'IXSCAN', indexName: 'sourceAccount_1_transactionDate_-1'}, {stage: 'COLLSCAN'}]}}");
+
+        assertThat(MongoIndexBootstrap.hasCollectionScan(indexed)).isFalse();
+        assertThat(MongoIndexBootstrap.hasCollectionScan(orPlan)).isTrue();
+    }
+}
@@ -0,0 +1,101 @@
+package com.bruno.sistemabancario.repositories;
+
+import com.bruno.sistemabancario.application.ports.output.ParticipantsMigrationPort;
+import com.bruno.sistemabancario.application.service.ParticipantsMigrationService;
+import com.bruno.sistemabancario.domain.model.Transaction;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.ParticipantsMigrationAdapter;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.TransactionRepositoryAdapter;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@Import({ParticipantsMigrationAdapter.class, ParticipantsMigrationService.class, TransactionRepositoryAdapter.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties = {"banking.migration.transaction-participants.enabled=false",
+        "banking.migration.transaction-participants.chunk-size=2", "banking.migration.transaction-participants.pause-ms=0"})
+public class ParticipantsMigrationTests {
+
+    @Autowired
+    private ParticipantsMigrationAdapter participantsMigrationAdapter;
+
+    @Autowired
+    private ParticipantsMigrationService participantsMigrationService;
+
+    @Autowired
+    private TransactionRepositoryAdapter transactionRepositoryAdapter;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setup() {
+        mongoTemplate.dropCollection(Transaction.class);
+        mongoTemplate.dropCollection("migrations");
+        transactionRepositoryAdapter.useParticipantsIndex(false);
+
+        transactions().insertMany(List.of(
+                legacy("t1", "111111", "222222"),
+                legacy("t2", "222222", "333333"),
+                legacy("t3", "333333", "111111"),
+                new Document("_id", "t4").append("sourceAccount", "444444").append("destinationAccount", "555555")
+                        .append("participants", List.of("444444", "555555"))));
+    }
+
+    @Test
+    void testMigrationBackfillsParticipantsAndSwitchesHistoryQueries() {
+        assertThat(participantsMigrationService.migrate()).isEqualTo(3);
+
+        assertThat(transactions().find(Filters.eq("_id", "t2")).first().getList("participants", String.class))
+                .containsExactly("222222", "333333");
+        assertThat(participantsMigrationAdapter.loadCheckpoint().completed()).isTrue();
+        assertThat(participantsMigrationService.migrate()).isZero();
+
+        transactions().insertOne(new Document("_id", "t5").append("participants", List.of("111111")));
+        assertThat(transactionRepositoryAdapter.findAllByAccountNumber("111111", PageRequest.of(0, 10)).getContent())
+                .extracting(Transaction::getId)
+                .containsExactlyInAnyOrder("t1", "t3", "t5");
+    }
+
+    @Test
+    void testMigrationResumesFromCheckpoint() {
+        participantsMigrationAdapter.saveCheckpoint(new ParticipantsMigrationPort.Checkpoint("t2", 2, false));
+
+        assertThat(participantsMigrationService.migrate()).isEqualTo(1);
+
+        assertThat(transactions().find(Filters.eq("_id", "t1")).first().containsKey("participants")).isFalse();
+        assertThat(participantsMigrationAdapter.loadCheckpoint().migrated()).isEqualTo(3);
+    }
+
+    @Test
+    void testSavedTransactionsCarryParticipants() {
+        Transaction transaction = new Transaction();
+        transaction.setSourceAccount("666666");
+        transaction.setDestinationAccount("777777");
+
+        var saved = transactionRepositoryAdapter.save(transaction);
+
+        assertThat(mongoTemplate.findById(saved.getId(), Transaction.class).getParticipants())
+                .containsExactly("666666", "777777");
+    }
+
+    private MongoCollection<Document> transactions() {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(Transaction.class));
+    }
+
+    private Document legacy(String id, String sourceAccount, String destinationAccount) {
+        return new Document("_id", id).append("sourceAccount", sourceAccount).append("destinationAccount", destinationAccount);
+    }
+}
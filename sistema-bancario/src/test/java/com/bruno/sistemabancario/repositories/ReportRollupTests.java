@@ -0,0 +1,108 @@
+package com.bruno.sistemabancario.repositories;
+
+import com.bruno.sistemabancario.application.service.LedgerRecorder;
+import com.bruno.sistemabancario.domain.model.BalanceProjection;
+import com.bruno.sistemabancario.domain.model.BankStats;
+import com.bruno.sistemabancario.domain.model.LedgerEntry;
+import com.bruno.sistemabancario.domain.model.ReportBucket;
+import com.bruno.sistemabancario.domain.model.Transaction;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.BalanceLedgerAdapter;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.BankStatsAdapter;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.ReportRollupAdapter;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@Import({BalanceLedgerAdapter.class, LedgerRecorder.class, BankStatsAdapter.class, ReportRollupAdapter.class})
+public class ReportRollupTests {
+
+    private static final Instant TEN_AM = Instant.parse("2026-03-10T10:15:00Z");
+
+    @Autowired
+    private LedgerRecorder ledgerRecorder;
+
+    @Autowired
+    private ReportRollupAdapter reportRollupAdapter;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setup() {
+        mongoTemplate.dropCollection(LedgerEntry.class);
+        mongoTemplate.dropCollection(BalanceProjection.class);
+        mongoTemplate.dropCollection(BankStats.class);
+        mongoTemplate.dropCollection(ReportBucket.class);
+        mongoTemplate.dropCollection(Transaction.class);
+    }
+
+    @Test
+    void testLedgerAppendsFillBucketsOfTheTransactionCreationTime() {
+        var first = transaction(TEN_AM, "100", "APPROVED");
+        var second = transaction(TEN_AM.plusSeconds(3600), "40", "APPROVED");
+
+        ledgerRecorder.record(LedgerEntry.forTransfer(first));
+        ledgerRecorder.record(LedgerEntry.forTransfer(first));
+        ledgerRecorder.record(LedgerEntry.forTransfer(second));
+        ledgerRecorder.record(LedgerEntry.forReversal(first));
+
+        var hours = reportRollupAdapter.findBuckets(ReportBucket.Granularity.HOUR,
+                Instant.parse("2026-03-10T00:00:00Z"), Instant.parse("2026-03-11T00:00:00Z"));
+        assertThat(hours).extracting(ReportBucket::getStart)
+                .containsExactly(Instant.parse("2026-03-10T10:00:00Z"), Instant.parse("2026-03-10T11:00:00Z"));
+        assertThat(hours.get(0).getApprovedTransactions()).isZero();
+        assertThat(hours.get(0).getReversedTransactions()).isEqualTo(1);
+        assertThat(hours.get(0).getTotalAmountMoved()).isEqualByComparingTo("100");
+
+        var days = reportRollupAdapter.findBuckets(ReportBucket.Granularity.DAY,
+                Instant.parse("2026-03-10T00:00:00Z"), Instant.parse("2026-03-11T00:00:00Z"));
+        assertThat(days).hasSize(1);
+        assertThat(days.get(0).totalTransactions()).isEqualTo(2);
+        assertThat(days.get(0).getTotalAmountMoved()).isEqualByComparingTo("140");
+    }
+
+    @Test
+    void testRebuildReplacesBucketsFromTransactionHistory() {
+        mongoTemplate.insert(transaction(TEN_AM, "100", "APPROVED"));
+        mongoTemplate.insert(transaction(TEN_AM.plusSeconds(60), "20", "REVERSED"));
+        mongoTemplate.insert(transaction(TEN_AM.plusSeconds(86400), "5", "REJECTED"));
+        mongoTemplate.insert(transaction(Instant.parse("2026-03-12T08:00:00Z"), "70", "APPROVED"));
+
+        ledgerRecorder.record(LedgerEntry.forTransfer(transaction(TEN_AM.plusSeconds(120), "999", "APPROVED")));
+
+        assertThat(reportRollupAdapter.rebuild(Instant.parse("2026-03-12T00:00:00Z"))).isEqualTo(4);
+
+        var days = reportRollupAdapter.findBuckets(ReportBucket.Granularity.DAY,
+                Instant.parse("2026-03-01T00:00:00Z"), Instant.parse("2026-03-31T00:00:00Z"));
+        assertThat(days).extracting(ReportBucket::getStart)
+                .containsExactly(Instant.parse("2026-03-10T00:00:00Z"), Instant.parse("2026-03-11T00:00:00Z"));
+        assertThat(days.get(0).getApprovedTransactions()).isEqualTo(1);
+        assertThat(days.get(0).getReversedTransactions()).isEqualTo(1);
+        assertThat(days.get(0).getTotalAmountMoved()).isEqualByComparingTo("120");
+        assertThat(days.get(1).getRejectedTransactions()).isEqualTo(1);
+    }
+
+    private Transaction transaction(Instant createdAt, String value, String status) {
+        Transaction transaction = new Transaction();
+        transaction.setId(new ObjectId(Date.from(createdAt)).toHexString());
+        transaction.setSourceAccount("111111");
+        transaction.setDestinationAccount("222222");
+        transaction.setValue(new BigDecimal(value));
+        transaction.setTransactionDate(LocalDate.ofInstant(createdAt, ZoneOffset.UTC));
+        transaction.setStatus(status);
+        return transaction;
+    }
+}
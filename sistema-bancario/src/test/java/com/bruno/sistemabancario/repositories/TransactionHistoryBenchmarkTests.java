@@ -0,0 +1,113 @@
+package com.bruno.sistemabancario.repositories;
+
+import com.bruno.sistemabancario.domain.model.Transaction;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.TransactionRepositoryAdapter;
+import com.bruno.sistemabancario.infrastructure.config.MongoIndexBootstrap;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares account history lookups through the {@code $or} on source and destination with the
+ * {@code participants} index. Excluded from the default build; run it with {@code mvn test -Pbenchmark},
+ * adding {@code -Dbenchmark.transactions=3000000} against a real MongoDB to measure at scale.
+ */
+@Tag("benchmark")
+@DataMongoTest
+@Import({TransactionRepositoryAdapter.class, MongoIndexBootstrap.class})
+@TestPropertySource(properties = {"banking.indexes.bootstrap.enabled=false"})
+public class TransactionHistoryBenchmarkTests {
+
+    private static final Logger logger = Logger.getLogger(TransactionHistoryBenchmarkTests.class.getName());
+
+    private static final int TRANSACTIONS = Integer.getInteger("benchmark.transactions", 5000);
+    private static final int ACCOUNTS = Math.max(TRANSACTIONS / 200, 10);
+    private static final int LOOKUPS = 200;
+
+    @Autowired
+    private TransactionRepositoryAdapter transactionRepositoryAdapter;
+
+    @Autowired
+    private MongoIndexBootstrap mongoIndexBootstrap;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setup() {
+        mongoTemplate.dropCollection(Transaction.class);
+        mongoIndexBootstrap.ensureIndexes();
+
+        var random = new Random(42);
+        var collection = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Transaction.class));
+        List<Document> batch = new ArrayList<>();
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            var source = account(random.nextInt(ACCOUNTS));
+            var destination = account(random.nextInt(ACCOUNTS));
+            batch.add(new Document("sourceAccount", source)
+                    .append("destinationAccount", destination)
+                    .append("participants", List.of(source, destination))
+                    .append("transactionDate", LocalDate.of(2026, 1, 1).plusDays(random.nextInt(365)))
+                    .append("status", "APPROVED"));
+
+            if (batch.size() == 10000) {
+                collection.insertMany(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) collection.insertMany(batch);
+    }
+
+    @Test
+    void testParticipantsQueryAgainstOrQuery() {
+        transactionRepositoryAdapter.useParticipantsIndex(false);
+        long orNanos = time(() -> lookups(0));
+
+        transactionRepositoryAdapter.useParticipantsIndex(true);
+        long participantsNanos = time(() -> lookups(0));
+
+        logger.info(String.format("%d history lookups over %d transactions: $or %.1f ms, participants %.1f ms",
+                LOOKUPS, TRANSACTIONS, orNanos / 1e6, participantsNanos / 1e6));
+
+        transactionRepositoryAdapter.useParticipantsIndex(false);
+        var expected = lookups(0);
+        transactionRepositoryAdapter.useParticipantsIndex(true);
+        assertThat(lookups(0)).isEqualTo(expected);
+    }
+
+    private long lookups(int page) {
+        long found = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            found += transactionRepositoryAdapter
+                    .findAllByAccountNumber(account(i % ACCOUNTS), PageRequest.of(page, 20))
+                    .getTotalElements();
+        }
+        return found;
+    }
+
+    private long time(Supplier<Long> lookups) {
+        long start = System.nanoTime();
+        lookups.get();
+        return System.nanoTime() - start;
+    }
+
+    private String account(int index) {
+        return String.valueOf(300000 + index);
+    }
+}
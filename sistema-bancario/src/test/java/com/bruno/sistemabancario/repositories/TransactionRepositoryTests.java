@@ -1,23 +1,36 @@
 package com.bruno.sistemabancario.repositories;
 
 import com.bruno.sistemabancario.domain.model.Transaction;
+import com.bruno.sistemabancario.domain.model.TransactionCursor;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.TransactionRepositoryAdapter;
 import com.bruno.sistemabancario.infrastructure.adapter.persistence.TransactionRepository;
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.context.annotation.Import;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 @DataMongoTest
+@Import(TransactionRepositoryAdapter.class)
 public class TransactionRepositoryTests {
 
     @Autowired
     private TransactionRepository repository;
 
+    @Autowired
+    private TransactionRepositoryAdapter transactionRepositoryAdapter;
+
     @BeforeEach
     void setup() {
         repository.deleteAll();
@@ -69,4 +82,111 @@ public class TransactionRepositoryTests {
         assertThat(pendingCount).isEqualTo(1);
         assertThat(canceledCount).isEqualTo(0);
     }
+
+    @Test
+    void testCompareAndSetStatusOnlyWinsOnce() {
+        assertThat(transactionRepositoryAdapter.compareAndSetStatus("2", "PENDING", "APPROVED"))
+                .hasValueSatisfying(transaction -> assertThat(transaction.getStatus()).isEqualTo("APPROVED"));
+        assertThat(transactionRepositoryAdapter.compareAndSetStatus("2", "PENDING", "APPROVED")).isEmpty();
+        assertThat(repository.findById("2").orElseThrow().getStatus()).isEqualTo("APPROVED");
+    }
+
+    @Test
+    void testFindAllByAccountNumberAfterWalksPagesInStableOrder() {
+        var ids = new ArrayList<String>();
+        for (int i = 0; i < 5; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setId(new ObjectId().toHexString());
+            transaction.setSourceAccount(i % 2 == 0 ? "777777" : "888888");
+            transaction.setDestinationAccount(i % 2 == 0 ? "888888" : "777777");
+            transaction.setTransactionDate(i < 3 ? LocalDate.of(2026, 3, 10) : LocalDate.of(2026, 3, 11));
+            transaction.setStatus("APPROVED");
+            repository.save(transaction);
+            ids.add(transaction.getId());
+        }
+
+        var first = transactionRepositoryAdapter.findAllByAccountNumberAfter("777777", null, 2);
+        var second = transactionRepositoryAdapter.findAllByAccountNumberAfter("777777", TransactionCursor.after(first.get(1)), 2);
+        var third = transactionRepositoryAdapter.findAllByAccountNumberAfter("777777", TransactionCursor.after(second.get(1)), 2);
+
+        assertThat(first).extracting("id").containsExactly(ids.get(4), ids.get(3));
+        assertThat(second).extracting("id").containsExactly(ids.get(2), ids.get(1));
+        assertThat(third).extracting("id").containsExactly(ids.get(0));
+    }
+
+    @Test
+    void testParticipantsQueryReturnsTheSameRowsAsTheOrQuery() {
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setId(new ObjectId().toHexString());
+            transaction.setSourceAccount(String.valueOf(600000 + i % 4));
+            transaction.setDestinationAccount(String.valueOf(600000 + (i * 3) % 5));
+            transaction.setTransactionDate(LocalDate.of(2026, 3, 1).plusDays(i % 7));
+            transaction.setStatus("APPROVED");
+            transactions.add(transaction);
+        }
+        transactionRepositoryAdapter.saveAll(transactions);
+
+        var newestFirst = Sort.by(Sort.Direction.DESC, "transactionDate", "_id");
+        try {
+            for (int account = 600000; account < 600005; account++) {
+                for (int page = 0; page < 3; page++) {
+                    transactionRepositoryAdapter.useParticipantsIndex(false);
+                    Page<Transaction> or = transactionRepositoryAdapter.findAllByAccountNumber(String.valueOf(account), PageRequest.of(page, 5, newestFirst));
+                    transactionRepositoryAdapter.useParticipantsIndex(true);
+                    Page<Transaction> participants = transactionRepositoryAdapter.findAllByAccountNumber(String.valueOf(account), PageRequest.of(page, 5, newestFirst));
+
+                    assertThat(participants.getTotalElements()).isEqualTo(or.getTotalElements());
+                    assertThat(participants.getContent()).extracting("id").containsExactlyElementsOf(
+                            or.getContent().stream().map(Transaction::getId).toList());
+                }
+            }
+        } finally {
+            transactionRepositoryAdapter.useParticipantsIndex(false);
+        }
+    }
+
+    @Test
+    void testFindSliceByAccountNumberReportsNextPageWithoutTotal() {
+        Slice<Transaction> first = transactionRepositoryAdapter.findSliceByAccountNumber("3123124", PageRequest.of(0, 1));
+        Slice<Transaction> second = transactionRepositoryAdapter.findSliceByAccountNumber("3123124", PageRequest.of(1, 1));
+
+        assertThat(first).isNotInstanceOf(Page.class);
+        assertThat(first.getContent()).hasSize(1);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.getContent()).hasSize(1);
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @Test
+    void testApproximateCountByAccountNumberIsServedFromCache() {
+        assertThat(transactionRepositoryAdapter.approximateCountByAccountNumber("3123124")).isEqualTo(2);
+
+        Transaction t4 = new Transaction();
+        t4.setId("4");
+        t4.setSourceAccount("3123124");
+        t4.setDestinationAccount("543232");
+        repository.save(t4);
+
+        assertThat(transactionRepositoryAdapter.approximateCountByAccountNumber("3123124")).isEqualTo(2);
+        assertThat(transactionRepositoryAdapter.approximateCountByAccountNumber("543232")).isEqualTo(2);
+    }
+
+    @Test
+    void testPendingTransfersAreRecoveredUntilClaimed() {
+        Transaction pending = new Transaction();
+        pending.setId(new ObjectId().toHexString());
+        pending.setStatus("PENDING");
+        repository.save(pending);
+
+        var cutoff = Instant.now().plusSeconds(1);
+        assertThat(transactionRepositoryAdapter.findUnclaimedPending(cutoff, null, 10)).extracting("id").containsExactly(pending.getId());
+
+        assertThat(transactionRepositoryAdapter.claimPending(pending.getId())).isTrue();
+        assertThat(transactionRepositoryAdapter.claimPending(pending.getId())).isFalse();
+
+        assertThat(transactionRepositoryAdapter.findUnclaimedPending(cutoff, null, 10)).isEmpty();
+        assertThat(transactionRepositoryAdapter.countClaimedPending(cutoff)).isEqualTo(1);
+    }
 }
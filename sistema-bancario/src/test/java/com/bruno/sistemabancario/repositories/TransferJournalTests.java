@@ -0,0 +1,140 @@
+package com.bruno.sistemabancario.repositories;
+
+import com.bruno.sistemabancario.application.ports.output.TransferJournalPort;
+import com.bruno.sistemabancario.domain.model.Transaction;
+import com.bruno.sistemabancario.infrastructure.adapter.out.journal.TransferJournalAdapter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TransferJournalTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testAppendedRecordsAreReplayedAfterRestart() throws Exception {
+        var journal = open(64);
+        append(journal, 3);
+        journal.close();
+
+        var reopened = open(64);
+        List<Long> sequences = new ArrayList<>();
+        List<Transaction> transactions = new ArrayList<>();
+        reopened.replay((transaction, sequence) -> {
+            transactions.add(transaction);
+            sequences.add(sequence);
+        });
+        reopened.close();
+
+        assertThat(sequences).containsExactly(1L, 2L, 3L);
+        assertThat(transactions.get(2).getId()).isEqualTo("tx3");
+        assertThat(transactions.get(2).getValue()).isEqualByComparingTo("3.50");
+        assertThat(transactions.get(2).getStatus()).isEqualTo("APPROVED");
+    }
+
+    @Test
+    void testReplayStartsAfterCheckpoint() throws Exception {
+        var journal = open(64);
+        append(journal, 2);
+        journal.markApplied(journal.tail());
+        append(journal, 2);
+        journal.close();
+
+        var reopened = open(64);
+        List<Long> sequences = new ArrayList<>();
+        reopened.replay((transaction, sequence) -> sequences.add(sequence));
+
+        assertThat(sequences).containsExactly(3L, 4L);
+
+        reopened.markApplied(reopened.tail());
+        append(reopened, 1);
+        assertThat(reopened.tail().sequence()).isEqualTo(5L);
+        reopened.close();
+    }
+
+    @Test
+    void testReplayStopsAtTornRecord() throws Exception {
+        var journal = open(64);
+        append(journal, 3);
+        journal.close();
+
+        Path segment;
+        try (var files = Files.list(directory)) {
+            segment = files.filter(path -> path.toString().endsWith(".journal")).sorted().findFirst().orElseThrow();
+        }
+        try (var channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            var header = ByteBuffer.allocate(4);
+            channel.read(header, 0);
+            int firstFrame = 16 + header.flip().getInt();
+            channel.write(ByteBuffer.wrap(new byte[]{42}), firstFrame + 20);
+        }
+
+        var reopened = open(64);
+        List<Long> sequences = new ArrayList<>();
+        reopened.replay((transaction, sequence) -> sequences.add(sequence));
+        reopened.close();
+
+        assertThat(sequences).containsExactly(1L);
+    }
+
+    @Test
+    void testFullSegmentsRollOverAndAppliedSegmentsAreDeleted() throws Exception {
+        var journal = open(1);
+        append(journal, 20000);
+
+        assertThat(segmentCount()).isGreaterThan(1);
+
+        journal.markApplied(journal.tail());
+        journal.close();
+
+        assertThat(segmentCount()).isEqualTo(1);
+
+        var reopened = open(1);
+        List<Long> sequences = new ArrayList<>();
+        reopened.replay((transaction, sequence) -> sequences.add(sequence));
+        reopened.close();
+
+        assertThat(sequences).isEmpty();
+    }
+
+    private TransferJournalAdapter open(int segmentSizeMb) throws IOException {
+        return new TransferJournalAdapter(directory.toString(), segmentSizeMb, 2, 64);
+    }
+
+    private void append(TransferJournalPort journal, int count) throws Exception {
+        List<CompletableFuture<Void>> acks = new ArrayList<>();
+        long first = journal.tail().sequence();
+        for (int i = 1; i <= count; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setId("tx" + (first + i));
+            transaction.setSourceAccount("111111");
+            transaction.setDestinationAccount("222222");
+            transaction.setValue(new BigDecimal(first + i).add(new BigDecimal("0.50")));
+            transaction.setTransactionDate(LocalDate.now());
+            transaction.setStatus("APPROVED");
+            acks.add(journal.append(transaction));
+        }
+        CompletableFuture.allOf(acks.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+    }
+
+    private long segmentCount() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".journal")).count();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.bruno.sistemabancario.services;
+
+import com.bruno.sistemabancario.adapter.cli.AccountImportRunner;
+import com.bruno.sistemabancario.adapter.dtos.response.RejectedRowDTO;
+import com.bruno.sistemabancario.application.ports.input.AccountImportUseCase;
+import com.bruno.sistemabancario.application.ports.output.BankAccountRepositoryPort;
+import com.bruno.sistemabancario.application.service.AccountImportService;
+import com.bruno.sistemabancario.application.service.AccountNumberAllocator;
+import com.bruno.sistemabancario.application.service.AccountNumberFilter;
+import com.bruno.sistemabancario.application.service.LedgerRecorder;
+import com.bruno.sistemabancario.domain.exceptions.BadRequest;
+import com.bruno.sistemabancario.domain.model.BankAccount;
+import com.bruno.sistemabancario.domain.utils.Code;
+import com.bruno.sistemabancario.domain.utils.CustomMessageResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AccountImportServiceTests {
+
+    @Mock
+    private BankAccountRepositoryPort accountRepository;
+
+    @Mock
+    private LedgerRecorder ledgerRecorder;
+
+    @Mock
+    private AccountNumberAllocator accountNumberAllocator;
+
+    @Mock
+    private AccountNumberFilter accountNumberFilter;
+
+    @Mock
+    private CustomMessageResolver customMessageResolver;
+
+    @TempDir
+    private Path directory;
+
+    private AccountImportService accountImportService;
+
+    private final List<BankAccount> inserted = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        accountImportService = new AccountImportService(accountRepository, ledgerRecorder, accountNumberAllocator, accountNumberFilter,
+                customMessageResolver, Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(),
+                new SimpleMeterRegistry(), 2, 1, 1);
+
+        var numbers = new AtomicLong(10000000);
+        when(accountNumberAllocator.next()).thenAnswer(invocation -> String.valueOf(numbers.getAndIncrement()));
+        when(accountRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<BankAccount> batch = List.copyOf(invocation.getArgument(0));
+            inserted.addAll(batch);
+            return batch;
+        });
+    }
+
+    @Test
+    void testCsvImportInsertsValidRowsInBatchesAndReturnsRejectedRows() {
+        var csv = """
+                cpf,name
+                12345678901,"Silva, João"
+                123,Maria
+
+                98765432100,Ana
+                11122233344,"Pedro ""Pepe"" Souza"
+                55566677788,
+                """;
+
+        var result = accountImportService.importAccounts(input(csv), AccountImportUseCase.Format.CSV, null);
+
+        assertEquals(5, result.getRows());
+        assertEquals(3, result.getImported());
+        assertEquals(2, result.getRejected());
+        verify(accountRepository, times(2)).insertAll(anyList());
+        verify(ledgerRecorder, times(2)).record(anyList());
+        verify(accountNumberFilter, times(3)).add(any());
+
+        assertEquals(List.of("Silva, João", "Ana", "Pedro \"Pepe\" Souza"), inserted.stream().map(BankAccount::getName).toList());
+        assertEquals("10000000", inserted.get(0).getAccountNumber());
+
+        assertNull(result.getRejectedRowsFile());
+        assertEquals(List.of(new RejectedRowDTO(3, "CPF must contain 11 digits", "123,Maria")), result.getRejectedRows());
+    }
+
+    @Test
+    void testNdjsonImportRejectsMalformedLines() throws Exception {
+        var ndjson = """
+                {"name": "João Silva", "cpf": "12345678901"}
+                {"name": "Maria", "cpf":
+                {}
+                """;
+        var rejectedFile = directory.resolve("rejected.csv");
+
+        var result = accountImportService.importAccounts(input(ndjson), AccountImportUseCase.Format.NDJSON, rejectedFile);
+
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getRejected());
+        assertEquals(rejectedFile.toString(), result.getRejectedRowsFile());
+        assertTrue(result.getRejectedRows().isEmpty());
+
+        var rejected = Files.readAllLines(rejectedFile);
+        assertEquals(3, rejected.size());
+        assertTrue(rejected.get(1).startsWith("2,\"Malformed JSON"));
+        assertEquals("3,\"CPF is required; Name is required\",\"{}\"", rejected.get(2));
+    }
+
+    @Test
+    void testCsvHeaderWithoutRequiredColumnsIsRejected() {
+        when(customMessageResolver.getMessage(Code.IMPORT_INVALID_HEADER)).thenReturn("Invalid header!");
+
+        var ex = assertThrows(BadRequest.class,
+                () -> accountImportService.importAccounts(input("name,document\nJoão,12345678901\n"), AccountImportUseCase.Format.CSV, null));
+
+        assertEquals("Invalid header!", ex.getMessage());
+        verify(accountRepository, never()).insertAll(anyList());
+    }
+
+    @Test
+    void testCleanImportWritesNoRejectedFile() {
+        var result = accountImportService.importAccounts(input("João,12345678901\n"), AccountImportUseCase.Format.CSV, null);
+
+        ArgumentCaptor<List<BankAccount>> batch = ArgumentCaptor.forClass(List.class);
+        verify(accountRepository).insertAll(batch.capture());
+        assertEquals("12345678901", batch.getValue().get(0).getCpf());
+        assertEquals(1, result.getImported());
+        assertNull(result.getRejectedRowsFile());
+    }
+
+    @Test
+    void testImportRunnerReportsRejectedRowsThroughTheExitCode() throws Exception {
+        var file = Files.writeString(directory.resolve("accounts.csv"), "João,12345678901\nMaria,\n");
+        var runner = new AccountImportRunner(accountImportService);
+
+        runner.run(new DefaultApplicationArguments("--import-accounts=" + file));
+
+        assertTrue(runner.hasImported());
+        assertEquals(1, runner.getExitCode());
+    }
+
+    @Test
+    void testImportRunnerDoesNothingWithoutTheImportOption() throws Exception {
+        var runner = new AccountImportRunner(accountImportService);
+
+        runner.run(new DefaultApplicationArguments("--server.port=8080"));
+
+        assertFalse(runner.hasImported());
+        assertEquals(0, runner.getExitCode());
+        verify(accountRepository, never()).insertAll(anyList());
+    }
+
+    private ByteArrayInputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
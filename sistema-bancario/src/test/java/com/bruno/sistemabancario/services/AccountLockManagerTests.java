@@ -0,0 +1,88 @@
+package com.bruno.sistemabancario.services;
+
+import com.bruno.sistemabancario.application.service.AccountLockManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AccountLockManagerTests {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AccountLockManager accountLockManager;
+
+    private int unguardedCounter;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        accountLockManager = new AccountLockManager(8, meterRegistry);
+    }
+
+    @Test
+    void testOppositeDirectionTransfersDoNotDeadlock() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<Integer>> results = new ArrayList<>();
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        results.add(executor.submit(() -> accountLockManager.withAccounts("123456", "654321", () -> {
+            holding.countDown();
+            awaitUninterruptibly(release);
+            return ++unguardedCounter;
+        })));
+        assertTrue(holding.await(10, TimeUnit.SECONDS));
+
+        for (int i = 0; i < 20000; i++) {
+            boolean forward = i % 2 == 0;
+            results.add(executor.submit(() -> accountLockManager.withAccounts(
+                    forward ? "123456" : "654321", forward ? "654321" : "123456", () -> ++unguardedCounter)));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (contended() == 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        for (Future<Integer> result : results) {
+            result.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(20001, unguardedCounter);
+        assertTrue(contended() > 0);
+    }
+
+    @Test
+    void testSameStripeIsLockedOnce() {
+        String result = accountLockManager.withAccounts("123456", "123456", () -> "done");
+
+        assertEquals("done", result);
+    }
+
+    private double contended() {
+        return meterRegistry.find("banking.account.lock.contended").counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+
+    private void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
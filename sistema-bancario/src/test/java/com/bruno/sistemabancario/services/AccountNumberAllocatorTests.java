@@ -0,0 +1,89 @@
+package com.bruno.sistemabancario.services;
+
+import com.bruno.sistemabancario.application.ports.output.AccountNumberBlockPort;
+import com.bruno.sistemabancario.application.service.AccountNumberAllocator;
+import com.bruno.sistemabancario.domain.utils.AccountNumbers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AccountNumberAllocatorTests {
+
+    @Mock
+    private AccountNumberBlockPort accountNumberBlockPort;
+
+    private final AtomicLong counter = new AtomicLong();
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        when(accountNumberBlockPort.reserveBlock(anyInt()))
+                .thenAnswer(invocation -> counter.getAndAdd(invocation.<Integer>getArgument(0)));
+    }
+
+    @Test
+    void testNumbersCarryCheckDigitAndReserveOneBlockAtATime() {
+        var allocator = new AccountNumberAllocator(accountNumberBlockPort, 1000000, 10);
+
+        assertEquals("10000008", allocator.next());
+        for (int i = 0; i < 9; i++) allocator.next();
+        verify(accountNumberBlockPort, times(1)).reserveBlock(10);
+
+        var eleventh = allocator.next();
+        assertEquals("1000010", eleventh.substring(0, 7));
+        assertTrue(AccountNumbers.isValid(eleventh));
+        verify(accountNumberBlockPort, times(2)).reserveBlock(10);
+    }
+
+    @Test
+    void testCheckDigitRejectsTypos() {
+        assertTrue(AccountNumbers.isValid("79927398713"));
+        assertFalse(AccountNumbers.isValid("79927398710"));
+        assertFalse(AccountNumbers.isValid("79927389713"));
+        assertFalse(AccountNumbers.isValid("12a4"));
+    }
+
+    @Test
+    void testNumbersOlderThanTheAllocatorNeedNoCheckDigit() {
+        assertTrue(AccountNumbers.isAcceptable("123456", 1000000));
+        assertTrue(AccountNumbers.isAcceptable("10000008", 1000000));
+        assertFalse(AccountNumbers.isAcceptable("10000009", 1000000));
+    }
+
+    @Test
+    void testConcurrentAllocationNeverRepeatsNumbers() throws Exception {
+        var allocator = new AccountNumberAllocator(accountNumberBlockPort, 1000000, 50);
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < 1000; j++) numbers.add(allocator.next());
+            }));
+        }
+        for (Future<?> future : futures) future.get();
+        executor.shutdown();
+
+        assertEquals(16000, numbers.size());
+        verify(accountNumberBlockPort, times(320)).reserveBlock(50);
+    }
+}
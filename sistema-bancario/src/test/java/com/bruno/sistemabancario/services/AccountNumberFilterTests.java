@@ -0,0 +1,92 @@
+package com.bruno.sistemabancario.services;
+
+import com.bruno.sistemabancario.application.ports.output.BankAccountRepositoryPort;
+import com.bruno.sistemabancario.application.service.AccountNumberFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Instant;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+
+public class AccountNumberFilterTests {
+
+    private static final int ACCOUNTS = 100000;
+
+    @Mock
+    private BankAccountRepositoryPort accountRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AccountNumberFilter accountNumberFilter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        accountNumberFilter = new AccountNumberFilter(accountRepository, meterRegistry, true, ACCOUNTS, 0.01, 16777216, 5);
+
+        doAnswer(invocation -> {
+            Consumer<String> action = invocation.getArgument(1);
+            for (int i = 0; i < ACCOUNTS; i++) action.accept(String.valueOf(1000000 + i));
+            return null;
+        }).when(accountRepository).forEachAccountNumber(isNull(), any());
+    }
+
+    @Test
+    void testEveryNumberMightExistUntilLoaded() {
+        assertTrue(accountNumberFilter.mightExist("999"));
+
+        accountNumberFilter.refresh();
+
+        assertTrue(accountNumberFilter.isReady());
+        assertFalse(accountNumberFilter.mightExist("999"));
+    }
+
+    @Test
+    void testLoadedNumbersAreNeverRejectedAndFalsePositivesStayNearTarget() {
+        accountNumberFilter.refresh();
+
+        for (int i = 0; i < ACCOUNTS; i++) {
+            assertTrue(accountNumberFilter.mightExist(String.valueOf(1000000 + i)));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < ACCOUNTS; i++) {
+            if (accountNumberFilter.mightExist(String.valueOf(5000000 + i))) falsePositives++;
+        }
+
+        assertTrue(falsePositives < ACCOUNTS * 0.02, "false positives: " + falsePositives);
+        assertEquals(ACCOUNTS - falsePositives, meterRegistry.get("banking.account-filter.rejections").counter().count());
+        assertTrue(meterRegistry.get("banking.account-filter.false-positive-rate").gauge().value() < 0.02);
+        assertTrue(meterRegistry.get("banking.account-filter.memory").gauge().value() < 200000);
+    }
+
+    @Test
+    void testRefreshOnlyScansRecentlyCreatedAccountsAndPicksUpNewOnes() {
+        accountNumberFilter.refresh();
+
+        doAnswer(invocation -> {
+            Consumer<String> action = invocation.getArgument(1);
+            action.accept("20000004");
+            return null;
+        }).when(accountRepository).forEachAccountNumber(any(Instant.class), any());
+
+        assertFalse(accountNumberFilter.mightExist("20000004"));
+        accountNumberFilter.refresh();
+
+        assertTrue(accountNumberFilter.mightExist("20000004"));
+        verify(accountRepository).forEachAccountNumber(any(Instant.class), any());
+    }
+}
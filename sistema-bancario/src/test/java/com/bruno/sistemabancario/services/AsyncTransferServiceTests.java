@@ -0,0 +1,194 @@
+package com.bruno.sistemabancario.services;
+
+import com.bruno.sistemabancario.adapter.dtos.request.TransactionDTO;
+import com.bruno.sistemabancario.adapter.dtos.response.TransactionStatusDTO;
+import com.bruno.sistemabancario.application.ports.input.TransferUseCase;
+import com.bruno.sistemabancario.application.ports.output.BankStatsPort;
+import com.bruno.sistemabancario.application.ports.output.ReportRollupPort;
+import com.bruno.sistemabancario.application.ports.output.TransactionRepositoryPort;
+import com.bruno.sistemabancario.application.service.AsyncTransferService;
+import com.bruno.sistemabancario.application.service.TransferValidator;
+import com.bruno.sistemabancario.domain.exceptions.BadRequest;
+import com.bruno.sistemabancario.domain.exceptions.ResourceNotFoundException;
+import com.bruno.sistemabancario.domain.exceptions.ServiceUnavailableException;
+import com.bruno.sistemabancario.domain.model.BankStatsDelta;
+import com.bruno.sistemabancario.domain.model.Transaction;
+import com.bruno.sistemabancario.domain.utils.Code;
+import com.bruno.sistemabancario.domain.utils.CustomMessageResolver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+public class AsyncTransferServiceTests {
+
+    @Mock
+    private TransferValidator transferValidator;
+
+    @Mock
+    private TransferUseCase transferUseCase;
+
+    @Mock
+    private TransactionRepositoryPort transactionRepository;
+
+    @Mock
+    private BankStatsPort bankStatsPort;
+
+    @Mock
+    private ReportRollupPort reportRollupPort;
+
+    @Mock
+    private CustomMessageResolver customMessageResolver;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AsyncTransferService asyncTransferService;
+
+    private final AtomicInteger ids = new AtomicInteger();
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        asyncTransferService = new AsyncTransferService(transferValidator, transferUseCase, transactionRepository,
+                bankStatsPort, reportRollupPort, customMessageResolver, meterRegistry, 1, 1, 2);
+
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
+            Transaction transaction = invocation.getArgument(0);
+            if (transaction.getId() == null) transaction.setId("tx" + ids.incrementAndGet());
+            return transaction;
+        });
+        when(transactionRepository.claimPending(anyString())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        asyncTransferService.shutdown();
+    }
+
+    @Test
+    void testSubmitTransactionReturnsPendingAndWorkerSettlesIt() {
+        Transaction approved = new Transaction();
+        approved.setStatus("APPROVED");
+        when(transferUseCase.settlePendingTransaction(any(Transaction.class))).thenReturn(approved);
+
+        TransactionStatusDTO status = asyncTransferService.submitTransaction(transfer());
+
+        assertEquals("tx1", status.getId());
+        assertEquals("PENDING", status.getStatus());
+
+        verify(transferUseCase, timeout(2000)).settlePendingTransaction(argThat(transaction ->
+                transaction.getId().equals("tx1") && transaction.getValue().compareTo(new BigDecimal("100.00")) == 0));
+        assertEquals(1, meterRegistry.get("banking.transfer.async.wait").timer().count());
+        verify(bankStatsPort).increment(BankStatsDelta.pendingSubmitted());
+        verify(bankStatsPort, timeout(2000)).increment(BankStatsDelta.pendingApproved());
+    }
+
+    @Test
+    void testSubmitTransactionRejectedWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        when(transferUseCase.settlePendingTransaction(any(Transaction.class))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+        when(customMessageResolver.getMessage(Code.TRANSFER_QUEUE_FULL))
+                .thenReturn("Too many transfers waiting to be processed, try again later!");
+
+        asyncTransferService.submitTransaction(transfer());
+        verify(transferUseCase, timeout(2000)).settlePendingTransaction(any(Transaction.class));
+        asyncTransferService.submitTransaction(transfer());
+
+        ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+                () -> asyncTransferService.submitTransaction(transfer()));
+
+        assertEquals("Too many transfers waiting to be processed, try again later!", exception.getMessage());
+        assertEquals(1.0, meterRegistry.get("banking.transfer.async.rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("banking.transfer.async.queue.depth").gauge().value());
+        verify(transactionRepository, times(2)).save(any(Transaction.class));
+        verify(bankStatsPort, times(2)).increment(BankStatsDelta.pendingSubmitted());
+
+        release.countDown();
+        verify(transferUseCase, timeout(2000).times(2)).settlePendingTransaction(any(Transaction.class));
+    }
+
+    @Test
+    void testRecoverPendingQueuesTransfersLeftFromBeforeStartup() throws InterruptedException {
+        when(transactionRepository.findUnclaimedPending(any(), isNull(), eq(2))).thenReturn(List.of(pending("tx7"), pending("tx8")));
+        when(transactionRepository.findUnclaimedPending(any(), eq("tx8"), eq(2))).thenReturn(List.of());
+        when(transactionRepository.claimPending("tx8")).thenReturn(false);
+        when(transferUseCase.settlePendingTransaction(any(Transaction.class))).thenAnswer(invocation -> {
+            Transaction settled = invocation.getArgument(0);
+            settled.setStatus("APPROVED");
+            return settled;
+        });
+
+        assertEquals(2, asyncTransferService.recoverPending());
+
+        verify(transferUseCase, timeout(2000)).settlePendingTransaction(argThat(transaction -> transaction.getId().equals("tx7")));
+        verify(transactionRepository, timeout(2000)).claimPending("tx8");
+        verify(transferUseCase, never()).settlePendingTransaction(argThat(transaction -> transaction.getId().equals("tx8")));
+        verify(bankStatsPort, timeout(2000)).increment(BankStatsDelta.pendingApproved());
+    }
+
+    @Test
+    void testSubmitTransactionInvalidIsNotQueued() {
+        doThrow(new BadRequest("Invalid transaction value!")).when(transferValidator).validate(any(TransactionDTO.class));
+
+        assertThrows(BadRequest.class, () -> asyncTransferService.submitTransaction(transfer()));
+
+        verify(transactionRepository, never()).save(any(Transaction.class));
+    }
+
+    @Test
+    void testTransactionStatus() {
+        Transaction transaction = new Transaction();
+        transaction.setId("tx9");
+        transaction.setStatus("APPROVED");
+        when(transactionRepository.findById("tx9")).thenReturn(Optional.of(transaction));
+
+        TransactionStatusDTO status = asyncTransferService.transactionStatus("tx9");
+
+        assertEquals("tx9", status.getId());
+        assertEquals("APPROVED", status.getStatus());
+    }
+
+    @Test
+    void testTransactionStatusNotFound() {
+        when(transactionRepository.findById("missing")).thenReturn(Optional.empty());
+        when(customMessageResolver.getMessage(Code.TRANSACTION_NOT_FOUND)).thenReturn("Transaction not found!");
+
+        assertThrows(ResourceNotFoundException.class, () -> asyncTransferService.transactionStatus("missing"));
+    }
+
+    private TransactionDTO transfer() {
+        TransactionDTO request = new TransactionDTO();
+        request.setSourceAccount("123456");
+        request.setDestinationAccount("654321");
+        request.setValue(new BigDecimal("100.00"));
+        return request;
+    }
+
+    private Transaction pending(String id) {
+        Transaction transaction = new Transaction();
+        transaction.setId(id);
+        transaction.setStatus("PENDING");
+        return transaction;
+    }
+}
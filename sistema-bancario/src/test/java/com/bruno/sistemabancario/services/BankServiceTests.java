@@ -4,23 +4,26 @@ import com.bruno.sistemabancario.adapter.dtos.request.AccountOpeningDTO;
 import com.bruno.sistemabancario.adapter.dtos.response.AccountDTO;
 import com.bruno.sistemabancario.adapter.dtos.response.BalanceDTO;
 import com.bruno.sistemabancario.adapter.dtos.response.ReportDTO;
+import com.bruno.sistemabancario.application.ports.input.BalanceProjectionUseCase;
+import com.bruno.sistemabancario.application.ports.output.BalanceLedgerPort;
 import com.bruno.sistemabancario.application.ports.output.BankAccountRepositoryPort;
-import com.bruno.sistemabancario.application.ports.output.TransactionRepositoryPort;
+import com.bruno.sistemabancario.application.service.AccountNumberAllocator;
+import com.bruno.sistemabancario.application.service.AccountNumberFilter;
 import com.bruno.sistemabancario.application.service.BankService;
+import com.bruno.sistemabancario.application.service.BankStatsService;
+import com.bruno.sistemabancario.application.service.LedgerRecorder;
 import com.bruno.sistemabancario.domain.exceptions.ResourceNotFoundException;
 import com.bruno.sistemabancario.domain.model.BankAccount;
+import com.bruno.sistemabancario.domain.model.BankStats;
+import com.bruno.sistemabancario.domain.utils.AccountNumbers;
 import com.bruno.sistemabancario.domain.utils.Code;
 import com.bruno.sistemabancario.domain.utils.CustomMessageResolver;
-import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.aggregation.Aggregation;
-import org.springframework.data.mongodb.core.aggregation.AggregationResults;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -43,10 +46,22 @@ public class BankServiceTests {
     private CustomMessageResolver customMessageResolver;
 
     @Mock
-    private TransactionRepositoryPort transactionRepository;
+    private BankStatsService bankStatsService;
 
     @Mock
-    private MongoTemplate mongoTemplate;
+    private LedgerRecorder ledgerRecorder;
+
+    @Mock
+    private BalanceLedgerPort balanceLedgerPort;
+
+    @Mock
+    private BalanceProjectionUseCase balanceProjectionUseCase;
+
+    @Mock
+    private AccountNumberAllocator accountNumberAllocator;
+
+    @Mock
+    private AccountNumberFilter accountNumberFilter;
 
     @InjectMocks
     private BankService accountService;
@@ -62,6 +77,7 @@ public class BankServiceTests {
         request.setName("João Silva");
         request.setCpf("12345678901");
 
+        when(accountNumberAllocator.next()).thenReturn("10000008");
         when(accountRepository.save(any(BankAccount.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         AccountDTO result = accountService.createAccount(request);
@@ -76,8 +92,13 @@ public class BankServiceTests {
         assertEquals(LocalDate.now(), savedEntity.getOpeningDate());
 
         assertNotNull(savedEntity.getAccountNumber());
-        assertEquals(6, savedEntity.getAccountNumber().length());
-        assertTrue(savedEntity.getAccountNumber().matches("\\d{6}"));
+        assertEquals("10000008", savedEntity.getAccountNumber());
+        assertTrue(AccountNumbers.isValid(savedEntity.getAccountNumber()));
+
+        verify(accountNumberFilter).add("10000008");
+        verify(ledgerRecorder).record(argThat(entries -> entries.size() == 1
+                && "OPENING".equals(entries.get(0).getType())
+                && BigDecimal.valueOf(1000).equals(entries.get(0).getAmount())));
     }
 
     @Test
@@ -85,9 +106,11 @@ public class BankServiceTests {
         String id = "abc123";
         BankAccount account = new BankAccount();
         account.setId(id);
-        account.setBalance(BigDecimal.valueOf(2500.50));
+        account.setAccountNumber("123456");
+        account.setBalance(BigDecimal.valueOf(1000));
 
         when(accountRepository.findById(id)).thenReturn(Optional.of(account));
+        when(balanceLedgerPort.projectedBalance("123456")).thenReturn(Optional.of(BigDecimal.valueOf(2500.50)));
 
         BalanceDTO result = accountService.checkBalanceByID(id);
 
@@ -95,6 +118,26 @@ public class BankServiceTests {
         assertEquals(BigDecimal.valueOf(2500.50), result.getBalance());
 
         verify(accountRepository, times(1)).findById(id);
+        verify(accountRepository, never()).totalBalance(any());
+        verifyNoInteractions(balanceProjectionUseCase);
+    }
+
+    @Test
+    void testCheckBalanceByIDRebuildsMissingProjection() {
+        String id = "abc123";
+        BankAccount account = new BankAccount();
+        account.setId(id);
+        account.setAccountNumber("123456");
+        account.setBalance(BigDecimal.valueOf(1000));
+
+        when(accountRepository.findById(id)).thenReturn(Optional.of(account));
+        when(balanceLedgerPort.projectedBalance("123456")).thenReturn(Optional.empty());
+        when(balanceProjectionUseCase.rebuildBalance("123456")).thenReturn(new BalanceDTO(BigDecimal.valueOf(1250)));
+
+        BalanceDTO result = accountService.checkBalanceByID(id);
+
+        assertEquals(BigDecimal.valueOf(1250), result.getBalance());
+        verify(balanceProjectionUseCase).rebuildBalance("123456");
     }
 
     @Test
@@ -114,36 +157,27 @@ public class BankServiceTests {
 
     @Test
     void testBankReport() {
-        long totalAccounts = 5L;
-        long totalTransactions = 20L;
-        long totalTransactionsApproved = 5L;
-        long totalTransactionsReversed = 2L;
-        BigDecimal totalAmountMoved = new BigDecimal("12345.67");
-
-        when(accountRepository.count()).thenReturn(totalAccounts);
-        when(transactionRepository.count()).thenReturn(totalTransactions);
-        when(transactionRepository.countByStatus("APPROVED")).thenReturn(totalTransactionsApproved);
-        when(transactionRepository.countByStatus("REVERSED")).thenReturn(totalTransactionsReversed);
-
-        Document aggregationResult = new Document();
-        aggregationResult.put("totalValue", totalAmountMoved);
-        AggregationResults<Document> aggregationResults = mock(AggregationResults.class);
-        when(aggregationResults.getUniqueMappedResult()).thenReturn(aggregationResult);
+        BankStats stats = new BankStats();
+        stats.setTotalAccounts(5L);
+        stats.setApprovedTransactions(5L);
+        stats.setReversedTransactions(2L);
+        stats.setPendingTransactions(10L);
+        stats.setRejectedTransactions(3L);
+        stats.setTotalAmountMoved(new BigDecimal("12345.67"));
 
-        when(mongoTemplate.aggregate(any(Aggregation.class), eq("transactions"), eq(Document.class)))
-                .thenReturn(aggregationResults);
+        when(bankStatsService.current()).thenReturn(stats);
 
         ReportDTO report = accountService.bankReport();
 
-        assertEquals(totalAccounts, report.getTotalAccounts());
-        assertEquals(totalTransactions, report.getTotalTransactions());
-        assertEquals(BigDecimal.valueOf(totalTransactionsApproved), report.getTotalTransactionsApproved());
-        assertEquals(BigDecimal.valueOf(totalTransactionsReversed), report.getTotalTransactionsReversed());
-        assertEquals(totalAmountMoved, report.getTotalAmountMoved());
+        assertEquals(5L, report.getTotalAccounts());
+        assertEquals(20L, report.getTotalTransactions());
+        assertEquals(BigDecimal.valueOf(5L), report.getTotalTransactionsApproved());
+        assertEquals(BigDecimal.valueOf(2L), report.getTotalTransactionsReversed());
+        assertEquals(new BigDecimal("12345.67"), report.getTotalAmountMoved());
+        assertNotNull(report.getComputedAt());
 
-        verify(accountRepository).count();
-        verify(transactionRepository).count();
-        verify(mongoTemplate).aggregate(any(Aggregation.class), eq("transactions"), eq(Document.class));
+        verify(bankStatsService).current();
+        verifyNoInteractions(accountRepository);
     }
 
 }
@@ -0,0 +1,138 @@
+package com.bruno.sistemabancario.services;
+
+import com.bruno.sistemabancario.adapter.dtos.request.BulkReversalDTO;
+import com.bruno.sistemabancario.adapter.dtos.request.TransactionDTO;
+import com.bruno.sistemabancario.adapter.dtos.response.TransactionResultDTO;
+import com.bruno.sistemabancario.application.service.AccountLockManager;
+import com.bruno.sistemabancario.application.service.AccountNumberFilter;
+import com.bruno.sistemabancario.application.service.BulkReversalSelector;
+import com.bruno.sistemabancario.application.service.LedgerRecorder;
+import com.bruno.sistemabancario.application.service.TransferService;
+import com.bruno.sistemabancario.application.service.TransferValidator;
+import com.bruno.sistemabancario.domain.exceptions.BadRequest;
+import com.bruno.sistemabancario.domain.model.BankAccount;
+import com.bruno.sistemabancario.domain.model.Transaction;
+import com.bruno.sistemabancario.domain.utils.CustomMessageResolver;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.BalanceLedgerAdapter;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.BankAccountRepositoryAdapter;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.BankStatsAdapter;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.ReportRollupAdapter;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.TransactionRepositoryAdapter;
+import com.bruno.sistemabancario.infrastructure.adapter.persistence.BankAccountRepository;
+import com.bruno.sistemabancario.infrastructure.adapter.persistence.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.MessageSourceAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataMongoTest
+@ImportAutoConfiguration(MessageSourceAutoConfiguration.class)
+@Import({TransferService.class, TransferValidator.class, BulkReversalSelector.class, AccountNumberFilter.class, BankAccountRepositoryAdapter.class, TransactionRepositoryAdapter.class, BalanceLedgerAdapter.class, LedgerRecorder.class, BankStatsAdapter.class, ReportRollupAdapter.class, CustomMessageResolver.class,
+        AccountLockManager.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties = "banking.account-filter.enabled=false")
+public class BulkReversalTests {
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private BankAccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setup() {
+        accountRepository.deleteAll();
+        transactionRepository.deleteAll();
+
+        for (String accountNumber : List.of("300001", "300002", "300003")) {
+            BankAccount account = new BankAccount();
+            account.setAccountNumber(accountNumber);
+            account.setBalance(BigDecimal.valueOf(1000));
+            accountRepository.save(account);
+        }
+    }
+
+    @Test
+    void testBulkReversalByIdsNetsBalancesAndReportsEachTransaction() {
+        transfer("300001", "300002", "100");
+        transfer("300001", "300003", "200");
+        transfer("300002", "300001", "50");
+
+        List<String> ids = transactionRepository.findAll().stream().map(Transaction::getId).toList();
+        transferService.transactionReversal(ids.get(2));
+
+        var request = new BulkReversalDTO();
+        request.setTransactionIds(List.of(ids.get(0), ids.get(1), ids.get(2), "missing"));
+
+        List<TransactionResultDTO> results = transferService.bulkTransactionReversal(request);
+
+        assertThat(results).extracting(TransactionResultDTO::getStatus)
+                .containsExactly("REVERSED", "REVERSED", "REJECTED", "REJECTED");
+        assertThat(results.get(3).getMessage()).isEqualTo("Transaction not found!");
+
+        assertThat(balance("300001")).isEqualByComparingTo("1000");
+        assertThat(balance("300002")).isEqualByComparingTo("1000");
+        assertThat(balance("300003")).isEqualByComparingTo("1000");
+        assertThat(transactionRepository.countByStatus("REVERSED")).isEqualTo(3);
+        assertThat(mongoTemplate.exists(Query.query(Criteria.where("reversalBatch").exists(true)), Transaction.class)).isFalse();
+    }
+
+    @Test
+    void testBulkReversalByFilterRejectsWhenDestinationCannotPayBack() {
+        transfer("300001", "300002", "100");
+        transfer("300001", "300003", "900");
+        transfer("300003", "300002", "1500");
+
+        var request = new BulkReversalDTO();
+        request.setSourceAccount("300001");
+
+        List<TransactionResultDTO> results = transferService.bulkTransactionReversal(request);
+
+        assertThat(results).hasSize(2);
+        assertThat(results).filteredOn(result -> "300002".equals(result.getDestinationAccount()))
+                .extracting(TransactionResultDTO::getStatus).containsExactly("REVERSED");
+        assertThat(results).filteredOn(result -> "300003".equals(result.getDestinationAccount()))
+                .extracting(TransactionResultDTO::getStatus).containsExactly("REJECTED");
+
+        assertThat(balance("300001")).isEqualByComparingTo("100");
+        assertThat(balance("300002")).isEqualByComparingTo("2500");
+        assertThat(balance("300003")).isEqualByComparingTo("400");
+        assertThat(transactionRepository.countByStatus("APPROVED")).isEqualTo(2);
+    }
+
+    @Test
+    void testBulkReversalRequiresIdsOrFilter() {
+        assertThrows(BadRequest.class, () -> transferService.bulkTransactionReversal(new BulkReversalDTO()));
+    }
+
+    private void transfer(String sourceAccount, String destinationAccount, String value) {
+        TransactionDTO request = new TransactionDTO();
+        request.setSourceAccount(sourceAccount);
+        request.setDestinationAccount(destinationAccount);
+        request.setValue(new BigDecimal(value));
+        transferService.moneyTransaction(request);
+    }
+
+    private BigDecimal balance(String accountNumber) {
+        return accountRepository.findByAccountNumber(accountNumber).orElseThrow().getBalance();
+    }
+}
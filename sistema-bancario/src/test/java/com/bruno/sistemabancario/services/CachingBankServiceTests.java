@@ -0,0 +1,96 @@
+package com.bruno.sistemabancario.services;
+
+import com.bruno.sistemabancario.adapter.dtos.response.ReportDTO;
+import com.bruno.sistemabancario.application.service.BankService;
+import com.bruno.sistemabancario.application.service.CachingBankService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.*;
+
+public class CachingBankServiceTests {
+
+    @Mock
+    private BankService bankService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CachingBankService cachingBankService;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        cachingBankService = new CachingBankService(bankService, meterRegistry, 1, 60);
+    }
+
+    @Test
+    void testConcurrentReportRequestsShareOneComputation() throws Exception {
+        var release = new CountDownLatch(1);
+        var report = report(5);
+        when(bankService.bankReport()).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return report;
+        });
+
+        List<CompletableFuture<ReportDTO>> requests = new ArrayList<>();
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                requests.add(CompletableFuture.supplyAsync(cachingBankService::bankReport, executor));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            for (CompletableFuture<ReportDTO> request : requests) {
+                assertSame(report, request.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        verify(bankService, times(1)).bankReport();
+        assertEquals(1, meterRegistry.get("banking.report.refresh").timer().count());
+    }
+
+    @Test
+    void testStaleReportIsServedWhileRefreshingInBackground() throws Exception {
+        var release = new CountDownLatch(1);
+        var stale = report(1);
+        var fresh = report(2);
+        when(bankService.bankReport()).thenReturn(stale).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return fresh;
+        });
+
+        assertSame(stale, cachingBankService.bankReport());
+        Thread.sleep(1100);
+
+        var served = CompletableFuture.supplyAsync(cachingBankService::bankReport).get(1, TimeUnit.SECONDS);
+        assertSame(stale, served);
+
+        release.countDown();
+        verify(bankService, timeout(2000).times(2)).bankReport();
+        for (int i = 0; i < 50 && cachingBankService.bankReport() != fresh; i++) {
+            Thread.sleep(20);
+        }
+        assertSame(fresh, cachingBankService.bankReport());
+    }
+
+    private ReportDTO report(long totalAccounts) {
+        var report = new ReportDTO();
+        report.setTotalAccounts(totalAccounts);
+        report.setComputedAt(Instant.now());
+        return report;
+    }
+}
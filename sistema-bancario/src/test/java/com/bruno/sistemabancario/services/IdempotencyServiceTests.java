@@ -0,0 +1,208 @@
+package com.bruno.sistemabancario.services;
+
+import com.bruno.sistemabancario.application.ports.output.IdempotencyRepositoryPort;
+import com.bruno.sistemabancario.application.service.IdempotencyService;
+import com.bruno.sistemabancario.domain.exceptions.BadRequest;
+import com.bruno.sistemabancario.domain.exceptions.ServiceUnavailableException;
+import com.bruno.sistemabancario.domain.model.IdempotencyRecord;
+import com.bruno.sistemabancario.domain.utils.Code;
+import com.bruno.sistemabancario.domain.utils.CustomMessageResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class IdempotencyServiceTests {
+
+    private static final String REQUEST_DIGEST = "1f58b9145b24d108d7ac38887338b3ea3229833b9c1e418250343f907bfd1047";
+
+    @Mock
+    private IdempotencyRepositoryPort idempotencyRepository;
+
+    @Mock
+    private CustomMessageResolver customMessageResolver;
+
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        idempotencyService = new IdempotencyService(idempotencyRepository, customMessageResolver, 100, 24, 300);
+        when(idempotencyRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(idempotencyRepository.reserve(any(IdempotencyRecord.class), any(Instant.class))).thenReturn(true);
+    }
+
+    @Test
+    void testRepeatedKeyReturnsOriginalResponseWithoutRunningAgain() {
+        AtomicInteger executions = new AtomicInteger();
+
+        String first = idempotencyService.execute("alice", "key-1", "transaction", "request", () -> "approved-" + executions.incrementAndGet());
+        String second = idempotencyService.execute("alice", "key-1", "transaction", "request", () -> "approved-" + executions.incrementAndGet());
+
+        assertEquals("approved-1", first);
+        assertEquals("approved-1", second);
+        assertEquals(1, executions.get());
+        verify(idempotencyRepository, times(1)).findById("alice:transaction:key-1");
+        verify(idempotencyRepository, times(1)).reserve(argThat(IdempotencyRecord::isPending), any(Instant.class));
+        verify(idempotencyRepository, times(1)).complete(argThat(record -> record.getResponse().equals("approved-1")));
+    }
+
+    @Test
+    void testOnlyTheFingerprintDigestIsStored() {
+        idempotencyService.execute("alice", "key-10", "transaction", "111111|222222|100", () -> "approved");
+
+        verify(idempotencyRepository).reserve(argThat(record -> record.getFingerprint()
+                .equals("7a9317f3ef363a7551a3b0c46b2d1839ea987d307f4a6e888eedaaf809fc75f3")), any(Instant.class));
+    }
+
+    @Test
+    void testStoredKeyIsReplayedFromMongo() {
+        when(idempotencyRepository.findById("alice:reversal:key-2"))
+                .thenReturn(Optional.of(new IdempotencyRecord("alice:reversal:key-2", "fc4b5e949a4dccd606adbbad73390bc28d3070b3e16c7688e90f09e1f5f2a638", 200, "Transfer successfully reversed!", Instant.now())));
+
+        String result = idempotencyService.execute("alice", "key-2", "reversal", "tx123", () -> {
+            throw new IllegalStateException("should not run");
+        });
+
+        assertEquals("Transfer successfully reversed!", result);
+        verify(idempotencyRepository, never()).reserve(any(), any());
+    }
+
+    @Test
+    void testBadRequestOutcomeIsReplayed() {
+        AtomicInteger executions = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            BadRequest ex = assertThrows(BadRequest.class, () -> idempotencyService.execute("alice", "key-3", "transaction", "request", () -> {
+                executions.incrementAndGet();
+                throw new BadRequest("Insufficient balance!");
+            }));
+            assertEquals("Insufficient balance!", ex.getMessage());
+        }
+
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testKeyReusedWithDifferentRequestIsRejected() {
+        when(customMessageResolver.getMessage(Code.IDEMPOTENCY_KEY_REUSED))
+                .thenReturn("Idempotency key was already used with a different request!");
+
+        idempotencyService.execute("alice", "key-4", "transaction", "request-a", () -> "approved");
+
+        BadRequest ex = assertThrows(BadRequest.class,
+                () -> idempotencyService.execute("alice", "key-4", "transaction", "request-b", () -> "approved"));
+
+        assertEquals("Idempotency key was already used with a different request!", ex.getMessage());
+    }
+
+    @Test
+    void testConcurrentDuplicatesAreCollapsedIntoOneExecution() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> idempotencyService.execute("alice", "key-5", "transaction", "request", () -> {
+                executions.incrementAndGet();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "approved";
+            })));
+        }
+
+        Thread.sleep(200);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("approved", result.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testKeysAreScopedToTheCaller() {
+        AtomicInteger executions = new AtomicInteger();
+
+        String alice = idempotencyService.execute("alice", "key-6", "transaction", "request", () -> "approved-" + executions.incrementAndGet());
+        String bob = idempotencyService.execute("bob", "key-6", "transaction", "request", () -> "approved-" + executions.incrementAndGet());
+
+        assertEquals("approved-1", alice);
+        assertEquals("approved-2", bob);
+        verify(idempotencyRepository).findById("bob:transaction:key-6");
+    }
+
+    @Test
+    void testLosingTheReservationReplaysTheStoredOutcome() {
+        var pending = new IdempotencyRecord("alice:transaction:key-7", REQUEST_DIGEST, IdempotencyRecord.PENDING, null, Instant.now());
+        var completed = new IdempotencyRecord("alice:transaction:key-7", REQUEST_DIGEST, 200, "approved", Instant.now());
+        when(idempotencyRepository.findById("alice:transaction:key-7"))
+                .thenReturn(Optional.empty(), Optional.of(pending), Optional.of(completed));
+        when(idempotencyRepository.reserve(any(IdempotencyRecord.class), any(Instant.class))).thenReturn(false);
+
+        String result = idempotencyService.execute("alice", "key-7", "transaction", "request", () -> {
+            throw new IllegalStateException("should not run");
+        });
+
+        assertEquals("approved", result);
+        verify(idempotencyRepository, never()).complete(any());
+    }
+
+    @Test
+    void testKeyStillPendingElsewhereGivesUpAfterTheWaitTimeout() {
+        when(idempotencyRepository.findById("alice:transaction:key-8")).thenReturn(Optional.of(
+                new IdempotencyRecord("alice:transaction:key-8", REQUEST_DIGEST, IdempotencyRecord.PENDING, null, Instant.now())));
+        when(customMessageResolver.getMessage(Code.IDEMPOTENCY_KEY_IN_PROGRESS))
+                .thenReturn("A request with this idempotency key is still being processed, try again later!");
+
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class,
+                () -> idempotencyService.execute("alice", "key-8", "transaction", "request", () -> "approved"));
+
+        assertEquals("A request with this idempotency key is still being processed, try again later!", ex.getMessage());
+        verify(idempotencyRepository, never()).reserve(any(), any());
+    }
+
+    @Test
+    void testUnexpectedFailureReleasesTheReservation() {
+        assertThrows(IllegalStateException.class, () -> idempotencyService.execute("alice", "key-9", "transaction", "request", () -> {
+            throw new IllegalStateException("database down");
+        }));
+
+        verify(idempotencyRepository).release("alice:transaction:key-9");
+        verify(idempotencyRepository, never()).complete(any());
+    }
+
+    @Test
+    void testWithoutKeyAlwaysRuns() {
+        AtomicInteger executions = new AtomicInteger();
+
+        idempotencyService.execute("alice", null, "transaction", "request", () -> String.valueOf(executions.incrementAndGet()));
+        idempotencyService.execute("alice", null, "transaction", "request", () -> String.valueOf(executions.incrementAndGet()));
+
+        assertEquals(2, executions.get());
+        verifyNoInteractions(idempotencyRepository);
+    }
+}
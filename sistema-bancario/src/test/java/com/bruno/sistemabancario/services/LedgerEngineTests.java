@@ -0,0 +1,260 @@
+package com.bruno.sistemabancario.services;
+
+import com.bruno.sistemabancario.application.ports.output.BankAccountRepositoryPort;
+import com.bruno.sistemabancario.application.ports.output.TransactionRepositoryPort;
+import com.bruno.sistemabancario.application.ports.output.TransferJournalPort;
+import com.bruno.sistemabancario.application.service.LedgerRecorder;
+import com.bruno.sistemabancario.application.service.ledger.LedgerEngine;
+import com.bruno.sistemabancario.domain.model.BankAccount;
+import com.bruno.sistemabancario.domain.model.LedgerEntry;
+import com.bruno.sistemabancario.domain.model.Transaction;
+import com.bruno.sistemabancario.domain.utils.Code;
+import com.bruno.sistemabancario.infrastructure.adapter.out.journal.TransferJournalAdapter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class LedgerEngineTests {
+
+    @Mock
+    private BankAccountRepositoryPort accountRepository;
+
+    @Mock
+    private TransactionRepositoryPort transactionRepository;
+
+    @Mock
+    private LedgerRecorder ledgerRecorder;
+
+    private LedgerEngine ledgerEngine;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        ledgerEngine = new LedgerEngine(accountRepository, transactionRepository, ledgerRecorder, Optional.empty(), 4, 60000, 500, 5000);
+
+        when(accountRepository.findByAccountNumber("111111")).thenReturn(Optional.of(account("111111", "500")));
+        when(accountRepository.findByAccountNumber("222222")).thenReturn(Optional.of(account("222222", "200")));
+        when(accountRepository.findByAccountNumber("999999")).thenReturn(Optional.empty());
+        when(accountRepository.totalBalance(any(BankAccount.class))).thenAnswer(invocation -> ((BankAccount) invocation.getArgument(0)).getBalance());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testTransferPersistsDeltasAndTransactionOnFlush() throws Exception {
+        Code code = ledgerEngine.transfer("111111", "222222", new BigDecimal("100")).join();
+        ledgerEngine.shutdown();
+
+        assertEquals(Code.TRANSACTION_APPROVED_SUCCESS, code);
+
+        ArgumentCaptor<Map<String, BigDecimal>> deltas = ArgumentCaptor.forClass(Map.class);
+        verify(accountRepository).applyBalanceDeltas(deltas.capture());
+        assertEquals(new BigDecimal("-100.00"), deltas.getValue().get("111111"));
+        assertEquals(new BigDecimal("100.00"), deltas.getValue().get("222222"));
+
+        ArgumentCaptor<List<Transaction>> transactions = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository).saveAll(transactions.capture());
+        assertEquals(1, transactions.getValue().size());
+        assertEquals("APPROVED", transactions.getValue().get(0).getStatus());
+    }
+
+    @Test
+    void testTransferKeepsBalancesInMemoryAcrossTransfers() throws Exception {
+        assertEquals(Code.TRANSACTION_APPROVED_SUCCESS, ledgerEngine.transfer("111111", "222222", new BigDecimal("300")).join());
+        assertEquals(Code.INSUFFICIENT_BALANCE, ledgerEngine.transfer("111111", "222222", new BigDecimal("300")).join());
+        ledgerEngine.shutdown();
+
+        verify(accountRepository, times(1)).findByAccountNumber("111111");
+    }
+
+    @Test
+    void testTransferCountsBalanceSlots() throws Exception {
+        when(accountRepository.totalBalance(argThat(account -> account != null && "111111".equals(account.getAccountNumber()))))
+                .thenReturn(new BigDecimal("700"));
+
+        assertEquals(Code.TRANSACTION_APPROVED_SUCCESS, ledgerEngine.transfer("111111", "222222", new BigDecimal("600")).join());
+        ledgerEngine.shutdown();
+    }
+
+    @Test
+    void testSettledBalanceIsReloadedFromTheDatabase() throws Exception {
+        var engine = new LedgerEngine(accountRepository, transactionRepository, ledgerRecorder, Optional.empty(), 4, 60000, 500, 0);
+
+        assertEquals(Code.TRANSACTION_APPROVED_SUCCESS, engine.transfer("111111", "222222", new BigDecimal("400")).join());
+        engine.flush();
+        engine.flush();
+        when(accountRepository.findByAccountNumber("111111")).thenReturn(Optional.of(account("111111", "1000")));
+
+        assertEquals(Code.TRANSACTION_APPROVED_SUCCESS, engine.transfer("111111", "222222", new BigDecimal("600")).join());
+        engine.shutdown();
+        ledgerEngine.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFailedLedgerAppendIsRetriedOnTheNextFlush() throws Exception {
+        when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new IllegalStateException("ledger unavailable")).doNothing().when(ledgerRecorder).record(anyList());
+
+        assertEquals(Code.TRANSACTION_APPROVED_SUCCESS, ledgerEngine.transfer("111111", "222222", new BigDecimal("100")).join());
+        assertThrows(IllegalStateException.class, () -> ledgerEngine.flush());
+        ledgerEngine.shutdown();
+
+        ArgumentCaptor<List<LedgerEntry>> entries = ArgumentCaptor.forClass(List.class);
+        verify(ledgerRecorder, times(2)).record(entries.capture());
+        assertEquals(entries.getAllValues().get(0), entries.getAllValues().get(1));
+        verify(transactionRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testTransferToUnknownDestinationRefundsSource() throws Exception {
+        Code code = ledgerEngine.transfer("111111", "999999", new BigDecimal("100")).join();
+        ledgerEngine.shutdown();
+
+        assertEquals(Code.ACCOUNT_NOT_FOUND, code);
+
+        ArgumentCaptor<Map<String, BigDecimal>> deltas = ArgumentCaptor.forClass(Map.class);
+        verify(accountRepository).applyBalanceDeltas(deltas.capture());
+        assertTrue(deltas.getValue().isEmpty());
+        verify(transactionRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void testReverseRejectsSecondReversalOfSameTransaction() throws Exception {
+        Transaction transaction = new Transaction();
+        transaction.setId("tx123");
+        transaction.setStatus("APPROVED");
+        transaction.setSourceAccount("111111");
+        transaction.setDestinationAccount("222222");
+        transaction.setValue(new BigDecimal("100"));
+
+        Code first = ledgerEngine.reverse(transaction).join();
+        Code second = ledgerEngine.reverse(transaction).join();
+        ledgerEngine.shutdown();
+
+        assertEquals(Code.TRANSACTION_REVERSED_SUCCESS, first);
+        assertEquals(Code.TRANSACTION_NOT_APPROVED, second);
+        assertEquals("REVERSED", transaction.getStatus());
+        verify(accountRepository).applyBalanceDeltas(anyMap());
+        verify(transactionRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void testReverseMayLeaveTheDestinationAtZero() throws Exception {
+        Transaction transaction = new Transaction();
+        transaction.setId("tx456");
+        transaction.setSourceAccount("111111");
+        transaction.setDestinationAccount("222222");
+        transaction.setValue(new BigDecimal("200"));
+
+        assertEquals(Code.TRANSACTION_REVERSED_SUCCESS, ledgerEngine.reverse(transaction).join());
+
+        transaction.setId("tx789");
+        transaction.setValue(new BigDecimal("0.01"));
+        assertEquals(Code.DESTINATION_ACCOUNT_INSUFFICIENT_BALANCE, ledgerEngine.reverse(transaction).join());
+        ledgerEngine.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testJournaledTransfersAreReplayedAfterCrash(@TempDir Path directory) throws Exception {
+        var journal = new TransferJournalAdapter(directory.toString(), 1, 2, 64);
+        var journaledEngine = new LedgerEngine(accountRepository, transactionRepository, ledgerRecorder, Optional.of(journal), 4, 60000, 500, 5000);
+
+        assertEquals(Code.TRANSACTION_APPROVED_SUCCESS, journaledEngine.transfer("111111", "222222", new BigDecimal("100")).join());
+        journal.close();
+        verify(accountRepository, never()).applyJournaledDeltas(anyMap(), anyLong());
+
+        var reopened = new TransferJournalAdapter(directory.toString(), 1, 2, 64);
+        var recoveredEngine = new LedgerEngine(accountRepository, transactionRepository, ledgerRecorder, Optional.of(reopened), 4, 60000, 500, 5000);
+        recoveredEngine.shutdown();
+        reopened.close();
+
+        ArgumentCaptor<Map<String, BigDecimal>> deltas = ArgumentCaptor.forClass(Map.class);
+        verify(accountRepository).applyJournaledDeltas(deltas.capture(), eq(1L));
+        assertEquals(new BigDecimal("-100"), deltas.getValue().get("111111"));
+        assertEquals(new BigDecimal("100"), deltas.getValue().get("222222"));
+
+        ArgumentCaptor<List<Transaction>> transactions = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository).upsertAll(transactions.capture());
+        assertEquals("APPROVED", transactions.getValue().get(0).getStatus());
+        assertEquals(24, transactions.getValue().get(0).getId().length());
+    }
+
+    @Test
+    void testJournaledFlushCheckpointsSoNothingIsReplayed(@TempDir Path directory) throws Exception {
+        var journal = new TransferJournalAdapter(directory.toString(), 1, 2, 64);
+        var journaledEngine = new LedgerEngine(accountRepository, transactionRepository, ledgerRecorder, Optional.of(journal), 4, 60000, 500, 5000);
+
+        journaledEngine.transfer("111111", "222222", new BigDecimal("100")).join();
+        journaledEngine.shutdown();
+        journal.close();
+        verify(accountRepository, times(1)).applyJournaledDeltas(anyMap(), eq(1L));
+
+        var reopened = new TransferJournalAdapter(directory.toString(), 1, 2, 64);
+        new LedgerEngine(accountRepository, transactionRepository, ledgerRecorder, Optional.of(reopened), 4, 60000, 500, 5000).shutdown();
+        reopened.close();
+
+        verify(accountRepository, times(1)).applyJournaledDeltas(anyMap(), anyLong());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFailedJournalAppendRestoresBalancesAndQueuesNothing() throws Exception {
+        var journal = mock(TransferJournalPort.class);
+        when(journal.tail()).thenReturn(new TransferJournalPort.Position(0, 0, 0));
+        when(journal.append(any(Transaction.class)))
+                .thenReturn(CompletableFuture.failedFuture(new UncheckedIOException(new IOException("disk full"))))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        var journaledEngine = new LedgerEngine(accountRepository, transactionRepository, ledgerRecorder, Optional.of(journal), 4, 60000, 500, 5000);
+
+        var failed = assertThrows(CompletionException.class,
+                () -> journaledEngine.transfer("111111", "222222", new BigDecimal("500")).join());
+        assertInstanceOf(UncheckedIOException.class, failed.getCause());
+        assertEquals(Code.TRANSACTION_APPROVED_SUCCESS, journaledEngine.transfer("111111", "222222", new BigDecimal("500")).join());
+
+        when(journal.tail()).thenReturn(new TransferJournalPort.Position(1, 0, 0));
+        journaledEngine.shutdown();
+
+        ArgumentCaptor<Map<String, BigDecimal>> deltas = ArgumentCaptor.forClass(Map.class);
+        verify(accountRepository).applyJournaledDeltas(deltas.capture(), eq(1L));
+        assertEquals(new BigDecimal("-500.00"), deltas.getValue().get("111111"));
+        assertEquals(new BigDecimal("500.00"), deltas.getValue().get("222222"));
+
+        ArgumentCaptor<List<Transaction>> transactions = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository).upsertAll(transactions.capture());
+        assertEquals(1, transactions.getValue().size());
+    }
+
+    private BankAccount account(String accountNumber, String balance) {
+        BankAccount account = new BankAccount();
+        account.setAccountNumber(accountNumber);
+        account.setBalance(new BigDecimal(balance));
+        return account;
+    }
+}
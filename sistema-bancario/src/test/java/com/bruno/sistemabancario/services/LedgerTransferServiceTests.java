@@ -0,0 +1,135 @@
+package com.bruno.sistemabancario.services;
+
+import com.bruno.sistemabancario.adapter.dtos.request.BulkReversalDTO;
+import com.bruno.sistemabancario.adapter.dtos.response.TransactionResultDTO;
+import com.bruno.sistemabancario.application.ports.output.TransactionRepositoryPort;
+import com.bruno.sistemabancario.application.service.BulkReversalSelector;
+import com.bruno.sistemabancario.application.service.TransferService;
+import com.bruno.sistemabancario.application.service.ledger.LedgerEngine;
+import com.bruno.sistemabancario.application.service.ledger.LedgerTransferService;
+import com.bruno.sistemabancario.domain.exceptions.BadRequest;
+import com.bruno.sistemabancario.domain.model.Transaction;
+import com.bruno.sistemabancario.domain.utils.Code;
+import com.bruno.sistemabancario.domain.utils.CustomMessageResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class LedgerTransferServiceTests {
+
+    @Mock
+    private LedgerEngine ledgerEngine;
+
+    @Mock
+    private TransferService transferService;
+
+    @Mock
+    private BulkReversalSelector bulkReversalSelector;
+
+    @Mock
+    private TransactionRepositoryPort transactionRepositoryPort;
+
+    @Mock
+    private CustomMessageResolver customMessageResolver;
+
+    @InjectMocks
+    private LedgerTransferService ledgerTransferService;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        when(customMessageResolver.getMessage(Code.TRANSACTION_REVERSED_SUCCESS)).thenReturn("Transfer successfully reversed!");
+        when(customMessageResolver.getMessage(Code.TRANSACTION_NOT_APPROVED)).thenReturn("Transaction is not approved!");
+        when(customMessageResolver.getMessage(Code.DESTINATION_ACCOUNT_INSUFFICIENT_BALANCE)).thenReturn("Insufficient balance in destination account!");
+    }
+
+    @Test
+    void testTransactionReversalClaimsTheTransactionBeforeReversing() {
+        Transaction claimed = transaction("tx1");
+        when(transactionRepositoryPort.compareAndSetStatus("tx1", "APPROVED", "REVERSED")).thenReturn(Optional.of(claimed));
+        when(ledgerEngine.reverse(claimed)).thenReturn(CompletableFuture.completedFuture(Code.TRANSACTION_REVERSED_SUCCESS));
+
+        assertEquals("Transfer successfully reversed!", ledgerTransferService.transactionReversal("tx1"));
+
+        verify(transactionRepositoryPort, never()).compareAndSetStatus("tx1", "REVERSED", "APPROVED");
+    }
+
+    @Test
+    void testTransactionReversalRollsBackTheClaimWhenTheEngineRejects() {
+        Transaction claimed = transaction("tx1");
+        when(transactionRepositoryPort.compareAndSetStatus("tx1", "APPROVED", "REVERSED")).thenReturn(Optional.of(claimed));
+        when(ledgerEngine.reverse(claimed)).thenReturn(CompletableFuture.completedFuture(Code.DESTINATION_ACCOUNT_INSUFFICIENT_BALANCE));
+
+        BadRequest ex = assertThrows(BadRequest.class, () -> ledgerTransferService.transactionReversal("tx1"));
+
+        assertEquals("Insufficient balance in destination account!", ex.getMessage());
+        verify(transactionRepositoryPort).compareAndSetStatus("tx1", "REVERSED", "APPROVED");
+    }
+
+    @Test
+    void testTransactionReversalLosingTheClaimNeverReachesTheEngine() {
+        when(transactionRepositoryPort.compareAndSetStatus("tx1", "APPROVED", "REVERSED")).thenReturn(Optional.empty());
+        when(transactionRepositoryPort.findById("tx1")).thenReturn(Optional.of(transaction("tx1")));
+
+        BadRequest ex = assertThrows(BadRequest.class, () -> ledgerTransferService.transactionReversal("tx1"));
+
+        assertEquals("Transaction is not approved!", ex.getMessage());
+        verifyNoInteractions(ledgerEngine);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBulkReversalOnlyReversesClaimedTransactionsAndReleasesRejections() {
+        Transaction reversed = transaction("tx1");
+        Transaction rejected = transaction("tx2");
+        Transaction alreadyReversed = transaction("tx3");
+        when(bulkReversalSelector.select(any(BulkReversalDTO.class), anyMap())).thenAnswer(invocation -> {
+            Map<String, TransactionResultDTO> results = invocation.getArgument(1);
+            List.of("tx1", "tx2", "tx3").forEach(id -> {
+                var result = new TransactionResultDTO();
+                result.setTransactionId(id);
+                results.put(id, result);
+            });
+            return List.of(reversed, rejected, alreadyReversed);
+        });
+        when(transactionRepositoryPort.claimForReversal(anyCollection(), anyString())).thenReturn(Set.of("tx1", "tx2"));
+        when(ledgerEngine.reverse(reversed)).thenReturn(CompletableFuture.completedFuture(Code.TRANSACTION_REVERSED_SUCCESS));
+        when(ledgerEngine.reverse(rejected)).thenReturn(CompletableFuture.completedFuture(Code.DESTINATION_ACCOUNT_INSUFFICIENT_BALANCE));
+
+        List<TransactionResultDTO> results = ledgerTransferService.bulkTransactionReversal(new BulkReversalDTO());
+
+        assertEquals(List.of("REVERSED", "REJECTED", "REJECTED"), results.stream().map(TransactionResultDTO::getStatus).toList());
+        assertEquals("Transaction is not approved!", results.get(2).getMessage());
+        verify(ledgerEngine, never()).reverse(alreadyReversed);
+        verify(transactionRepositoryPort).releaseReversal(eq(List.of("tx2")), anyString());
+        verify(transactionRepositoryPort).completeReversal(eq(List.of("tx1")), anyString());
+    }
+
+    private Transaction transaction(String id) {
+        Transaction transaction = new Transaction();
+        transaction.setId(id);
+        transaction.setSourceAccount("111111");
+        transaction.setDestinationAccount("222222");
+        transaction.setValue(new BigDecimal("100"));
+        transaction.setStatus("APPROVED");
+        return transaction;
+    }
+}
@@ -0,0 +1,74 @@
+package com.bruno.sistemabancario.services;
+
+import com.bruno.sistemabancario.domain.model.Money;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Times balance checks on {@link Money} against {@link BigDecimal}. Excluded from the default build;
+ * run it with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class MoneyBenchmarkTests {
+
+    private static final Logger logger = Logger.getLogger(MoneyBenchmarkTests.class.getName());
+
+    @Test
+    void testBalanceChecksAgainstBigDecimal() {
+        int accounts = 64;
+        int transfers = 500_000;
+
+        BigDecimal[] values = new BigDecimal[transfers];
+        Money[] moneyValues = new Money[transfers];
+        for (int i = 0; i < transfers; i++) {
+            values[i] = BigDecimal.valueOf(ThreadLocalRandom.current().nextLong(1, 100_000), 2);
+            moneyValues[i] = Money.of(values[i]);
+        }
+
+        BigDecimal[] bigDecimalBalances = new BigDecimal[accounts];
+        Money[] moneyBalances = new Money[accounts];
+        long bigDecimalNanos = 0;
+        long moneyNanos = 0;
+
+        for (int round = 0; round < 5; round++) {
+            Arrays.fill(bigDecimalBalances, BigDecimal.valueOf(100_000));
+            Arrays.fill(moneyBalances, Money.parse("100000"));
+
+            long start = System.nanoTime();
+            for (int i = 0; i < transfers; i++) {
+                int source = i % accounts;
+                int destination = (i + 1) % accounts;
+                if (bigDecimalBalances[source].compareTo(values[i]) >= 0) {
+                    bigDecimalBalances[source] = bigDecimalBalances[source].subtract(values[i]);
+                    bigDecimalBalances[destination] = bigDecimalBalances[destination].add(values[i]);
+                }
+            }
+            bigDecimalNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < transfers; i++) {
+                int source = i % accounts;
+                int destination = (i + 1) % accounts;
+                if (!moneyBalances[source].isLessThan(moneyValues[i])) {
+                    moneyBalances[source] = moneyBalances[source].minus(moneyValues[i]);
+                    moneyBalances[destination] = moneyBalances[destination].plus(moneyValues[i]);
+                }
+            }
+            moneyNanos = System.nanoTime() - start;
+        }
+
+        logger.info(String.format("%d balance checks: BigDecimal %.1f ns/op, Money %.1f ns/op",
+                transfers, (double) bigDecimalNanos / transfers, (double) moneyNanos / transfers));
+
+        for (int i = 0; i < accounts; i++) {
+            assertEquals(0, bigDecimalBalances[i].compareTo(moneyBalances[i].toBigDecimal()));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.bruno.sistemabancario.services;
+
+import com.bruno.sistemabancario.domain.model.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MoneyTests {
+
+    @Test
+    void testArithmeticWorksInCents() {
+        Money balance = Money.parse("1000").minus(Money.parse("0.10")).plus(Money.parse("25.5"));
+
+        assertEquals(102540, balance.cents());
+        assertEquals(new BigDecimal("1025.40"), balance.toBigDecimal());
+        assertTrue(Money.parse("0.01").isLessThan(Money.parse("0.02")));
+        assertEquals(-1, Money.parse("-3").signum());
+    }
+
+    @Test
+    void testOverflowAndSubCentAmountsAreRejected() {
+        assertThrows(ArithmeticException.class, () -> Money.ofCents(Long.MAX_VALUE).plus(Money.ofCents(1)));
+        assertThrows(ArithmeticException.class, () -> Money.ofCents(Long.MIN_VALUE).negate());
+        assertThrows(ArithmeticException.class, () -> Money.parse("0.001"));
+        assertThrows(ArithmeticException.class, () -> Money.parse("1E+20"));
+        assertEquals(Money.parse("10"), Money.parse("10.000"));
+    }
+
+    @Test
+    void testStoredBalancesAreRoundedDownToTheCent() {
+        assertEquals(Money.parse("10.00"), Money.ofBalance(new BigDecimal("10.009")));
+        assertEquals(Money.parse("-0.01"), Money.ofBalance(new BigDecimal("-0.001")));
+        assertEquals(Money.parse("10.01"), Money.ofBalance(new BigDecimal("10.01")));
+    }
+}
@@ -7,11 +7,14 @@ import java.util.List;
 
 import com.bruno.sistemabancario.adapter.dtos.response.TransactionsUserDTO;
 import com.bruno.sistemabancario.application.service.PaginationService;
+import com.bruno.sistemabancario.domain.model.CursorPage;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.PagedModel;
 
 public class PaginationServiceTests {
@@ -80,4 +83,46 @@ public class PaginationServiceTests {
         assertThat(pagedModel.getLink("next")).isNotPresent();
         assertThat(pagedModel.getLink("previous")).isNotPresent();
     }
+
+    @Test
+    void testFindTransactionsByCursorLinksToTheNextCursor() {
+        CursorPage<TransactionsUserDTO> page = new CursorPage<>(List.of(new TransactionsUserDTO(), new TransactionsUserDTO()), 2, "bmV4dA");
+
+        CollectionModel<TransactionsUserDTO> model = paginationService.findTransactionsByCursor(page, "12345", "");
+
+        assertThat(model.getContent()).hasSize(2);
+        assertThat(model.getLink("self").get().getHref()).contains("12345").contains("cursor=").contains("size=2");
+        assertThat(model.getLink("next").get().getHref()).contains("cursor=bmV4dA").contains("size=2");
+
+        CursorPage<TransactionsUserDTO> last = new CursorPage<>(List.of(new TransactionsUserDTO()), 2, null);
+        assertThat(paginationService.findTransactionsByCursor(last, "12345", "bmV4dA").getLink("next")).isNotPresent();
+    }
+
+    @Test
+    void testFindTransactionSliceByAccountLinksPagesWithoutMetadata() {
+        SliceImpl<TransactionsUserDTO> slice = new SliceImpl<>(
+                List.of(new TransactionsUserDTO(), new TransactionsUserDTO()), PageRequest.of(1, 2), true);
+
+        CollectionModel<TransactionsUserDTO> model = paginationService.findTransactionSliceByAccount(slice, "12345", 1, 2, null);
+
+        assertThat(model).isNotInstanceOf(PagedModel.class);
+        assertThat(model.getContent()).hasSize(2);
+        assertThat(model.getLink("self").get().getHref()).contains("12345").contains("mode=slice").contains("page=1");
+        assertThat(model.getLink("next").get().getHref()).contains("mode=slice").contains("page=2");
+        assertThat(model.getLink("previous").get().getHref()).contains("page=0");
+    }
+
+    @Test
+    void testFindTransactionSliceByAccountWithApproximateTotal() {
+        SliceImpl<TransactionsUserDTO> slice = new SliceImpl<>(
+                List.of(new TransactionsUserDTO(), new TransactionsUserDTO()), PageRequest.of(1, 2), true);
+
+        CollectionModel<TransactionsUserDTO> model = paginationService.findTransactionSliceByAccount(slice, "12345", 1, 2, 3L);
+
+        assertThat(model).isInstanceOf(PagedModel.class);
+        PagedModel.PageMetadata metadata = ((PagedModel<TransactionsUserDTO>) model).getMetadata();
+        Assertions.assertNotNull(metadata);
+        assertThat(metadata.getTotalElements()).isEqualTo(5);
+        assertThat(model.getLink("next").get().getHref()).contains("approximateTotal=true");
+    }
 }
@@ -0,0 +1,89 @@
+package com.bruno.sistemabancario.services;
+
+import com.bruno.sistemabancario.adapter.dtos.response.ReportRangeDTO;
+import com.bruno.sistemabancario.application.ports.output.ReportRollupPort;
+import com.bruno.sistemabancario.application.service.ReportRollupService;
+import com.bruno.sistemabancario.domain.exceptions.BadRequest;
+import com.bruno.sistemabancario.domain.model.ReportBucket;
+import com.bruno.sistemabancario.domain.utils.Code;
+import com.bruno.sistemabancario.domain.utils.CustomMessageResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ReportRollupServiceTests {
+
+    @Mock
+    private ReportRollupPort reportRollupPort;
+
+    @Mock
+    private CustomMessageResolver customMessageResolver;
+
+    private ReportRollupService reportRollupService;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        reportRollupService = new ReportRollupService(reportRollupPort, customMessageResolver, 48, false);
+    }
+
+    @Test
+    void testReportMergesBucketsOfTheRange() {
+        var from = Instant.parse("2026-03-10T10:20:00Z");
+        var to = Instant.parse("2026-03-10T12:00:00Z");
+        when(reportRollupPort.findBuckets(ReportBucket.Granularity.HOUR, Instant.parse("2026-03-10T10:00:00Z"), to))
+                .thenReturn(List.of(bucket("2026-03-10T10:00:00Z", 3, 1, "250"), bucket("2026-03-10T11:00:00Z", 2, 0, "40.50")));
+
+        ReportRangeDTO report = reportRollupService.bankReport(from, to, "hour");
+
+        assertEquals("HOUR", report.getGranularity());
+        assertEquals(Instant.parse("2026-03-10T10:00:00Z"), report.getFrom());
+        assertEquals(2, report.getBuckets().size());
+        assertEquals(5, report.getTotalTransactionsApproved());
+        assertEquals(1, report.getTotalTransactionsReversed());
+        assertEquals(6, report.getTotalTransactions());
+        assertEquals(new BigDecimal("290.50"), report.getTotalAmountMoved());
+    }
+
+    @Test
+    void testReportRejectsInvalidRangeOrGranularity() {
+        when(customMessageResolver.getMessage(Code.REPORT_INVALID_RANGE))
+                .thenReturn("Inform a from date before the to date and a granularity of HOUR or DAY!");
+        var now = Instant.now();
+
+        assertThrows(BadRequest.class, () -> reportRollupService.bankReport(now, now.minusSeconds(60), "DAY"));
+        BadRequest exception = assertThrows(BadRequest.class,
+                () -> reportRollupService.bankReport(now.minusSeconds(60), now, "WEEK"));
+
+        assertEquals("Inform a from date before the to date and a granularity of HOUR or DAY!", exception.getMessage());
+        verify(reportRollupPort, never()).findBuckets(any(), any(), any());
+    }
+
+    @Test
+    void testReportRejectsRangesWithTooManyBuckets() {
+        when(customMessageResolver.getMessage(Code.REPORT_RANGE_TOO_LARGE)).thenReturn("Too many buckets");
+        var from = Instant.parse("2026-03-10T00:00:00Z");
+
+        reportRollupService.bankReport(from, from.plusSeconds(48 * 3600), "HOUR");
+        assertThrows(BadRequest.class, () -> reportRollupService.bankReport(from, from.plusSeconds(48 * 3600 + 1), "HOUR"));
+    }
+
+    private ReportBucket bucket(String start, long approved, long reversed, String amountMoved) {
+        var bucket = new ReportBucket();
+        bucket.setStart(Instant.parse(start));
+        bucket.setApprovedTransactions(approved);
+        bucket.setReversedTransactions(reversed);
+        bucket.setTotalAmountMoved(new BigDecimal(amountMoved));
+        return bucket;
+    }
+}
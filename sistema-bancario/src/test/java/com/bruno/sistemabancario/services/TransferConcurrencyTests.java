@@ -0,0 +1,156 @@
+package com.bruno.sistemabancario.services;
+
+import com.bruno.sistemabancario.adapter.dtos.request.TransactionDTO;
+import com.bruno.sistemabancario.application.service.AccountLockManager;
+import com.bruno.sistemabancario.application.service.AccountNumberFilter;
+import com.bruno.sistemabancario.application.service.BulkReversalSelector;
+import com.bruno.sistemabancario.application.service.LedgerRecorder;
+import com.bruno.sistemabancario.application.service.TransferService;
+import com.bruno.sistemabancario.application.service.TransferValidator;
+import com.bruno.sistemabancario.application.service.ledger.LedgerEngine;
+import com.bruno.sistemabancario.domain.exceptions.BadRequest;
+import com.bruno.sistemabancario.domain.model.BankAccount;
+import com.bruno.sistemabancario.domain.utils.Code;
+import com.bruno.sistemabancario.domain.utils.CustomMessageResolver;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.BalanceLedgerAdapter;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.BankAccountRepositoryAdapter;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.BankStatsAdapter;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.ReportRollupAdapter;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.TransactionRepositoryAdapter;
+import com.bruno.sistemabancario.infrastructure.adapter.persistence.BankAccountRepository;
+import com.bruno.sistemabancario.infrastructure.adapter.persistence.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.MessageSourceAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@ImportAutoConfiguration(MessageSourceAutoConfiguration.class)
+@Import({TransferService.class, TransferValidator.class, BulkReversalSelector.class, AccountNumberFilter.class, BankAccountRepositoryAdapter.class, TransactionRepositoryAdapter.class, BalanceLedgerAdapter.class, LedgerRecorder.class, BankStatsAdapter.class, ReportRollupAdapter.class, CustomMessageResolver.class,
+        AccountLockManager.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties = "banking.account-filter.enabled=false")
+public class TransferConcurrencyTests {
+
+    private static final int ACCOUNTS = 10;
+    private static final int TRANSFERS = 2000;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private BankAccountRepositoryAdapter bankAccountRepositoryAdapter;
+
+    @Autowired
+    private TransactionRepositoryAdapter transactionRepositoryAdapter;
+
+    @Autowired
+    private LedgerRecorder ledgerRecorder;
+
+    @Autowired
+    private BankAccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @BeforeEach
+    void setup() {
+        accountRepository.deleteAll();
+        transactionRepository.deleteAll();
+
+        List<BankAccount> accounts = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            BankAccount account = new BankAccount();
+            account.setAccountNumber(String.valueOf(100000 + i));
+            account.setBalance(BigDecimal.valueOf(1000));
+            accounts.add(account);
+        }
+        accountRepository.saveAll(accounts);
+    }
+
+    @Test
+    void testParallelTransfersKeepTotalMoneyUnchanged() throws Exception {
+        AtomicInteger approved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < TRANSFERS; i++) {
+            futures.add(executor.submit(() -> {
+                try {
+                    transferService.moneyTransaction(randomTransfer());
+                    approved.incrementAndGet();
+                } catch (BadRequest e) {
+                    rejected.incrementAndGet();
+                }
+            }));
+        }
+
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        assertTotalMoneyUnchanged();
+        assertThat(approved.get() + rejected.get()).isEqualTo(TRANSFERS);
+        assertThat(transactionRepository.count()).isEqualTo(approved.get());
+    }
+
+    @Test
+    void testParallelLedgerEngineTransfersKeepTotalMoneyUnchanged() throws Exception {
+        var ledgerEngine = new LedgerEngine(bankAccountRepositoryAdapter, transactionRepositoryAdapter, ledgerRecorder, Optional.empty(), 4, 50, 500, 5000);
+
+        List<CompletableFuture<Code>> results = new ArrayList<>();
+        for (int i = 0; i < TRANSFERS; i++) {
+            var request = randomTransfer();
+            results.add(ledgerEngine.transfer(request.getSourceAccount(), request.getDestinationAccount(), request.getValue()));
+        }
+        long approved = results.stream().map(CompletableFuture::join).filter(Code.TRANSACTION_APPROVED_SUCCESS::equals).count();
+        ledgerEngine.shutdown();
+
+        assertTotalMoneyUnchanged();
+        assertThat(transactionRepository.count()).isEqualTo(approved);
+    }
+
+    private void assertTotalMoneyUnchanged() {
+        List<BankAccount> accounts = accountRepository.findAll();
+        BigDecimal total = accounts.stream()
+                .map(BankAccount::getBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        assertThat(total).isEqualByComparingTo(BigDecimal.valueOf(1000L * ACCOUNTS));
+        assertThat(accounts).allSatisfy(account ->
+                assertThat(account.getBalance()).isGreaterThanOrEqualTo(BigDecimal.ZERO));
+    }
+
+    private TransactionDTO randomTransfer() {
+        int source = ThreadLocalRandom.current().nextInt(ACCOUNTS);
+        int destination = (source + 1 + ThreadLocalRandom.current().nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+
+        TransactionDTO request = new TransactionDTO();
+        request.setSourceAccount(String.valueOf(100000 + source));
+        request.setDestinationAccount(String.valueOf(100000 + destination));
+        request.setValue(BigDecimal.valueOf(ThreadLocalRandom.current().nextInt(1, 300)));
+        return request;
+    }
+}
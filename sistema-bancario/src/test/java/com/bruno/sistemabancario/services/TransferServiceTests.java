@@ -3,18 +3,28 @@ package com.bruno.sistemabancario.services;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import com.bruno.sistemabancario.adapter.dtos.request.TransactionDTO;
+import com.bruno.sistemabancario.adapter.dtos.response.TransactionResultDTO;
 import com.bruno.sistemabancario.adapter.dtos.response.TransactionsUserDTO;
 import com.bruno.sistemabancario.application.ports.output.BankAccountRepositoryPort;
 import com.bruno.sistemabancario.application.ports.output.TransactionRepositoryPort;
+import com.bruno.sistemabancario.application.service.AccountLockManager;
+import com.bruno.sistemabancario.application.service.AccountNumberFilter;
+import com.bruno.sistemabancario.application.service.LedgerRecorder;
 import com.bruno.sistemabancario.application.service.TransferService;
+import com.bruno.sistemabancario.application.service.TransferValidator;
 import com.bruno.sistemabancario.domain.exceptions.BadRequest;
 import com.bruno.sistemabancario.domain.exceptions.ResourceNotFoundException;
 import com.bruno.sistemabancario.domain.model.BankAccount;
+import com.bruno.sistemabancario.domain.model.CursorPage;
+import com.bruno.sistemabancario.domain.model.LedgerEntry;
 import com.bruno.sistemabancario.domain.model.Transaction;
+import com.bruno.sistemabancario.domain.model.TransactionCursor;
 import com.bruno.sistemabancario.application.service.BankService;
+import com.bruno.sistemabancario.application.service.BulkReversalSelector;
 import com.bruno.sistemabancario.domain.utils.Code;
 import com.bruno.sistemabancario.domain.utils.CustomMessageResolver;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
@@ -23,10 +33,18 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
 
 @SpringBootTest
 class TransferServiceTests {
@@ -37,39 +55,50 @@ class TransferServiceTests {
 	@Mock
 	private CustomMessageResolver customMessageResolver;
 
+	@Spy
+	private AccountLockManager accountLockManager = new AccountLockManager(16, new SimpleMeterRegistry());
+
 	@InjectMocks
 	private TransferService transferService;
 
+	@Spy
+	@InjectMocks
+	private TransferValidator transferValidator;
+
+	@Spy
+	@InjectMocks
+	private BulkReversalSelector bulkReversalSelector;
+
 	@Mock
 	private TransactionRepositoryPort transactionRepository;
 
+	@Mock
+	private LedgerRecorder ledgerRecorder;
+
+	@Mock
+	private AccountNumberFilter accountNumberFilter;
+
 	@InjectMocks
 	private BankService accountService;
 
 	@BeforeEach
 	void setup() {
 		MockitoAnnotations.openMocks(this);
+		when(accountNumberFilter.mightExist(anyString())).thenReturn(true);
+		when(accountRepository.totalBalance(any(BankAccount.class))).thenAnswer(invocation -> ((BankAccount) invocation.getArgument(0)).getBalance());
 	}
 
 	@Test
+	@SuppressWarnings("unchecked")
 	void testMoneyTransactionSuccess() {
 		TransactionDTO request = new TransactionDTO();
 		request.setSourceAccount("123456");
 		request.setDestinationAccount("654321");
 		request.setValue(new BigDecimal("100.00"));
 
-		BankAccount sourceAccount = new BankAccount();
-		sourceAccount.setAccountNumber("123456");
-		sourceAccount.setBalance(new BigDecimal("500.00"));
-
-		BankAccount destinationAccount = new BankAccount();
-		destinationAccount.setAccountNumber("654321");
-		destinationAccount.setBalance(new BigDecimal("200.00"));
-
-		when(accountRepository.findByAccountNumber("123456")).thenReturn(Optional.of(sourceAccount));
-		when(accountRepository.findByAccountNumber("654321")).thenReturn(Optional.of(destinationAccount));
+		when(accountRepository.debit("123456", new BigDecimal("100.00"))).thenReturn(true);
+		when(accountRepository.credit("654321", new BigDecimal("100.00"))).thenReturn(true);
 		when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
-		when(accountRepository.save(any(BankAccount.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
 		when(customMessageResolver.getMessage(Code.TRANSACTION_APPROVED_SUCCESS))
 				.thenReturn("Transaction approved successfully!");
@@ -78,11 +107,18 @@ class TransferServiceTests {
 
 		assertEquals("Transaction approved successfully!", result);
 
-		assertEquals(new BigDecimal("400.00"), sourceAccount.getBalance());
-		assertEquals(new BigDecimal("300.00"), destinationAccount.getBalance());
-
+		verify(accountRepository, times(1)).debit("123456", new BigDecimal("100.00"));
+		verify(accountRepository, times(1)).credit("654321", new BigDecimal("100.00"));
 		verify(transactionRepository, times(1)).save(any(Transaction.class));
-		verify(accountRepository, times(2)).save(any(BankAccount.class));
+		verify(accountRepository, never()).existsByAccountNumber(anyString());
+		verify(accountRepository, never()).save(any(BankAccount.class));
+
+		ArgumentCaptor<List<LedgerEntry>> entries = ArgumentCaptor.forClass(List.class);
+		verify(ledgerRecorder, times(1)).record(entries.capture());
+		assertEquals("123456", entries.getValue().get(0).getAccountNumber());
+		assertEquals(new BigDecimal("-100.00"), entries.getValue().get(0).getAmount());
+		assertEquals("654321", entries.getValue().get(1).getAccountNumber());
+		assertEquals(new BigDecimal("100.00"), entries.getValue().get(1).getAmount());
 	}
 
 	@Test
@@ -92,22 +128,50 @@ class TransferServiceTests {
 		request.setDestinationAccount("654321");
 		request.setValue(new BigDecimal("1000.00"));
 
-		BankAccount source = new BankAccount();
-		source.setAccountNumber("123456");
-		source.setBalance(new BigDecimal("100.00"));
-
-		BankAccount destination = new BankAccount();
-		destination.setAccountNumber("654321");
-		destination.setBalance(new BigDecimal("500.00"));
-
-		when(accountRepository.findByAccountNumber("123456")).thenReturn(Optional.of(source));
-		when(accountRepository.findByAccountNumber("654321")).thenReturn(Optional.of(destination));
+		when(accountRepository.debit("123456", new BigDecimal("1000.00"))).thenReturn(false);
+		when(accountRepository.existsByAccountNumber("123456")).thenReturn(true);
 		when(customMessageResolver.getMessage(Code.INSUFFICIENT_BALANCE))
 				.thenReturn("Insufficient balance!");
 
 		BadRequest ex = assertThrows(BadRequest.class, () -> transferService.moneyTransaction(request));
 
 		assertEquals("Insufficient balance!", ex.getMessage());
+
+		verify(accountRepository, never()).credit(anyString(), any());
+		verify(transactionRepository, never()).save(any(Transaction.class));
+		verifyNoInteractions(ledgerRecorder);
+	}
+
+	@Test
+	void testMoneyTransactionRejectsWrongCheckDigitWithoutDatabaseCall() {
+		TransactionDTO request = new TransactionDTO();
+		request.setSourceAccount("10000008");
+		request.setDestinationAccount("10000019");
+		request.setValue(new BigDecimal("100.00"));
+
+		when(customMessageResolver.getMessage(Code.INVALID_ACCOUNT_NUMBER)).thenReturn("Invalid account number!");
+
+		BadRequest ex = assertThrows(BadRequest.class, () -> transferService.moneyTransaction(request));
+
+		assertEquals("Invalid account number!", ex.getMessage());
+		verifyNoInteractions(accountRepository, transactionRepository, ledgerRecorder);
+	}
+
+	@Test
+	void testMoneyTransactionRejectsUnknownAccountWithoutDatabaseCall() {
+		TransactionDTO request = new TransactionDTO();
+		request.setSourceAccount("123456");
+		request.setDestinationAccount("654320");
+		request.setValue(new BigDecimal("100.00"));
+
+		when(accountNumberFilter.mightExist("654320")).thenReturn(false);
+		when(customMessageResolver.getMessage(Code.ACCOUNT_NOT_FOUND))
+				.thenReturn("Incorrect account number!");
+
+		ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class, () -> transferService.moneyTransaction(request));
+
+		assertEquals("Incorrect account number!", ex.getMessage());
+		verifyNoInteractions(accountRepository, transactionRepository, ledgerRecorder);
 	}
 
 	@Test
@@ -117,7 +181,8 @@ class TransferServiceTests {
 		request.setDestinationAccount("654321");
 		request.setValue(new BigDecimal("100.00"));
 
-		when(accountRepository.findByAccountNumber("123456")).thenReturn(Optional.empty());
+		when(accountRepository.debit("123456", new BigDecimal("100.00"))).thenReturn(false);
+		when(accountRepository.existsByAccountNumber("123456")).thenReturn(false);
 		when(customMessageResolver.getMessage(Code.ACCOUNT_NOT_FOUND))
 				.thenReturn("Incorrect account number!");
 
@@ -127,8 +192,8 @@ class TransferServiceTests {
 
 		assertEquals("Incorrect account number!", ex.getMessage());
 
-		verify(accountRepository, times(1)).findByAccountNumber("123456");
-		verify(accountRepository, never()).findByAccountNumber("654321");
+		verify(accountRepository, times(1)).existsByAccountNumber("123456");
+		verify(accountRepository, never()).credit(anyString(), any());
 	}
 
 	@Test
@@ -138,12 +203,9 @@ class TransferServiceTests {
 		request.setDestinationAccount("654321");
 		request.setValue(new BigDecimal("100.00"));
 
-		BankAccount sourceAccount = new BankAccount();
-		sourceAccount.setAccountNumber("123456");
-		sourceAccount.setBalance(new BigDecimal("500.00"));
-
-		when(accountRepository.findByAccountNumber("123456")).thenReturn(Optional.of(sourceAccount));
-		when(accountRepository.findByAccountNumber("654321")).thenReturn(Optional.empty());
+		when(accountRepository.debit("123456", new BigDecimal("100.00"))).thenReturn(true);
+		when(accountRepository.credit("654321", new BigDecimal("100.00"))).thenReturn(false);
+		when(accountRepository.credit("123456", new BigDecimal("100.00"))).thenReturn(true);
 		when(customMessageResolver.getMessage(Code.ACCOUNT_NOT_FOUND))
 				.thenReturn("Incorrect account number!");
 
@@ -153,8 +215,168 @@ class TransferServiceTests {
 
 		assertEquals("Incorrect account number!", ex.getMessage());
 
-		verify(accountRepository, times(1)).findByAccountNumber("123456");
-		verify(accountRepository, times(1)).findByAccountNumber("654321");
+		verify(accountRepository, times(1)).credit("654321", new BigDecimal("100.00"));
+		verify(accountRepository, times(1)).credit("123456", new BigDecimal("100.00"));
+		verify(transactionRepository, never()).save(any(Transaction.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testBatchMoneyTransactionRejectsItemsWithoutAbortingBatch() {
+		BankAccount source = new BankAccount();
+		source.setAccountNumber("111111");
+		source.setBalance(new BigDecimal("500.00"));
+
+		BankAccount poorSource = new BankAccount();
+		poorSource.setAccountNumber("333333");
+		poorSource.setBalance(new BigDecimal("50.00"));
+
+		BankAccount destination = new BankAccount();
+		destination.setAccountNumber("222222");
+		destination.setBalance(new BigDecimal("0.00"));
+
+		when(accountRepository.findAllByAccountNumberIn(anyCollection())).thenReturn(List.of(source, poorSource, destination));
+		when(accountRepository.debit("111111", new BigDecimal("100.00"))).thenReturn(true);
+		when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> {
+			List<Transaction> saved = invocation.getArgument(0);
+			saved.forEach(transaction -> transaction.setId("tx-" + transaction.getSourceAccount()));
+			return saved;
+		});
+		when(customMessageResolver.getMessage(Code.TRANSACTION_APPROVED_SUCCESS)).thenReturn("Transaction approved successfully!");
+		when(customMessageResolver.getMessage(Code.INSUFFICIENT_BALANCE)).thenReturn("Insufficient balance!");
+		when(customMessageResolver.getMessage(Code.ACCOUNT_NOT_FOUND)).thenReturn("Incorrect account number!");
+		when(customMessageResolver.getMessage(Code.INVALID_TRANSACTION_VALUE)).thenReturn("Invalid transaction value!");
+
+		List<TransactionResultDTO> results = transferService.batchMoneyTransaction(List.of(
+				transfer("111111", "222222", "100.00"),
+				transfer("333333", "222222", "900.00"),
+				transfer("111111", "999999", "10.00"),
+				transfer("111111", "222222", "0")));
+
+		assertEquals(4, results.size());
+		assertEquals("APPROVED", results.get(0).getStatus());
+		assertEquals("tx-111111", results.get(0).getTransactionId());
+		assertEquals("Insufficient balance!", results.get(1).getMessage());
+		assertEquals("Incorrect account number!", results.get(2).getMessage());
+		assertEquals("Invalid transaction value!", results.get(3).getMessage());
+
+		ArgumentCaptor<Map<String, BigDecimal>> credits = ArgumentCaptor.forClass(Map.class);
+		verify(accountRepository, times(1)).findAllByAccountNumberIn(anyCollection());
+		verify(accountRepository, times(1)).debit(anyString(), any());
+		verify(accountRepository).applyBalanceDeltas(credits.capture());
+		assertEquals(Map.of("222222", new BigDecimal("100.00")), credits.getValue());
+		verify(transactionRepository, times(1)).saveAll(anyList());
+		verify(accountRepository, never()).existsByAccountNumber(anyString());
+		verify(accountLockManager).withAccounts(eq(Set.of("111111", "222222", "333333", "999999")), any());
+	}
+
+	@Test
+	void testBatchMoneyTransactionRejectsOversizedBatch() {
+		ReflectionTestUtils.setField(transferValidator, "batchMaxSize", 2);
+		when(customMessageResolver.getMessage(Code.BATCH_TRANSFER_TOO_LARGE)).thenReturn("Too many transactions in one batch, split it into smaller batches!");
+
+		BadRequest exception = assertThrows(BadRequest.class, () -> transferService.batchMoneyTransaction(List.of(
+				transfer("111111", "222222", "10.00"),
+				transfer("111111", "222222", "20.00"),
+				transfer("111111", "222222", "30.00"))));
+
+		assertEquals("Too many transactions in one batch, split it into smaller batches!", exception.getMessage());
+		verify(accountRepository, never()).findAllByAccountNumberIn(anyCollection());
+		verify(accountLockManager, never()).withAccounts(any(), any());
+	}
+
+	@Test
+	void testBatchMoneyTransactionRejectsItemsWhenGuardedDebitLosesRace() {
+		BankAccount source = new BankAccount();
+		source.setAccountNumber("111111");
+		source.setBalance(new BigDecimal("500.00"));
+
+		BankAccount destination = new BankAccount();
+		destination.setAccountNumber("222222");
+		destination.setBalance(new BigDecimal("0.00"));
+
+		when(accountRepository.findAllByAccountNumberIn(anyCollection())).thenReturn(List.of(source, destination));
+		when(accountRepository.debit("111111", new BigDecimal("300.00"))).thenReturn(false);
+		when(customMessageResolver.getMessage(Code.INSUFFICIENT_BALANCE)).thenReturn("Insufficient balance!");
+
+		List<TransactionResultDTO> results = transferService.batchMoneyTransaction(List.of(
+				transfer("111111", "222222", "100.00"),
+				transfer("111111", "222222", "200.00")));
+
+		assertTrue(results.stream().allMatch(result -> "REJECTED".equals(result.getStatus())));
+		verify(accountRepository, never()).applyBalanceDeltas(any());
+		verify(transactionRepository, never()).saveAll(anyList());
+	}
+
+	@Test
+	void testBatchMoneyTransactionCountsBalanceSlots() {
+		BankAccount source = new BankAccount();
+		source.setAccountNumber("111111");
+		source.setBalance(new BigDecimal("50.00"));
+
+		BankAccount destination = new BankAccount();
+		destination.setAccountNumber("222222");
+		destination.setBalance(new BigDecimal("0.00"));
+
+		when(accountRepository.findAllByAccountNumberIn(anyCollection())).thenReturn(List.of(source, destination));
+		when(accountRepository.totalBalance(source)).thenReturn(new BigDecimal("150.00"));
+		when(accountRepository.debit("111111", new BigDecimal("100.00"))).thenReturn(true);
+		when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+		List<TransactionResultDTO> results = transferService.batchMoneyTransaction(List.of(transfer("111111", "222222", "100.00")));
+
+		assertEquals("APPROVED", results.get(0).getStatus());
+		verify(accountRepository).debit("111111", new BigDecimal("100.00"));
+	}
+
+	@Test
+	void testBatchMoneyTransactionRoundsSubCentStoredBalancesDown() {
+		BankAccount source = new BankAccount();
+		source.setAccountNumber("111111");
+		source.setBalance(new BigDecimal("100.009"));
+
+		BankAccount destination = new BankAccount();
+		destination.setAccountNumber("222222");
+		destination.setBalance(new BigDecimal("0.001"));
+
+		when(accountRepository.findAllByAccountNumberIn(anyCollection())).thenReturn(List.of(source, destination));
+		when(accountRepository.debit("111111", new BigDecimal("100.00"))).thenReturn(true);
+		when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+		List<TransactionResultDTO> results = transferService.batchMoneyTransaction(
+				List.of(transfer("111111", "222222", "100.00"), transfer("111111", "222222", "0.01")));
+
+		assertEquals("APPROVED", results.get(0).getStatus());
+		assertEquals("REJECTED", results.get(1).getStatus());
+	}
+
+	@Test
+	void testSettlePendingTransactionApproves() {
+		Transaction pending = new Transaction("tx1", "123456", "654321", new BigDecimal("100.00"), null, "PENDING", null);
+
+		when(accountRepository.debit("123456", new BigDecimal("100.00"))).thenReturn(true);
+		when(accountRepository.credit("654321", new BigDecimal("100.00"))).thenReturn(true);
+		when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		Transaction settled = transferService.settlePendingTransaction(pending);
+
+		assertEquals("APPROVED", settled.getStatus());
+		verify(transactionRepository, times(1)).save(pending);
+	}
+
+	@Test
+	void testSettlePendingTransactionRejectsWhenInsufficientBalance() {
+		Transaction pending = new Transaction("tx1", "123456", "654321", new BigDecimal("100.00"), null, "PENDING", null);
+
+		when(accountRepository.debit("123456", new BigDecimal("100.00"))).thenReturn(false);
+		when(accountRepository.existsByAccountNumber("123456")).thenReturn(true);
+		when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		Transaction settled = transferService.settlePendingTransaction(pending);
+
+		assertEquals("REJECTED", settled.getStatus());
+		verify(accountRepository, never()).credit(anyString(), any());
+		verify(transactionRepository, times(1)).save(pending);
 	}
 
 	@Test
@@ -162,9 +384,7 @@ class TransferServiceTests {
 		String accountNumber = "123456";
 		Pageable pageable = PageRequest.of(0, 10);
 
-		BankAccount account = new BankAccount();
-		account.setAccountNumber(accountNumber);
-		when(accountRepository.findByAccountNumber(accountNumber)).thenReturn(Optional.of(account));
+		when(accountRepository.existsByAccountNumber(accountNumber)).thenReturn(true);
 
 		Transaction transaction1 = new Transaction();
 		transaction1.setId("134124");
@@ -189,7 +409,7 @@ class TransferServiceTests {
 		assertEquals(transaction1.getId(), result.getContent().get(0).getId());
 		assertEquals(transaction2.getId(), result.getContent().get(1).getId());
 
-		verify(accountRepository, times(1)).findByAccountNumber(accountNumber);
+		verify(accountRepository, times(1)).existsByAccountNumber(accountNumber);
 		verify(transactionRepository, times(1)).findAllByAccountNumber(accountNumber, pageable);
 	}
 
@@ -198,7 +418,7 @@ class TransferServiceTests {
 		String accountNumber = "123456";
 		Pageable pageable = PageRequest.of(0, 10);
 
-		when(accountRepository.findByAccountNumber(accountNumber)).thenReturn(Optional.empty());
+		when(accountRepository.existsByAccountNumber(accountNumber)).thenReturn(false);
 		when(customMessageResolver.getMessage(Code.NUMBER_ACCOUNT_NOT_FOUND))
 				.thenReturn("Account not found!");
 
@@ -208,34 +428,85 @@ class TransferServiceTests {
 
 		assertEquals("Account not found!", ex.getMessage());
 
-		verify(accountRepository, times(1)).findByAccountNumber(accountNumber);
+		verify(accountRepository, times(1)).existsByAccountNumber(accountNumber);
 		verify(transactionRepository, never()).findAllByAccountNumber(anyString(), any());
 	}
 
 	@Test
-	void testTransactionReversalSuccess() {
-		String transactionId = "tx123";
+	void testListOfTransactionsRejectsWrongCheckDigitWithoutDatabaseCall() {
+		when(customMessageResolver.getMessage(Code.NUMBER_ACCOUNT_NOT_FOUND)).thenReturn("Account not found!");
 
-		Transaction transaction = new Transaction();
-		transaction.setId(transactionId);
-		transaction.setStatus("APPROVED");
-		transaction.setSourceAccount("111111");
-		transaction.setDestinationAccount("222222");
-		transaction.setValue(new BigDecimal("100"));
+		ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class,
+				() -> transferService.listOfTransactionsSpecificAccount("10000009", PageRequest.of(0, 10)));
+
+		assertEquals("Account not found!", ex.getMessage());
+		verify(accountRepository, never()).existsByAccountNumber(anyString());
+	}
 
-		BankAccount sourceAccount = new BankAccount();
-		sourceAccount.setAccountNumber("111111");
-		sourceAccount.setBalance(new BigDecimal("500"));
+	@Test
+	void testListOfTransactionsSliceSkipsTheCount() {
+		String accountNumber = "123456";
+		Pageable pageable = PageRequest.of(0, 1);
+		Transaction transaction = transaction("tx1", LocalDate.of(2026, 3, 11));
 
-		BankAccount destinationAccount = new BankAccount();
-		destinationAccount.setAccountNumber("222222");
-		destinationAccount.setBalance(new BigDecimal("200"));
+		when(accountRepository.existsByAccountNumber(accountNumber)).thenReturn(true);
+		when(transactionRepository.findSliceByAccountNumber(accountNumber, pageable))
+				.thenReturn(new SliceImpl<>(List.of(transaction), pageable, true));
 
-		when(transactionRepository.findById(transactionId)).thenReturn(Optional.of(transaction));
-		when(accountRepository.findByAccountNumber("111111")).thenReturn(Optional.of(sourceAccount));
-		when(accountRepository.findByAccountNumber("222222")).thenReturn(Optional.of(destinationAccount));
-		when(accountRepository.save(any(BankAccount.class))).thenAnswer(i -> i.getArgument(0));
-		when(transactionRepository.save(any(Transaction.class))).thenAnswer(i -> i.getArgument(0));
+		Slice<TransactionsUserDTO> result = transferService.listOfTransactionsSlice(accountNumber, pageable);
+
+		assertEquals("tx1", result.getContent().get(0).getId());
+		assertTrue(result.hasNext());
+		verify(transactionRepository, never()).findAllByAccountNumber(anyString(), any());
+		verify(transactionRepository, never()).approximateCountByAccountNumber(anyString());
+	}
+
+	@Test
+	void testListOfTransactionsSliceWhenAccountNotFound() {
+		when(accountRepository.existsByAccountNumber("123456")).thenReturn(false);
+		when(customMessageResolver.getMessage(Code.NUMBER_ACCOUNT_NOT_FOUND)).thenReturn("Account not found!");
+
+		assertThrows(ResourceNotFoundException.class, () -> transferService.listOfTransactionsSlice("123456", PageRequest.of(0, 10)));
+
+		verify(transactionRepository, never()).findSliceByAccountNumber(anyString(), any());
+	}
+
+	@Test
+	void testListOfTransactionsAfterCursorFetchesOneExtraToFindTheNextPage() {
+		String accountNumber = "123456";
+		Transaction first = transaction("tx1", LocalDate.of(2026, 3, 11));
+		Transaction second = transaction("tx2", LocalDate.of(2026, 3, 10));
+		Transaction extra = transaction("tx3", LocalDate.of(2026, 3, 10));
+		TransactionCursor after = new TransactionCursor(LocalDate.of(2026, 3, 12), "tx0");
+
+		when(accountRepository.existsByAccountNumber(accountNumber)).thenReturn(true);
+		when(transactionRepository.findAllByAccountNumberAfter(accountNumber, after, 3)).thenReturn(List.of(first, second, extra));
+
+		CursorPage<TransactionsUserDTO> result = transferService.listOfTransactionsAfterCursor(accountNumber, after.encode(), 2);
+
+		assertEquals(2, result.content().size());
+		assertEquals("tx2", result.content().get(1).getId());
+		assertEquals(Optional.of(TransactionCursor.after(second)), TransactionCursor.decode(result.nextCursor()));
+	}
+
+	@Test
+	void testListOfTransactionsAfterCursorRejectsInvalidCursor() {
+		when(customMessageResolver.getMessage(Code.INVALID_PAGE_CURSOR)).thenReturn("Invalid page cursor!");
+
+		BadRequest ex = assertThrows(BadRequest.class, () -> transferService.listOfTransactionsAfterCursor("123456", "not a cursor", 10));
+
+		assertEquals("Invalid page cursor!", ex.getMessage());
+		verify(transactionRepository, never()).findAllByAccountNumberAfter(anyString(), any(), anyInt());
+	}
+
+	@Test
+	void testTransactionReversalSuccess() {
+		String transactionId = "tx123";
+		Transaction transaction = reversedTransaction(transactionId, "111111", "222222");
+
+		when(transactionRepository.compareAndSetStatus(transactionId, "APPROVED", "REVERSED")).thenReturn(Optional.of(transaction));
+		when(accountRepository.debit("222222", new BigDecimal("100"))).thenReturn(true);
+		when(accountRepository.credit("111111", new BigDecimal("100"))).thenReturn(true);
 		when(customMessageResolver.getMessage(Code.TRANSACTION_REVERSED_SUCCESS))
 				.thenReturn("Transfer successfully reversed!");
 
@@ -243,20 +514,18 @@ class TransferServiceTests {
 
 		assertEquals("Transfer successfully reversed!", result);
 
-		assertEquals(new BigDecimal("600"), sourceAccount.getBalance());
-		assertEquals(new BigDecimal("100"), destinationAccount.getBalance());
-
-		assertEquals("REVERSED", transaction.getStatus());
-
-		verify(transactionRepository).findById(transactionId);
-		verify(accountRepository, times(2)).findByAccountNumber(anyString());
-		verify(accountRepository, times(2)).save(any(BankAccount.class));
-		verify(transactionRepository).save(transaction);
+		verify(accountRepository).debit("222222", new BigDecimal("100"));
+		verify(accountRepository).credit("111111", new BigDecimal("100"));
+		verify(transactionRepository, never()).findById(anyString());
+		verify(transactionRepository, never()).save(any(Transaction.class));
+		verify(accountRepository, never()).save(any(BankAccount.class));
+		verify(ledgerRecorder).record(anyList());
 	}
 
 	@Test
 	void testTransactionReversalTransactionNotFound() {
 		String transactionId = "tx123";
+		when(transactionRepository.compareAndSetStatus(transactionId, "APPROVED", "REVERSED")).thenReturn(Optional.empty());
 		when(transactionRepository.findById(transactionId)).thenReturn(Optional.empty());
 		when(customMessageResolver.getMessage(Code.TRANSACTION_NOT_FOUND))
 				.thenReturn("Transaction not found!");
@@ -271,16 +540,11 @@ class TransferServiceTests {
 	@Test
 	void testTransactionReversalSourceAccountNotFound() {
 		String transactionId = "tx123";
+		Transaction transaction = reversedTransaction(transactionId, "111111", "222222");
 
-		Transaction transaction = new Transaction();
-		transaction.setId(transactionId);
-		transaction.setStatus("APPROVED");
-		transaction.setSourceAccount("111111");
-		transaction.setDestinationAccount("222222");
-		transaction.setValue(new BigDecimal("100"));
-
-		when(transactionRepository.findById(transactionId)).thenReturn(Optional.of(transaction));
-		when(accountRepository.findByAccountNumber("111111")).thenReturn(Optional.empty());
+		when(transactionRepository.compareAndSetStatus(transactionId, "APPROVED", "REVERSED")).thenReturn(Optional.of(transaction));
+		when(accountRepository.debit("222222", new BigDecimal("100"))).thenReturn(true);
+		when(accountRepository.credit("111111", new BigDecimal("100"))).thenReturn(false);
 		when(customMessageResolver.getMessage(Code.ACCOUNT_NOT_FOUND))
 				.thenReturn("Incorrect account number!");
 
@@ -290,24 +554,19 @@ class TransferServiceTests {
 
 		assertEquals("Incorrect account number!", ex.getMessage());
 
-		verify(accountRepository).findByAccountNumber("111111");
-		verify(accountRepository, never()).findByAccountNumber("222222");
+		verify(accountRepository).credit("222222", new BigDecimal("100"));
+		verify(transactionRepository).compareAndSetStatus(transactionId, "REVERSED", "APPROVED");
+		verifyNoInteractions(ledgerRecorder);
 	}
 
 	@Test
 	void testTransactionReversalDestinationAccountNotFound() {
 		String transactionId = "tx123";
+		Transaction transaction = reversedTransaction(transactionId, "111111", "222222");
 
-		Transaction transaction = new Transaction();
-		transaction.setId(transactionId);
-		transaction.setStatus("APPROVED");
-		transaction.setSourceAccount("111111");
-		transaction.setDestinationAccount("222222");
-		transaction.setValue(new BigDecimal("100"));
-
-		when(transactionRepository.findById(transactionId)).thenReturn(Optional.of(transaction));
-		when(accountRepository.findByAccountNumber("111111")).thenReturn(Optional.of(new BankAccount()));
-		when(accountRepository.findByAccountNumber("222222")).thenReturn(Optional.empty());
+		when(transactionRepository.compareAndSetStatus(transactionId, "APPROVED", "REVERSED")).thenReturn(Optional.of(transaction));
+		when(accountRepository.debit("222222", new BigDecimal("100"))).thenReturn(false);
+		when(accountRepository.existsByAccountNumber("222222")).thenReturn(false);
 		when(customMessageResolver.getMessage(Code.ACCOUNT_NOT_FOUND))
 				.thenReturn("Incorrect account number!");
 
@@ -317,32 +576,18 @@ class TransferServiceTests {
 
 		assertEquals("Incorrect account number!", ex.getMessage());
 
-		verify(accountRepository).findByAccountNumber("111111");
-		verify(accountRepository).findByAccountNumber("222222");
+		verify(accountRepository, never()).credit(anyString(), any());
+		verify(transactionRepository).compareAndSetStatus(transactionId, "REVERSED", "APPROVED");
 	}
 
 	@Test
 	void testTransactionReversalInsufficientDestinationBalance() {
 		String transactionId = "tx123";
+		Transaction transaction = reversedTransaction(transactionId, "111111", "222222");
 
-		Transaction transaction = new Transaction();
-		transaction.setId(transactionId);
-		transaction.setStatus("APPROVED");
-		transaction.setSourceAccount("111111");
-		transaction.setDestinationAccount("222222");
-		transaction.setValue(new BigDecimal("100"));
-
-		BankAccount sourceAccount = new BankAccount();
-		sourceAccount.setAccountNumber("111111");
-		sourceAccount.setBalance(new BigDecimal("500"));
-
-		BankAccount destinationAccount = new BankAccount();
-		destinationAccount.setAccountNumber("222222");
-		destinationAccount.setBalance(new BigDecimal("50"));
-
-		when(transactionRepository.findById(transactionId)).thenReturn(Optional.of(transaction));
-		when(accountRepository.findByAccountNumber("111111")).thenReturn(Optional.of(sourceAccount));
-		when(accountRepository.findByAccountNumber("222222")).thenReturn(Optional.of(destinationAccount));
+		when(transactionRepository.compareAndSetStatus(transactionId, "APPROVED", "REVERSED")).thenReturn(Optional.of(transaction));
+		when(accountRepository.debit("222222", new BigDecimal("100"))).thenReturn(false);
+		when(accountRepository.existsByAccountNumber("222222")).thenReturn(true);
 		when(customMessageResolver.getMessage(Code.DESTINATION_ACCOUNT_INSUFFICIENT_BALANCE))
 				.thenReturn("Insufficient destination account balance!");
 
@@ -351,6 +596,7 @@ class TransferServiceTests {
 		});
 
 		assertEquals("Insufficient destination account balance!", ex.getMessage());
+		verify(transactionRepository).compareAndSetStatus(transactionId, "REVERSED", "APPROVED");
 	}
 
 	@Test
@@ -361,6 +607,7 @@ class TransferServiceTests {
 		transaction.setId(transactionId);
 		transaction.setStatus("REVERSED");
 
+		when(transactionRepository.compareAndSetStatus(transactionId, "APPROVED", "REVERSED")).thenReturn(Optional.empty());
 		when(transactionRepository.findById(transactionId)).thenReturn(Optional.of(transaction));
 		when(customMessageResolver.getMessage(Code.TRANSACTION_NOT_APPROVED))
 				.thenReturn("Transaction is not approved or already reversed.");
@@ -370,6 +617,8 @@ class TransferServiceTests {
 		});
 
 		assertEquals("Transaction is not approved or already reversed.", ex.getMessage());
+		verify(accountRepository, never()).debit(anyString(), any());
+		verify(accountRepository, never()).credit(anyString(), any());
 	}
 
 	@Test
@@ -379,12 +628,8 @@ class TransferServiceTests {
 		request.setDestinationAccount("456");
 		request.setValue(new BigDecimal("100.00"));
 
-		BankAccount sourceAccount = new BankAccount();
-		sourceAccount.setAccountNumber("123");
-		sourceAccount.setBalance(new BigDecimal("500.00"));
-
-		when(accountRepository.findByAccountNumber("123")).thenReturn(Optional.of(sourceAccount));
-		when(accountRepository.findByAccountNumber("456")).thenReturn(Optional.empty());
+		when(accountRepository.debit("123", new BigDecimal("100.00"))).thenReturn(true);
+		when(accountRepository.credit("456", new BigDecimal("100.00"))).thenReturn(false);
 
 		when(customMessageResolver.getMessage(Code.ACCOUNT_NOT_FOUND)).thenReturn("Account not found");
 
@@ -401,6 +646,7 @@ class TransferServiceTests {
 		transaction.setId("tx123");
 		transaction.setStatus("PENDING");
 
+		when(transactionRepository.compareAndSetStatus("tx123", "APPROVED", "REVERSED")).thenReturn(Optional.empty());
 		when(transactionRepository.findById("tx123")).thenReturn(Optional.of(transaction));
 		when(customMessageResolver.getMessage(Code.TRANSACTION_NOT_APPROVED)).thenReturn("Transaction not approved");
 
@@ -413,24 +659,12 @@ class TransferServiceTests {
 
 	@Test
 	void testTransactionReversalInsufficientBalanceOnDestination() {
-		Transaction transaction = new Transaction();
-		transaction.setId("tx123");
-		transaction.setStatus("APPROVED");
-		transaction.setSourceAccount("123");
-		transaction.setDestinationAccount("456");
+		Transaction transaction = reversedTransaction("tx123", "123", "456");
 		transaction.setValue(new BigDecimal("100.00"));
 
-		BankAccount sourceAccount = new BankAccount();
-		sourceAccount.setAccountNumber("123");
-		sourceAccount.setBalance(new BigDecimal("300.00"));
-
-		BankAccount destinationAccount = new BankAccount();
-		destinationAccount.setAccountNumber("456");
-		destinationAccount.setBalance(new BigDecimal("50.00")); // saldo insuficiente
-
-		when(transactionRepository.findById("tx123")).thenReturn(Optional.of(transaction));
-		when(accountRepository.findByAccountNumber("123")).thenReturn(Optional.of(sourceAccount));
-		when(accountRepository.findByAccountNumber("456")).thenReturn(Optional.of(destinationAccount));
+		when(transactionRepository.compareAndSetStatus("tx123", "APPROVED", "REVERSED")).thenReturn(Optional.of(transaction));
+		when(accountRepository.debit("456", new BigDecimal("100.00"))).thenReturn(false);
+		when(accountRepository.existsByAccountNumber("456")).thenReturn(true);
 		when(customMessageResolver.getMessage(Code.DESTINATION_ACCOUNT_INSUFFICIENT_BALANCE)).thenReturn("Insufficient balance on destination");
 
 		BadRequest exception = assertThrows(BadRequest.class, () -> {
@@ -438,6 +672,40 @@ class TransferServiceTests {
 		});
 
 		assertEquals("Insufficient balance on destination", exception.getMessage());
+		verify(accountRepository, never()).credit(anyString(), any());
+	}
+
+	@Test
+	void testConcurrentReversalsRefundOnlyOnce() throws Exception {
+		Transaction transaction = reversedTransaction("tx123", "123", "456");
+
+		when(transactionRepository.compareAndSetStatus("tx123", "APPROVED", "REVERSED"))
+				.thenReturn(Optional.of(transaction))
+				.thenReturn(Optional.empty());
+		when(transactionRepository.findById("tx123")).thenReturn(Optional.of(transaction));
+		when(accountRepository.debit("456", new BigDecimal("100"))).thenReturn(true);
+		when(accountRepository.credit("123", new BigDecimal("100"))).thenReturn(true);
+		when(customMessageResolver.getMessage(Code.TRANSACTION_REVERSED_SUCCESS)).thenReturn("Transfer successfully reversed!");
+		when(customMessageResolver.getMessage(Code.TRANSACTION_NOT_APPROVED)).thenReturn("Transaction not approved");
+
+		var executor = Executors.newFixedThreadPool(2);
+		var first = executor.submit(() -> transferService.transactionReversal("tx123"));
+		var second = executor.submit(() -> transferService.transactionReversal("tx123"));
+
+		int rejected = 0;
+		for (var outcome : List.of(first, second)) {
+			try {
+				assertEquals("Transfer successfully reversed!", outcome.get());
+			} catch (ExecutionException e) {
+				assertInstanceOf(BadRequest.class, e.getCause());
+				rejected++;
+			}
+		}
+		executor.shutdown();
+
+		assertEquals(1, rejected);
+		verify(accountRepository, times(1)).debit("456", new BigDecimal("100"));
+		verify(accountRepository, times(1)).credit("123", new BigDecimal("100"));
 	}
 
 	@Test
@@ -501,4 +769,33 @@ class TransferServiceTests {
 
 		assertEquals("Source and destination accounts cannot be the same", exception.getMessage());
 	}
+
+	private TransactionDTO transfer(String sourceAccount, String destinationAccount, String value) {
+		TransactionDTO request = new TransactionDTO();
+		request.setSourceAccount(sourceAccount);
+		request.setDestinationAccount(destinationAccount);
+		request.setValue(new BigDecimal(value));
+		return request;
+	}
+
+	private Transaction reversedTransaction(String id, String sourceAccount, String destinationAccount) {
+		Transaction transaction = new Transaction();
+		transaction.setId(id);
+		transaction.setStatus("REVERSED");
+		transaction.setSourceAccount(sourceAccount);
+		transaction.setDestinationAccount(destinationAccount);
+		transaction.setValue(new BigDecimal("100"));
+		return transaction;
+	}
+
+	private Transaction transaction(String id, LocalDate transactionDate) {
+		Transaction transaction = new Transaction();
+		transaction.setId(id);
+		transaction.setStatus("APPROVED");
+		transaction.setSourceAccount("123456");
+		transaction.setDestinationAccount("654321");
+		transaction.setValue(new BigDecimal("100"));
+		transaction.setTransactionDate(transactionDate);
+		return transaction;
+	}
 }
@@ -0,0 +1,147 @@
+package com.bruno.sistemabancario.services;
+
+import com.bruno.sistemabancario.adapter.dtos.request.TransactionDTO;
+import com.bruno.sistemabancario.application.service.AccountLockManager;
+import com.bruno.sistemabancario.application.service.AccountNumberFilter;
+import com.bruno.sistemabancario.application.service.BulkReversalSelector;
+import com.bruno.sistemabancario.application.service.LedgerRecorder;
+import com.bruno.sistemabancario.application.service.TransferService;
+import com.bruno.sistemabancario.application.service.TransferValidator;
+import com.bruno.sistemabancario.application.service.ledger.LedgerEngine;
+import com.bruno.sistemabancario.domain.exceptions.BadRequest;
+import com.bruno.sistemabancario.domain.model.BankAccount;
+import com.bruno.sistemabancario.domain.utils.CustomMessageResolver;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.BalanceLedgerAdapter;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.BankAccountRepositoryAdapter;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.BankStatsAdapter;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.ReportRollupAdapter;
+import com.bruno.sistemabancario.infrastructure.adapter.out.persistence.TransactionRepositoryAdapter;
+import com.bruno.sistemabancario.infrastructure.adapter.persistence.BankAccountRepository;
+import com.bruno.sistemabancario.infrastructure.adapter.persistence.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.MessageSourceAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures transfer throughput of the synchronous path against the ledger engine. Excluded from the
+ * default build; run it with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataMongoTest
+@ImportAutoConfiguration(MessageSourceAutoConfiguration.class)
+@Import({TransferService.class, TransferValidator.class, BulkReversalSelector.class, AccountNumberFilter.class, BankAccountRepositoryAdapter.class, TransactionRepositoryAdapter.class, BalanceLedgerAdapter.class, LedgerRecorder.class, BankStatsAdapter.class, ReportRollupAdapter.class, CustomMessageResolver.class,
+        AccountLockManager.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties = "banking.account-filter.enabled=false")
+public class TransferThroughputTests {
+
+    private static final Logger logger = Logger.getLogger(TransferThroughputTests.class.getName());
+
+    private static final int ACCOUNTS = 50;
+    private static final int TRANSFERS = 2000;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private BankAccountRepositoryAdapter bankAccountRepositoryAdapter;
+
+    @Autowired
+    private TransactionRepositoryAdapter transactionRepositoryAdapter;
+
+    @Autowired
+    private LedgerRecorder ledgerRecorder;
+
+    @Autowired
+    private BankAccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @BeforeEach
+    void setup() {
+        accountRepository.deleteAll();
+        transactionRepository.deleteAll();
+
+        List<BankAccount> accounts = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            BankAccount account = new BankAccount();
+            account.setAccountNumber(String.valueOf(200000 + i));
+            account.setBalance(BigDecimal.valueOf(1000));
+            accounts.add(account);
+        }
+        accountRepository.saveAll(accounts);
+    }
+
+    @Test
+    void testLedgerEngineAgainstSynchronousPath() throws Exception {
+        long synchronousNanos = run(request -> {
+            try {
+                transferService.moneyTransaction(request);
+            } catch (BadRequest ignored) {
+            }
+            return CompletableFuture.completedFuture(null);
+        });
+
+        var ledgerEngine = new LedgerEngine(bankAccountRepositoryAdapter, transactionRepositoryAdapter, ledgerRecorder, Optional.empty(), 4, 50, 500, 5000);
+        long ledgerNanos = run(request -> ledgerEngine.transfer(request.getSourceAccount(), request.getDestinationAccount(), request.getValue()));
+        ledgerEngine.shutdown();
+
+        logger.info(String.format("%d transfers: synchronous %.0f tx/s, ledger %.0f tx/s",
+                TRANSFERS, TRANSFERS / (synchronousNanos / 1e9), TRANSFERS / (ledgerNanos / 1e9)));
+
+        BigDecimal total = accountRepository.findAll().stream()
+                .map(BankAccount::getBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        assertThat(total).isEqualByComparingTo(BigDecimal.valueOf(1000L * ACCOUNTS));
+    }
+
+    private long run(Function<TransactionDTO, CompletableFuture<?>> transfer) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<CompletableFuture<?>>> submitted = new ArrayList<>();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < TRANSFERS; i++) {
+            submitted.add(executor.submit(() -> transfer.apply(randomTransfer())));
+        }
+        for (Future<CompletableFuture<?>> future : submitted) {
+            future.get().join();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        executor.shutdown();
+        return elapsed;
+    }
+
+    private TransactionDTO randomTransfer() {
+        int source = ThreadLocalRandom.current().nextInt(ACCOUNTS);
+        int destination = (source + 1 + ThreadLocalRandom.current().nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+
+        TransactionDTO request = new TransactionDTO();
+        request.setSourceAccount(String.valueOf(200000 + source));
+        request.setDestinationAccount(String.valueOf(200000 + destination));
+        request.setValue(BigDecimal.valueOf(ThreadLocalRandom.current().nextInt(1, 100)));
+        return request;
+    }
+}